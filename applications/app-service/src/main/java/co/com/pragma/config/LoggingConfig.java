@@ -2,6 +2,7 @@ package co.com.pragma.config;
 
 import co.com.pragma.logger.DomainLoggerFactory;
 import co.com.pragma.logger.LoggerManager;
+import co.com.pragma.logger.actuator.LogLevelOverridesEndpoint;
 import co.com.pragma.model.common.LogLevel;
 import co.com.pragma.model.common.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +11,8 @@ import org.springframework.context.annotation.Configuration;
 
 import jakarta.annotation.PostConstruct;
 
+import java.time.Duration;
+
 /**
  * Configuration class for logging system.
  * Configures the LoggerManager singleton with application-specific settings.
@@ -45,6 +48,18 @@ public class LoggingConfig {
         return LoggerManager.getInstance();
     }
     
+    /**
+     * Actuator endpoint for temporary per-logger level overrides
+     * @param loggerManager The logger manager
+     * @param defaultTtl How long an override lasts when the request gives no TTL
+     * @return The endpoint
+     */
+    @Bean
+    public LogLevelOverridesEndpoint logLevelOverridesEndpoint(LoggerManager loggerManager,
+            @Value("${logging.overrides.default-ttl:5m}") Duration defaultTtl) {
+        return new LogLevelOverridesEndpoint(loggerManager, defaultTtl);
+    }
+    
     /**
      * Parse string log level to LogLevel enum
      * @param levelString String representation of log level
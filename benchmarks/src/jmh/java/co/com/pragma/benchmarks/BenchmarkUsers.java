@@ -0,0 +1,33 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.model.user.User;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Shared fixtures so every suite measures the same payloads.
+ */
+final class BenchmarkUsers {
+
+    static final int PAGE_SIZE = 50;
+
+    private BenchmarkUsers() {
+    }
+
+    static User user(long document) {
+        return User.builder()
+                .name("Name" + document)
+                .lastName("LastName" + document)
+                .document(document)
+                .email("user" + document + "@pragma.com.co")
+                .salary(1_000_000L + document)
+                .birthDate(LocalDate.of(1990, 1, 1).plusDays(document % 10_000))
+                .build();
+    }
+
+    static List<User> users(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(BenchmarkUsers::user).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.api.config.JacksonConfig;
+import co.com.pragma.api.config.MapperConfig;
+import co.com.pragma.api.dto.SaveUserDTO;
+import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.dto.UserPageDTO;
+import co.com.pragma.api.mapper.UserDTOMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson cost with the application's {@link JacksonConfig} (dd-MM-yyyy dates).
+ */
+@State(Scope.Benchmark)
+public class JacksonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UserDTO user;
+    private UserPageDTO page;
+    private byte[] saveUserJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        objectMapper = builder.build();
+        UserDTOMapper dtoMapper = new MapperConfig().generatedUserDTOMapper();
+
+        user = dtoMapper.toDTO(BenchmarkUsers.user(1_234_567L));
+        page = UserPageDTO.builder()
+                .users(BenchmarkUsers.users(BenchmarkUsers.PAGE_SIZE).stream().map(dtoMapper::toDTO).toList())
+                .next("ZG9jOjUw")
+                .build();
+        saveUserJson = objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public SaveUserDTO deserializeSaveUser() throws Exception {
+        return objectMapper.readValue(saveUserJson, SaveUserDTO.class);
+    }
+}
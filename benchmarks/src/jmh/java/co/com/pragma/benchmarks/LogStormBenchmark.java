@@ -0,0 +1,142 @@
+package co.com.pragma.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.rolling.FixedWindowRollingPolicy;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeBasedTriggeringPolicy;
+import ch.qos.logback.core.util.FileSize;
+import co.com.pragma.logger.appender.OverflowPolicy;
+import co.com.pragma.logger.appender.RingBufferAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Latency of a single log call on an "event loop" thread while three other threads flood the
+ * same logger, comparing the previous AsyncAppender setup (queue of 1024, discardingThreshold 0)
+ * with {@link RingBufferAppender}. Percentiles need sample mode:
+ * {@code ./gradlew :benchmarks:jmh -Pjmh.includes=LogStormBenchmark -Pjmh.mode=sample}
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+public class LogStormBenchmark {
+
+    private static final String LOGGER_NAME = "co.com.pragma.benchmarks.LogStorm";
+    private static final Long DOCUMENT = 1_234_567L;
+
+    @Param({"ring", "async"})
+    public String appender;
+
+    @Param({"DROP", "SAMPLE"})
+    public OverflowPolicy overflowPolicy;
+
+    private Path directory;
+    private Appender<ILoggingEvent> target;
+    private org.slf4j.Logger logger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-storm");
+        LoggerContext context = (LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
+
+        target = "ring".equals(appender) ? ringAppender(context) : asyncAppender(context);
+
+        ch.qos.logback.classic.Logger logbackLogger = context.getLogger(LOGGER_NAME);
+        logbackLogger.detachAndStopAllAppenders();
+        logbackLogger.setAdditive(false);
+        logbackLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logbackLogger.addAppender(target);
+        logger = logbackLogger;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        target.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(3)
+    public void flood() {
+        logger.info("Retrieved user with document: {}", DOCUMENT);
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(1)
+    public void eventLoop() {
+        logger.info("Request handled for document: {}", DOCUMENT);
+    }
+
+    private Appender<ILoggingEvent> ringAppender(LoggerContext context) {
+        RingBufferAppender ring = new RingBufferAppender();
+        ring.setContext(context);
+        ring.setName("storm-ring");
+        ring.setFile(directory.resolve("storm.json").toString());
+        ring.setOverflowPolicy(overflowPolicy);
+        ring.setMaxFileSize(FileSize.valueOf("50MB"));
+        ring.setMaxHistory(1);
+        ring.start();
+        return ring;
+    }
+
+    private Appender<ILoggingEvent> asyncAppender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level [%logger{36}] - %msg%n");
+        encoder.start();
+
+        RollingFileAppender<ILoggingEvent> file = new RollingFileAppender<>();
+        file.setContext(context);
+        file.setName("storm-file");
+        file.setFile(directory.resolve("storm.log").toString());
+        file.setEncoder(encoder);
+
+        FixedWindowRollingPolicy rollingPolicy = new FixedWindowRollingPolicy();
+        rollingPolicy.setContext(context);
+        rollingPolicy.setParent(file);
+        rollingPolicy.setFileNamePattern(directory.resolve("storm.%i.log").toString());
+        rollingPolicy.setMinIndex(1);
+        rollingPolicy.setMaxIndex(1);
+        rollingPolicy.start();
+
+        SizeBasedTriggeringPolicy<ILoggingEvent> triggeringPolicy = new SizeBasedTriggeringPolicy<>();
+        triggeringPolicy.setContext(context);
+        triggeringPolicy.setMaxFileSize(FileSize.valueOf("50MB"));
+        triggeringPolicy.start();
+
+        file.setRollingPolicy(rollingPolicy);
+        file.setTriggeringPolicy(triggeringPolicy);
+        file.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("storm-async");
+        async.setQueueSize(1024);
+        async.setDiscardingThreshold(0);
+        async.addAppender(file);
+        async.start();
+        return async;
+    }
+}
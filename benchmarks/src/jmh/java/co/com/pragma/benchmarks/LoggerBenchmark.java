@@ -0,0 +1,86 @@
+package co.com.pragma.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.helpers.NOPAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import co.com.pragma.logger.LoggerManager;
+import co.com.pragma.model.common.LogLevel;
+import co.com.pragma.model.common.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of the domain {@link Logger} on the hot path, with the level enabled (events
+ * reach logback and a no-op appender) and disabled (should be close to free).
+ */
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+
+    private static final String LOGGER_NAME = "co.com.pragma.benchmarks.LoggerBenchmark";
+
+    @Param({"true", "false"})
+    public boolean debugEnabled;
+
+    private Logger logger;
+    private Logger rateLimitedLogger;
+    private Long document;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
+        NOPAppender<ILoggingEvent> appender = new NOPAppender<>();
+        appender.setContext(context);
+        appender.start();
+
+        ch.qos.logback.classic.Logger logbackLogger = context.getLogger(LOGGER_NAME);
+        logbackLogger.detachAndStopAllAppenders();
+        logbackLogger.addAppender(appender);
+        logbackLogger.setAdditive(false);
+        logbackLogger.setLevel(debugEnabled ? Level.DEBUG : Level.INFO);
+
+        LoggerManager manager = LoggerManager.getInstance();
+        manager.setMinimumLogLevel(debugEnabled ? LogLevel.DEBUG : LogLevel.INFO);
+        logger = manager.getLogger(LOGGER_NAME);
+        rateLimitedLogger = logger.rateLimited(100);
+        document = 1_234_567L;
+    }
+
+    @Benchmark
+    public void debugNoArgs() {
+        logger.debug("Starting to fetch users");
+    }
+
+    @Benchmark
+    public void debugOneArg() {
+        logger.debug("Retrieved user with document: {}", document);
+    }
+
+    @Benchmark
+    public void debugTwoArgs() {
+        logger.debug("Retrieved user: {} {}", "Name", "LastName");
+    }
+
+    @Benchmark
+    public void debugThreeArgs() {
+        logger.debug("Retrieved user: {} {} ({})", "Name", "LastName", document);
+    }
+
+    @Benchmark
+    public void debugSupplier() {
+        logger.debug(() -> "Retrieved user with document: " + document);
+    }
+
+    @Benchmark
+    public void debugRateLimited() {
+        rateLimitedLogger.debug("Retrieved user with document: {}", document);
+    }
+
+    @Benchmark
+    public void infoOneArg() {
+        logger.info("Getting user by document: {}", document);
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.mapper.GeneratedUserDTOMapper;
+import co.com.pragma.api.mapper.JacksonUserDTOMapper;
+import co.com.pragma.api.mapper.UserDTOMapper;
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.mapper.GeneratedUserEntityMapper;
+import co.com.pragma.r2dbc.mapper.ReflectiveUserEntityMapper;
+import co.com.pragma.r2dbc.mapper.UserEntityMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.reactivecommons.utils.ObjectMapperImp;
+
+/**
+ * Per-row mapping cost between the domain, persistence and web models, for each
+ * {@code mapping.strategy}.
+ */
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"generated", "reflective"})
+    private String strategy;
+
+    private UserEntityMapper entityMapper;
+    private UserDTOMapper dtoMapper;
+    private User user;
+    private UserEntity entity;
+
+    @Setup
+    public void setUp() {
+        if ("reflective".equals(strategy)) {
+            entityMapper = new ReflectiveUserEntityMapper(new ObjectMapperImp());
+            dtoMapper = new JacksonUserDTOMapper(JsonMapper.builder().addModule(new JavaTimeModule()).build());
+        } else {
+            entityMapper = Mappers.getMapper(GeneratedUserEntityMapper.class);
+            dtoMapper = Mappers.getMapper(GeneratedUserDTOMapper.class);
+        }
+        user = BenchmarkUsers.user(1_234_567L);
+        entity = entityMapper.toData(user);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() {
+        return entityMapper.toData(user);
+    }
+
+    @Benchmark
+    public User entityToUser() {
+        return entityMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return dtoMapper.toDTO(user);
+    }
+}
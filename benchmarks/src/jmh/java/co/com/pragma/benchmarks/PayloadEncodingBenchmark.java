@@ -0,0 +1,93 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.api.config.JacksonConfig;
+import co.com.pragma.api.config.MapperConfig;
+import co.com.pragma.api.dto.UserPageDTO;
+import co.com.pragma.api.mapper.UserDTOMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes on the wire and CPU per response for a users page, by representation (JSON or
+ * Smile) and content coding. The codings use the level Reactor Netty's compressor
+ * defaults to (6), so the time per operation is the encoding cost a request pays.
+ * The {@code wireBytes} counter reports the body size of one response.
+ */
+@State(Scope.Benchmark)
+public class PayloadEncodingBenchmark {
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"identity", "gzip", "deflate"})
+    private String coding;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private UserPageDTO page;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        if ("smile".equals(format)) {
+            builder.factory(new SmileFactory());
+        }
+        mapper = builder.build();
+
+        UserDTOMapper dtoMapper = new MapperConfig().generatedUserDTOMapper();
+        page = UserPageDTO.builder()
+                .users(BenchmarkUsers.users(pageSize).stream().map(dtoMapper::toDTO).toList())
+                .next("ZG9jOjUw")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encodePage(WireSize wireSize) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(pageSize * 160);
+        try (OutputStream out = encoder(body)) {
+            mapper.writeValue(out, page);
+        }
+        byte[] bytes = body.toByteArray();
+        // Size of the last response, not a running total: every response has the same size
+        wireSize.wireBytes = bytes.length;
+        return bytes;
+    }
+
+    private OutputStream encoder(OutputStream body) throws IOException {
+        return switch (coding) {
+            // zlib's default compression level is 6
+            case "gzip" -> new GZIPOutputStream(body, 8192);
+            case "deflate" -> new DeflaterOutputStream(body, new Deflater(Deflater.DEFAULT_COMPRESSION), 8192);
+            default -> body;
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.MyReactiveRepository;
+import co.com.pragma.r2dbc.config.PostgreSQLConnectionPool;
+import co.com.pragma.r2dbc.config.PostgresqlConnectionProperties;
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import co.com.pragma.r2dbc.migration.MigrationScripts;
+import co.com.pragma.r2dbc.migration.SchemaMigrator;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Round trip of the hottest queries against a real PostgreSQL for each driver setting:
+ * with the prepared statement cache disabled every execution pays parse and plan again.
+ * <p>
+ * Needs a database, so it only runs when asked for:
+ * {@code ./gradlew :benchmarks:jmh -Pjmh.postgres=localhost:5432/pragma -Pjmh.includes=PostgresSettingsBenchmark}.
+ * The schema is migrated and seeded with {@value #SEED_USERS} users on the first run.
+ */
+@State(Scope.Benchmark)
+public class PostgresSettingsBenchmark {
+
+    private static final int SEED_USERS = 100_000;
+    private static final String LOOKUP_QUERY =
+            "SELECT " + MyReactiveRepository.COLUMNS + " FROM users WHERE document = $1";
+    private static final String PAGE_QUERY =
+            "SELECT " + MyReactiveRepository.COLUMNS + " FROM users WHERE document > $1 ORDER BY document LIMIT $2";
+    private static final String SEED_QUERY = """
+            INSERT INTO users (name, last_name, document, email, salary, birth_date)
+            SELECT 'Name' || n, 'LastName' || n, n, 'user' || n || '@pragma.com.co', 1000000 + n,
+                   DATE '1990-01-01' + mod(n, 10000)::int
+            FROM generate_series(1, %d) AS n
+            ON CONFLICT DO NOTHING""".formatted(SEED_USERS);
+
+    @Param({"0", "256"})
+    private int preparedStatementCacheQueries;
+
+    @Param({"0", "50"})
+    private int fetchSize;
+
+    @Param({"true", "false"})
+    private boolean tcpNoDelay;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() {
+        String[] target = System.getProperty("bench.postgres", "localhost:5432/pragma").split("[:/]");
+        PostgresqlConnectionProperties properties = new PostgresqlConnectionProperties(
+                target[0], Integer.parseInt(target[1]), target[2], "public",
+                System.getProperty("bench.postgres.user", "admin"),
+                System.getProperty("bench.postgres.password", "admin"),
+                preparedStatementCacheQueries, fetchSize, true, tcpNoDelay, null);
+        ConnectionFactory connectionFactory =
+                new PostgresqlConnectionFactory(PostgreSQLConnectionPool.connectionConfiguration(properties));
+
+        new SchemaMigrator(connectionFactory, MigrationScripts.load(new PathMatchingResourcePatternResolver(),
+                SchemaMigrationProperties.DEFAULT_LOCATION)).migrate().blockLast();
+        connection = Mono.from(connectionFactory.create()).block();
+        Flux.from(connection.createStatement(SEED_QUERY).execute()).flatMap(Result::getRowsUpdated).blockLast();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Mono.from(connection.close()).block();
+    }
+
+    @Benchmark
+    public User lookupByDocument() {
+        long document = ThreadLocalRandom.current().nextLong(1, SEED_USERS + 1);
+        return Flux.from(connection.createStatement(LOOKUP_QUERY).bind(0, document).execute())
+                .flatMap(result -> result.map(PostgresSettingsBenchmark::read))
+                .blockLast();
+    }
+
+    @Benchmark
+    public List<User> keysetPage() {
+        long after = ThreadLocalRandom.current().nextLong(0, SEED_USERS - BenchmarkUsers.PAGE_SIZE);
+        return Flux.from(connection.createStatement(PAGE_QUERY)
+                        .bind(0, after)
+                        .bind(1, BenchmarkUsers.PAGE_SIZE)
+                        .execute())
+                .flatMap(result -> result.map(PostgresSettingsBenchmark::read))
+                .collectList()
+                .block();
+    }
+
+    private static User read(Row row, RowMetadata metadata) {
+        return User.builder()
+                .name(row.get("name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .document(row.get("document", Long.class))
+                .email(row.get("email", String.class))
+                .salary(row.get("salary", Long.class))
+                .birthDate(row.get("birth_date", LocalDate.class))
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.api.Handler;
+import co.com.pragma.api.RouterRest;
+import co.com.pragma.api.config.JacksonConfig;
+import co.com.pragma.api.config.MapperConfig;
+import co.com.pragma.api.config.UserPath;
+import co.com.pragma.api.mapper.UserDTOMapper;
+import co.com.pragma.logger.DomainLoggerFactory;
+import co.com.pragma.model.common.LoggerFactory;
+import co.com.pragma.usecase.user.UserUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Requests per second through {@link RouterRest} and {@link Handler} against a stubbed
+ * gateway, using an in-process WebTestClient (no network, no database).
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class RouterThroughputBenchmark {
+
+    private static final int STORED_USERS = 1_000;
+    private static final int LOOKUP_SIZE = 100;
+
+    @Param({"generated", "reflective"})
+    private String mappingStrategy;
+
+    private WebTestClient client;
+    private Map<String, List<Long>> lookupRequest;
+
+    @Setup
+    public void setUp() {
+        LoggerFactory.setInstance(new DomainLoggerFactory());
+
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        ObjectMapper objectMapper = builder.build();
+
+        UserPath userPath = new UserPath();
+        userPath.setUsers("/api/users");
+        userPath.setUsersById("/api/users/{id}");
+        userPath.setUsersBulk("/api/users/bulk");
+        userPath.setUsersLookup("/api/users/lookup");
+        userPath.setUsersSearch("/api/users/search");
+
+        MapperConfig mapperConfig = new MapperConfig();
+        UserDTOMapper dtoMapper = "reflective".equals(mappingStrategy)
+                ? mapperConfig.jacksonUserDTOMapper(objectMapper)
+                : mapperConfig.generatedUserDTOMapper();
+
+        // No idempotency store: every request runs against the stub
+        UserUseCase useCase = new UserUseCase(new StubUserRepository(STORED_USERS), (key, operation) -> operation);
+        Handler handler = new Handler(useCase, dtoMapper);
+        RouterRest routerRest = new RouterRest(userPath, handler);
+
+        client = WebTestClient
+                .bindToRouterFunction(routerRest.routerFunction().and(routerRest.undocumentedRouterFunction()))
+                .handlerStrategies(HandlerStrategies.builder()
+                        .codecs(codecs -> {
+                            codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                            codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                        })
+                        .build())
+                .build();
+
+        lookupRequest = Map.of("documents", LongStream.rangeClosed(1, LOOKUP_SIZE).boxed().toList());
+    }
+
+    @Benchmark
+    public byte[] getUserById() {
+        long document = ThreadLocalRandom.current().nextLong(1, STORED_USERS + 1);
+        return client.get()
+                .uri("/api/users/{id}", document)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] getUsersPage() {
+        return client.get()
+                .uri("/api/users?limit={limit}", BenchmarkUsers.PAGE_SIZE)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] lookupUsers() {
+        return client.post()
+                .uri("/api/users/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(lookupRequest)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBodyContent();
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.model.user.UserPageRequest;
+import co.com.pragma.model.user.UserSaveResult;
+import co.com.pragma.model.user.UserSaveStatus;
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.model.user.UserVersion;
+import co.com.pragma.model.user.gateways.UserRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory gateway so the web benchmarks measure routing, handlers and codecs only.
+ */
+class StubUserRepository implements UserRepository {
+
+    private final List<User> users;
+
+    StubUserRepository(int size) {
+        this.users = BenchmarkUsers.users(size);
+    }
+
+    @Override
+    public Flux<User> getUsers() {
+        return Flux.fromIterable(users);
+    }
+
+    @Override
+    public Mono<UserPage> getUsersPage(UserPageRequest request) {
+        List<User> page = users.subList(0, Math.min(request.getLimit(), users.size()));
+        return Mono.just(UserPage.builder()
+                .users(page)
+                .nextDocument(page.isEmpty() ? null : page.get(page.size() - 1).getDocument())
+                .build());
+    }
+
+    @Override
+    public Mono<User> getUserByDocument(Long document) {
+        return document == null || document < 1 || document > users.size()
+                ? Mono.empty()
+                : Mono.just(users.get((int) (document - 1)));
+    }
+
+    @Override
+    public Mono<UserVersion> getUserVersion(Long document) {
+        return getUserByDocument(document).map(UserVersion::of);
+    }
+
+    @Override
+    public Flux<User> getUsersByDocuments(Collection<Long> documents) {
+        return Flux.fromIterable(documents).flatMap(this::getUserByDocument);
+    }
+
+    // Filtering is the database's job: the stub only honours the limit
+    @Override
+    public Flux<User> searchUsers(UserSearchCriteria criteria) {
+        return criteria.getLimit() > 0 ? Flux.fromIterable(users).take(criteria.getLimit()) : Flux.fromIterable(users);
+    }
+
+    @Override
+    public Mono<User> editUser(User user) {
+        return Mono.just(user);
+    }
+
+    @Override
+    public Mono<User> saveUser(User user) {
+        return Mono.just(user);
+    }
+
+    @Override
+    public Flux<UserSaveResult> saveUsers(Flux<User> users) {
+        AtomicLong index = new AtomicLong();
+        return users.map(user -> UserSaveResult.builder()
+                .index(index.getAndIncrement())
+                .document(user.getDocument())
+                .status(UserSaveStatus.CREATED)
+                .build());
+    }
+
+    @Override
+    public Mono<Void> deleteUser(Long document) {
+        return Mono.empty();
+    }
+}
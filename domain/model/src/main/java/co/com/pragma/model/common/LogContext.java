@@ -0,0 +1,32 @@
+package co.com.pragma.model.common;
+
+import reactor.util.context.ContextView;
+
+/**
+ * Request scoped values carried in the Reactor {@link ContextView} and attached to log events.
+ * Entry points write them with {@code contextWrite}, use cases read them through
+ * {@code deferContextual}, so nothing is copied into ThreadLocals on each signal.
+ */
+public final class LogContext {
+    
+    /**
+     * Context key and log field of the request correlation id
+     */
+    public static final String REQUEST_ID = "requestId";
+    
+    private LogContext() {
+        // Utility class - prevent instantiation
+    }
+    
+    /**
+     * Get a view of the logger that tags every event with the request id in the context
+     * @param logger The logger to tag
+     * @param context The subscriber context
+     * @return Tagged logger, or the same logger if the context has no request id
+     */
+    public static Logger from(Logger logger, ContextView context) {
+        return context.<String>getOrEmpty(REQUEST_ID)
+                .map(requestId -> logger.withContext(REQUEST_ID, requestId))
+                .orElse(logger);
+    }
+}
@@ -1,8 +1,14 @@
 package co.com.pragma.model.common;
 
+import java.util.function.Supplier;
+
 /**
  * Logger interface for the domain layer following clean architecture principles.
  * This interface defines the contract for logging operations across different log levels.
+ * <p>
+ * The fixed-arity overloads avoid the varargs array and the supplier overloads defer building
+ * the message, so a call below the enabled level allocates nothing. Primitive arguments are
+ * still boxed at the call site: guard them or use a supplier on per-record paths.
  */
 public interface Logger {
     
@@ -19,6 +25,36 @@ public interface Logger {
      */
     void trace(String message, Object... args);
     
+    /**
+     * Log a trace message with one argument
+     * @param message The message template
+     * @param arg Argument to substitute in the message
+     */
+    void trace(String message, Object arg);
+    
+    /**
+     * Log a trace message with two arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     */
+    void trace(String message, Object arg1, Object arg2);
+    
+    /**
+     * Log a trace message with three arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     * @param arg3 Third argument to substitute in the message
+     */
+    void trace(String message, Object arg1, Object arg2, Object arg3);
+    
+    /**
+     * Log a trace message built only when the level is enabled
+     * @param messageSupplier Supplier of the message
+     */
+    void trace(Supplier<String> messageSupplier);
+    
     /**
      * Log a debug message
      * @param message The message to log
@@ -32,6 +68,36 @@ public interface Logger {
      */
     void debug(String message, Object... args);
     
+    /**
+     * Log a debug message with one argument
+     * @param message The message template
+     * @param arg Argument to substitute in the message
+     */
+    void debug(String message, Object arg);
+    
+    /**
+     * Log a debug message with two arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     */
+    void debug(String message, Object arg1, Object arg2);
+    
+    /**
+     * Log a debug message with three arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     * @param arg3 Third argument to substitute in the message
+     */
+    void debug(String message, Object arg1, Object arg2, Object arg3);
+    
+    /**
+     * Log a debug message built only when the level is enabled
+     * @param messageSupplier Supplier of the message
+     */
+    void debug(Supplier<String> messageSupplier);
+    
     /**
      * Log an info message
      * @param message The message to log
@@ -45,6 +111,36 @@ public interface Logger {
      */
     void info(String message, Object... args);
     
+    /**
+     * Log an info message with one argument
+     * @param message The message template
+     * @param arg Argument to substitute in the message
+     */
+    void info(String message, Object arg);
+    
+    /**
+     * Log an info message with two arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     */
+    void info(String message, Object arg1, Object arg2);
+    
+    /**
+     * Log an info message with three arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     * @param arg3 Third argument to substitute in the message
+     */
+    void info(String message, Object arg1, Object arg2, Object arg3);
+    
+    /**
+     * Log an info message built only when the level is enabled
+     * @param messageSupplier Supplier of the message
+     */
+    void info(Supplier<String> messageSupplier);
+    
     /**
      * Log a warning message
      * @param message The message to log
@@ -58,6 +154,36 @@ public interface Logger {
      */
     void warn(String message, Object... args);
     
+    /**
+     * Log a warning message with one argument
+     * @param message The message template
+     * @param arg Argument to substitute in the message
+     */
+    void warn(String message, Object arg);
+    
+    /**
+     * Log a warning message with two arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     */
+    void warn(String message, Object arg1, Object arg2);
+    
+    /**
+     * Log a warning message with three arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     * @param arg3 Third argument to substitute in the message
+     */
+    void warn(String message, Object arg1, Object arg2, Object arg3);
+    
+    /**
+     * Log a warning message built only when the level is enabled
+     * @param messageSupplier Supplier of the message
+     */
+    void warn(Supplier<String> messageSupplier);
+    
     /**
      * Log a warning message with exception
      * @param message The message to log
@@ -78,6 +204,36 @@ public interface Logger {
      */
     void error(String message, Object... args);
     
+    /**
+     * Log an error message with one argument
+     * @param message The message template
+     * @param arg Argument to substitute in the message
+     */
+    void error(String message, Object arg);
+    
+    /**
+     * Log an error message with two arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     */
+    void error(String message, Object arg1, Object arg2);
+    
+    /**
+     * Log an error message with three arguments
+     * @param message The message template
+     * @param arg1 First argument to substitute in the message
+     * @param arg2 Second argument to substitute in the message
+     * @param arg3 Third argument to substitute in the message
+     */
+    void error(String message, Object arg1, Object arg2, Object arg3);
+    
+    /**
+     * Log an error message built only when the level is enabled
+     * @param messageSupplier Supplier of the message
+     */
+    void error(Supplier<String> messageSupplier);
+    
     /**
      * Log an error message with exception
      * @param message The message to log
@@ -114,4 +270,29 @@ public interface Logger {
      * @return true if error level is enabled
      */
     boolean isErrorEnabled();
+    
+    /**
+     * Get a view of this logger that lets only one in every {@code n} messages through.
+     * Suppressed messages are counted and reported periodically.
+     * @param n Sampling rate, 1 lets every message through
+     * @return Sampled logger, cached per logger and rate
+     */
+    Logger sampled(int n);
+    
+    /**
+     * Get a view of this logger that lets at most {@code messagesPerSecond} messages through,
+     * with bursts up to the same amount. Suppressed messages are counted and reported periodically.
+     * @param messagesPerSecond Maximum sustained rate
+     * @return Rate limited logger, cached per logger and rate
+     */
+    Logger rateLimited(int messagesPerSecond);
+    
+    /**
+     * Get a view of this logger that adds a key-value pair to every event, as a structured field
+     * rather than in the message text. See {@link LogContext} for request scoped values.
+     * @param key Field name
+     * @param value Field value
+     * @return Logger tagging its events with the pair
+     */
+    Logger withContext(String key, Object value);
 }
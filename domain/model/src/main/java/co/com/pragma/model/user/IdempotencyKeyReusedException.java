@@ -0,0 +1,18 @@
+package co.com.pragma.model.user;
+
+import lombok.Getter;
+
+/**
+ * Raised when an idempotency key already answered a creation with a different payload:
+ * the client reused the key for a different request.
+ */
+@Getter
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private final String key;
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key " + key + " was already used for a different request");
+        this.key = key;
+    }
+}
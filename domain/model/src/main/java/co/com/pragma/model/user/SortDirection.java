@@ -0,0 +1,9 @@
+package co.com.pragma.model.user;
+
+/**
+ * Direction used to walk the users keyset (ordered by document).
+ */
+public enum SortDirection {
+    ASC,
+    DESC
+}
@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Getter
@@ -20,5 +21,8 @@ public class User {
     private String email;
     private Long salary;
     private LocalDate birthDate;
+    // Bumped by every update; on an edit, the version the caller read (null skips the check)
+    private Long version;
+    private Instant updatedAt;
 
 }
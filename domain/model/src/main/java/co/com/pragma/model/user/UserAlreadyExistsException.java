@@ -0,0 +1,25 @@
+package co.com.pragma.model.user;
+
+import lombok.Getter;
+
+/**
+ * Raised when a creation collides with a different user already stored under the same
+ * document or email; {@link #getKey()} tells which one. Repeating a creation that already
+ * succeeded is not a collision.
+ */
+@Getter
+public class UserAlreadyExistsException extends RuntimeException {
+
+    public enum Key { DOCUMENT, EMAIL }
+
+    private final Long document;
+    private final Key key;
+
+    public UserAlreadyExistsException(Long document, Key key) {
+        super(key == Key.EMAIL
+                ? "The email of user " + document + " is already registered to a different user"
+                : "A different user is already registered with document " + document);
+        this.document = document;
+        this.key = key;
+    }
+}
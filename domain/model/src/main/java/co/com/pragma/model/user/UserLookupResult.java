@@ -0,0 +1,22 @@
+package co.com.pragma.model.user;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Per-document result of a batched lookup. {@code user} is null when {@code found} is false.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserLookupResult {
+
+    private Long document;
+    private boolean found;
+    private User user;
+
+}
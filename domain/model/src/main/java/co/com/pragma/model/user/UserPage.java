@@ -0,0 +1,43 @@
+package co.com.pragma.model.user;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * A single keyset page of users. {@code nextDocument} is the document of the last
+ * user in the page when more rows are available, or null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPage {
+
+    private List<User> users;
+    private Long nextDocument;
+
+    public boolean hasNext() {
+        return nextDocument != null;
+    }
+
+    /**
+     * The page of at most {@code limit} users out of {@code users}, read with one extra row:
+     * when that row is there, another page follows.
+     */
+    public static UserPage of(List<User> users, int limit) {
+        if (users.size() <= limit) {
+            return UserPage.builder().users(users).build();
+        }
+        List<User> page = users.subList(0, limit);
+        return UserPage.builder()
+                .users(page)
+                .nextDocument(page.get(limit - 1).getDocument())
+                .build();
+    }
+
+}
@@ -0,0 +1,24 @@
+package co.com.pragma.model.user;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Keyset page request. The page starts right after {@code afterDocument}
+ * (or at the beginning when it is null) and holds at most {@code limit} users.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserPageRequest {
+
+    private Long afterDocument;
+    private int limit;
+    @Builder.Default
+    private SortDirection sort = SortDirection.ASC;
+
+}
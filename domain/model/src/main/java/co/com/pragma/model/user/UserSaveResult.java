@@ -0,0 +1,24 @@
+package co.com.pragma.model.user;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Per-row result of a bulk load. {@code index} is the zero based position of the
+ * user in the submitted stream, so callers can correlate rows without a document.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSaveResult {
+
+    private long index;
+    private Long document;
+    private UserSaveStatus status;
+    private String message;
+
+}
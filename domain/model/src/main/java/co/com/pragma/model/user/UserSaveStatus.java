@@ -0,0 +1,10 @@
+package co.com.pragma.model.user;
+
+/**
+ * Outcome of storing a single user during a bulk load.
+ */
+public enum UserSaveStatus {
+    CREATED,
+    DUPLICATE,
+    FAILED
+}
@@ -0,0 +1,35 @@
+package co.com.pragma.model.user;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a user search, combined with AND; a null filter does not apply. Ranges are
+ * inclusive at both ends. Matches come in document order, starting right after
+ * {@code afterDocument}, at most {@code limit} of them (every match when it is 0).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserSearchCriteria {
+
+    // Exact match
+    private String email;
+    // Case-insensitive, from the start of the last name
+    private String lastNamePrefix;
+    // Case-insensitive, anywhere in the name
+    private String nameContains;
+    private Long minSalary;
+    private Long maxSalary;
+    private LocalDate bornFrom;
+    private LocalDate bornTo;
+    private Long afterDocument;
+    private int limit;
+
+}
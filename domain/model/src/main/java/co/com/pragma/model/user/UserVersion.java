@@ -0,0 +1,28 @@
+package co.com.pragma.model.user;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * What changes whenever a stored user changes, without the user itself: enough to tell
+ * whether a copy a client holds is still current.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserVersion {
+
+    private Long document;
+    private Long version;
+    private Instant updatedAt;
+
+    public static UserVersion of(User user) {
+        return new UserVersion(user.getDocument(), user.getVersion(), user.getUpdatedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package co.com.pragma.model.user;
+
+import lombok.Getter;
+
+/**
+ * Raised when an edit carries a version other than the stored one: the user changed
+ * after the caller read it.
+ */
+@Getter
+public class UserVersionConflictException extends RuntimeException {
+
+    private final Long document;
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public UserVersionConflictException(Long document, Long expectedVersion, Long currentVersion) {
+        super("User " + document + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.document = document;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,18 @@
+package co.com.pragma.model.user.gateways;
+
+import co.com.pragma.model.user.User;
+import reactor.core.publisher.Mono;
+
+/**
+ * Remembers the outcome of a creation under the client's idempotency key, so a retried
+ * request is answered with the first outcome instead of running again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Emits the user recorded under {@code key}, or subscribes to {@code operation} and
+     * records what it emits. Concurrent calls with the same key share one execution. A
+     * failed operation is not recorded, so the client can retry it with the same key.
+     */
+    Mono<User> execute(String key, Mono<User> operation);
+}
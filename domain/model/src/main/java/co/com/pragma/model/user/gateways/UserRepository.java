@@ -1,13 +1,25 @@
 package co.com.pragma.model.user.gateways;
 
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.model.user.UserPageRequest;
+import co.com.pragma.model.user.UserSaveResult;
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.model.user.UserVersion;
 import reactor.core.publisher.Flux;
+
+import java.util.Collection;
 import reactor.core.publisher.Mono;
 
 public interface UserRepository {
     Flux<User> getUsers();
+    Mono<UserPage> getUsersPage(UserPageRequest request);
     Mono<User> getUserByDocument(Long document);
+    Mono<UserVersion> getUserVersion(Long document);
+    Flux<User> getUsersByDocuments(Collection<Long> documents);
+    Flux<User> searchUsers(UserSearchCriteria criteria);
     Mono<User> editUser(User user);
     Mono<User> saveUser(User user);
+    Flux<UserSaveResult> saveUsers(Flux<User> users);
     Mono<Void> deleteUser(Long document);
 }
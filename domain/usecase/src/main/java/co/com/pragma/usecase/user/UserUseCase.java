@@ -1,64 +1,327 @@
 package co.com.pragma.usecase.user;
 
+import co.com.pragma.model.common.LogContext;
 import co.com.pragma.model.common.Logger;
 import co.com.pragma.model.common.LoggerFactory;
+import co.com.pragma.model.user.IdempotencyKeyReusedException;
+import co.com.pragma.model.user.SortDirection;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserLookupResult;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.model.user.UserPageRequest;
+import co.com.pragma.model.user.UserSaveResult;
+import co.com.pragma.model.user.UserSaveStatus;
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.model.user.UserVersion;
+import co.com.pragma.model.user.gateways.IdempotencyStore;
 import co.com.pragma.model.user.gateways.UserRepository;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
 
 @RequiredArgsConstructor
 public class UserUseCase {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int RECORD_LOG_RATE = 100;
+    public static final int MAX_LOOKUP_SIZE = 1000;
+    // A shorter substring holds no trigram, so the name index could not narrow the search
+    public static final int MIN_NAME_SEARCH_LENGTH = 3;
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private static final Logger logger = LoggerFactory.getLoggerFor(UserUseCase.class);
+    // Per-record messages: a full export at DEBUG must not flood the async appender
+    private static final Logger recordLogger = logger.rateLimited(RECORD_LOG_RATE);
     private final UserRepository userRepository;
+    private final IdempotencyStore idempotencyStore;
 
     public Flux<User> getUsers() {
-        logger.info("Getting all users");
-        return userRepository.getUsers()
-                .doOnSubscribe(subscription -> logger.debug("Starting to fetch users"))
-                .doOnNext(user -> logger.debug("Retrieved user with document: {}", user.getDocument()))
-                .doOnComplete(() -> logger.info("Successfully retrieved all users"))
-                .doOnError(error -> logger.error("Error retrieving users", error));
+        return Flux.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            Logger recordLog = LogContext.from(recordLogger, context);
+            log.info("Getting all users");
+            return userRepository.getUsers()
+                    .doOnSubscribe(subscription -> log.debug("Starting to fetch users"))
+                    .doOnNext(user -> recordLog.debug("Retrieved user with document: {}", user.getDocument()))
+                    .doOnComplete(() -> log.info("Successfully retrieved all users"))
+                    .doOnError(error -> log.error("Error retrieving users", error));
+        });
+    }
+
+    public Mono<UserPage> getUsersPage(UserPageRequest request) {
+        return Mono.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            UserPageRequest pageRequest = normalize(request);
+            log.info("Getting users page after document: {} (limit {}, sort {})",
+                    pageRequest.getAfterDocument(), pageRequest.getLimit(), pageRequest.getSort());
+            return userRepository.getUsersPage(pageRequest)
+                    .doOnSuccess(page -> log.debug(() -> "Retrieved page with " + page.getUsers().size()
+                            + " users, has next: " + page.hasNext()))
+                    .doOnError(error -> log.error("Error retrieving users page", error));
+        });
     }
+
     public Mono<User> getUserById(Long document) {
-        logger.info("Getting user by document: {}", document);
-        return userRepository.getUserByDocument(document)
-                .doOnSubscribe(subscription -> logger.debug("Starting to fetch user with document: {}", document))
-                .doOnNext(user -> logger.debug("Retrieved user: {} {}", user.getName(), user.getLastName()))
-                .doOnSuccess(user -> {
-                    if (user != null) {
-                        logger.info("Successfully retrieved user with document: {}", document);
-                    } else {
-                        logger.warn("User not found with document: {}", document);
-                    }
-                })
-                .doOnError(error -> logger.error("Error retrieving user with document: {}", document, error));
+        return Mono.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            log.info("Getting user by document: {}", document);
+            return userRepository.getUserByDocument(document)
+                    .doOnSubscribe(subscription -> log.debug("Starting to fetch user with document: {}", document))
+                    .doOnNext(user -> log.debug("Retrieved user: {} {}", user.getName(), user.getLastName()))
+                    .doOnSuccess(user -> {
+                        if (user != null) {
+                            log.info("Successfully retrieved user with document: {}", document);
+                        } else {
+                            log.warn("User not found with document: {}", document);
+                        }
+                    })
+                    .doOnError(error -> log.error("Error retrieving user with document: {}", document, error));
+        });
+    }
+
+    /**
+     * The validators of a stored user, for conditional requests; empty when it does not exist.
+     */
+    public Mono<UserVersion> getUserVersion(Long document) {
+        return Mono.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            return userRepository.getUserVersion(document)
+                    .doOnNext(version -> log.debug("User {} is at version {}", document, version.getVersion()))
+                    .doOnError(error -> log.error("Error retrieving version of user with document: {}", document, error));
+        });
+    }
+
+    /**
+     * Streams the users found as they arrive, then one not-found result per missing document.
+     * The documents are validated when called, so a bad request fails before anything is streamed.
+     */
+    public Flux<UserLookupResult> getUsersByDocuments(Collection<Long> documents) {
+        Set<Long> requested = distinctDocuments(documents);
+        return Flux.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            log.info("Looking up {} users by document", requested.size());
+            Set<Long> found = new HashSet<>();
+            return userRepository.getUsersByDocuments(requested)
+                    .filter(user -> found.add(user.getDocument()))
+                    .map(user -> UserLookupResult.builder()
+                            .document(user.getDocument())
+                            .found(true)
+                            .user(user)
+                            .build())
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(requested)
+                            .filter(document -> !found.contains(document))
+                            .map(document -> UserLookupResult.builder()
+                                    .document(document)
+                                    .found(false)
+                                    .build())))
+                    .doOnComplete(() -> log.info("Lookup finished: {} found, {} missing",
+                            found.size(), requested.size() - found.size()))
+                    .doOnError(error -> log.error("Error looking up users by document", error));
+        });
+    }
+
+    /**
+     * A keyset page of the users matching every filter set, in document order. The criteria
+     * are validated when called, so bad filters fail before any query is sent.
+     */
+    public Mono<UserPage> searchUsers(UserSearchCriteria criteria) {
+        UserSearchCriteria search = validate(criteria);
+        int limit = pageLimit(search.getLimit());
+        return Mono.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            log.info("Searching users after document: {} (limit {})", search.getAfterDocument(), limit);
+            // One extra row tells whether there is a next page, as for the plain listing
+            return userRepository.searchUsers(search.toBuilder().limit(limit + 1).build())
+                    .collectList()
+                    .map(users -> UserPage.of(users, limit))
+                    .doOnSuccess(page -> log.debug(() -> "Search matched " + page.getUsers().size()
+                            + " users, has next: " + page.hasNext()))
+                    .doOnError(error -> log.error("Error searching users", error));
+        });
+    }
+
+    /**
+     * Every user matching the criteria, in document order, streamed as the rows arrive.
+     */
+    public Flux<User> streamSearch(UserSearchCriteria criteria) {
+        UserSearchCriteria search = validate(criteria).toBuilder().limit(0).build();
+        return Flux.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            long[] matched = new long[1];
+            log.info("Streaming users search after document: {}", search.getAfterDocument());
+            return userRepository.searchUsers(search)
+                    .doOnNext(user -> matched[0]++)
+                    .doOnComplete(() -> log.info("Search stream finished: {} users", matched[0]))
+                    .doOnError(error -> log.error("Error streaming users search", error));
+        });
     }
 
+    /**
+     * Applies the non-null fields of {@code user} to the stored user with the same document.
+     * Empty when the document is unknown; fails with {@code UserVersionConflictException}
+     * when {@code user} carries a version and the stored one has moved on.
+     */
     public Mono<User> editUser(User user) {
-        logger.info("Editing user with document: {}", user.getDocument());
-        return userRepository.editUser(user)
-                .doOnSubscribe(subscription -> logger.debug("Starting to edit user: {} {}", user.getName(), user.getLastName()))
-                .doOnNext(editedUser -> logger.debug("User edited successfully: {}", editedUser.getDocument()))
-                .doOnSuccess(editedUser -> logger.info("Successfully edited user with document: {}", user.getDocument()))
-                .doOnError(error -> logger.error("Error editing user with document: {}", user.getDocument(), error));
+        if (user.getDocument() == null) {
+            throw new IllegalArgumentException("A document is required");
+        }
+        return Mono.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            log.info("Editing user with document: {}", user.getDocument());
+            return userRepository.editUser(user)
+                    .doOnSubscribe(subscription -> log.debug("Starting to edit user: {} {}", user.getName(), user.getLastName()))
+                    .doOnNext(editedUser -> log.debug("User edited successfully: {}", editedUser.getDocument()))
+                    .doOnSuccess(editedUser -> {
+                        if (editedUser != null) {
+                            log.info("Successfully edited user with document: {} (version {})",
+                                    user.getDocument(), editedUser.getVersion());
+                        } else {
+                            log.warn("User not found with document: {}", user.getDocument());
+                        }
+                    })
+                    .doOnError(error -> log.error("Error editing user with document: {}", user.getDocument(), error));
+        });
     }
+
     public Mono<User> saveUser(User user) {
-        logger.info("Saving new user: {} {}", user.getName(), user.getLastName());
-        return userRepository.saveUser(user)
-                .doOnSubscribe(subscription -> logger.debug("Starting to save user: {} {}", user.getName(), user.getLastName()))
-                .doOnNext(savedUser -> logger.debug("User saved with document: {}", savedUser.getDocument()))
-                .doOnSuccess(savedUser -> logger.info("Successfully saved user with document: {}", savedUser.getDocument()))
-                .doOnError(error -> logger.error("Error saving user: {} {}", user.getName(), user.getLastName(), error));
+        return saveUser(user, null);
+    }
+
+    /**
+     * Creates the user, or answers with the stored one when the same creation already went
+     * through. With an idempotency key, a retry within the key's retention gets the first
+     * outcome without reaching the database; a key reused with a different payload is
+     * rejected. A key must not be blank nor longer than {@value #MAX_IDEMPOTENCY_KEY_LENGTH}
+     * characters.
+     */
+    public Mono<User> saveUser(User user, String idempotencyKey) {
+        if (user.getDocument() == null) {
+            throw new IllegalArgumentException("A document is required");
+        }
+        if (idempotencyKey != null
+                && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new IllegalArgumentException("An idempotency key must have 1 to "
+                    + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        if (idempotencyKey == null) {
+            return save(user);
+        }
+        return idempotencyStore.execute(idempotencyKey, save(user))
+                .flatMap(savedUser -> samePayload(user, savedUser)
+                        ? Mono.just(savedUser)
+                        : Mono.error(new IdempotencyKeyReusedException(idempotencyKey)));
+    }
+
+    private Mono<User> save(User user) {
+        return Mono.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            log.info("Saving new user: {} {}", user.getName(), user.getLastName());
+            return userRepository.saveUser(user)
+                    .doOnSubscribe(subscription -> log.debug("Starting to save user: {} {}", user.getName(), user.getLastName()))
+                    .doOnNext(savedUser -> log.debug("User saved with document: {}", savedUser.getDocument()))
+                    .doOnSuccess(savedUser -> log.info("Successfully saved user with document: {}", savedUser.getDocument()))
+                    .doOnError(error -> log.error("Error saving user: {} {}", user.getName(), user.getLastName(), error));
+        });
+    }
+
+    public Flux<UserSaveResult> saveUsers(Flux<User> users) {
+        return Flux.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            log.info("Starting bulk load of users");
+            long[] counters = new long[UserSaveStatus.values().length];
+            return userRepository.saveUsers(users)
+                    .doOnNext(result -> counters[result.getStatus().ordinal()]++)
+                    .doOnComplete(() -> log.info("Bulk load finished: {} created, {} duplicated, {} failed",
+                            counters[UserSaveStatus.CREATED.ordinal()],
+                            counters[UserSaveStatus.DUPLICATE.ordinal()],
+                            counters[UserSaveStatus.FAILED.ordinal()]))
+                    .doOnError(error -> log.error("Error during bulk load of users", error));
+        });
     }
 
     public Mono<Void> deleteUser(Long document) {
-        logger.info("Deleting user with document: {}", document);
-        return userRepository.deleteUser(document)
-                .doOnSubscribe(subscription -> logger.debug("Starting to delete user with document: {}", document))
-                .doOnSuccess(result -> logger.info("Successfully deleted user with document: {}", document))
-                .doOnError(error -> logger.error("Error deleting user with document: {}", document, error));
+        return Mono.deferContextual(context -> {
+            Logger log = LogContext.from(logger, context);
+            log.info("Deleting user with document: {}", document);
+            return userRepository.deleteUser(document)
+                    .doOnSubscribe(subscription -> log.debug("Starting to delete user with document: {}", document))
+                    .doOnSuccess(result -> log.info("Successfully deleted user with document: {}", document))
+                    .doOnError(error -> log.error("Error deleting user with document: {}", document, error));
+        });
+    }
+
+    /*
+     * The stored user holds exactly what its creation sent, so comparing every field a
+     * creation carries tells a retry from a different request under the same key.
+     */
+    private static boolean samePayload(User request, User saved) {
+        return Objects.equals(request.getDocument(), saved.getDocument())
+                && Objects.equals(request.getName(), saved.getName())
+                && Objects.equals(request.getLastName(), saved.getLastName())
+                && Objects.equals(request.getEmail(), saved.getEmail())
+                && Objects.equals(request.getSalary(), saved.getSalary())
+                && Objects.equals(request.getBirthDate(), saved.getBirthDate());
+    }
+
+    private static Set<Long> distinctDocuments(Collection<Long> documents) {
+        if (documents == null || documents.isEmpty()) {
+            throw new IllegalArgumentException("At least one document is required");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(documents);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("At least one document is required");
+        }
+        if (distinct.size() > MAX_LOOKUP_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_SIZE + " documents per lookup");
+        }
+        return distinct;
+    }
+
+    private static UserSearchCriteria validate(UserSearchCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria are required");
+        }
+        String nameContains = trimToNull(criteria.getNameContains());
+        if (nameContains != null && nameContains.length() < MIN_NAME_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("A name search needs at least " + MIN_NAME_SEARCH_LENGTH + " characters");
+        }
+        if (criteria.getMinSalary() != null && criteria.getMaxSalary() != null
+                && criteria.getMinSalary() > criteria.getMaxSalary()) {
+            throw new IllegalArgumentException("The salary range is empty");
+        }
+        if (criteria.getBornFrom() != null && criteria.getBornTo() != null
+                && criteria.getBornFrom().isAfter(criteria.getBornTo())) {
+            throw new IllegalArgumentException("The birth date range is empty");
+        }
+        return criteria.toBuilder()
+                .email(trimToNull(criteria.getEmail()))
+                .lastNamePrefix(trimToNull(criteria.getLastNamePrefix()))
+                .nameContains(nameContains)
+                .build();
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static int pageLimit(int limit) {
+        return limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static UserPageRequest normalize(UserPageRequest request) {
+        int limit = pageLimit(request.getLimit());
+        SortDirection sort = request.getSort() == null ? SortDirection.ASC : request.getSort();
+        return request.toBuilder()
+                .limit(limit)
+                .sort(sort)
+                .build();
     }
 }
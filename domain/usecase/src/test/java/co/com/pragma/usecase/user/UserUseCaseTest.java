@@ -0,0 +1,189 @@
+package co.com.pragma.usecase.user;
+
+import co.com.pragma.model.user.IdempotencyKeyReusedException;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserLookupResult;
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.model.user.gateways.IdempotencyStore;
+import co.com.pragma.model.user.gateways.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserUseCaseTest {
+
+    private UserRepository userRepository;
+    private IdempotencyStore idempotencyStore;
+    private UserUseCase userUseCase;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = Mockito.mock(UserRepository.class);
+        idempotencyStore = Mockito.mock(IdempotencyStore.class);
+        userUseCase = new UserUseCase(userRepository, idempotencyStore);
+    }
+
+    @Test
+    void mustLookUpEachDistinctDocumentOnceWithoutNulls() {
+        when(userRepository.getUsersByDocuments(any())).thenReturn(Flux.just(user(1L)));
+
+        StepVerifier.create(userUseCase.getUsersByDocuments(Arrays.asList(1L, null, 1L, 2L)))
+                .expectNextCount(2)
+                .verifyComplete();
+        verify(userRepository).getUsersByDocuments(argThat(documents -> Set.of(1L, 2L).equals(Set.copyOf(documents))));
+    }
+
+    @Test
+    void mustStreamFoundUsersFirstThenTheMissingOnesInRequestOrder() {
+        when(userRepository.getUsersByDocuments(any())).thenReturn(Flux.just(user(3L), user(3L)));
+
+        List<UserLookupResult> results = userUseCase.getUsersByDocuments(List.of(1L, 2L, 3L)).collectList().block();
+
+        assertEquals(List.of(3L, 1L, 2L), results.stream().map(UserLookupResult::getDocument).toList());
+        assertEquals(List.of(true, false, false), results.stream().map(UserLookupResult::isFound).toList());
+        assertEquals(3L, results.get(0).getUser().getDocument());
+        assertNull(results.get(1).getUser());
+    }
+
+    @Test
+    void mustRejectAnEmptyLookupWhenCalled() {
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.getUsersByDocuments(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.getUsersByDocuments(null));
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.getUsersByDocuments(Arrays.<Long>asList(null, null)));
+        verify(userRepository, never()).getUsersByDocuments(any());
+    }
+
+    @Test
+    void mustCapTheLookupAtTheMaximumDistinctDocuments() {
+        when(userRepository.getUsersByDocuments(any())).thenReturn(Flux.empty());
+        List<Long> maximum = documents(UserUseCase.MAX_LOOKUP_SIZE);
+        List<Long> tooMany = documents(UserUseCase.MAX_LOOKUP_SIZE + 1);
+
+        StepVerifier.create(userUseCase.getUsersByDocuments(maximum))
+                .expectNextCount(UserUseCase.MAX_LOOKUP_SIZE)
+                .verifyComplete();
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.getUsersByDocuments(tooMany));
+        // Repeats do not count against the cap
+        List<Long> repeated = LongStream.range(0, UserUseCase.MAX_LOOKUP_SIZE * 2L).map(index -> index % 10)
+                .boxed().collect(Collectors.toList());
+        StepVerifier.create(userUseCase.getUsersByDocuments(repeated))
+                .expectNextCount(10)
+                .verifyComplete();
+    }
+
+    @Test
+    void mustAnswerARetryUnderTheSameKeyWithTheStoredUser() {
+        User stored = user(1L);
+        when(idempotencyStore.execute(eq("key"), any())).thenReturn(Mono.just(stored));
+
+        StepVerifier.create(userUseCase.saveUser(user(1L), "key")).expectNext(stored).verifyComplete();
+    }
+
+    @Test
+    void mustRejectAKeyReusedWithADifferentPayload() {
+        when(idempotencyStore.execute(eq("key"), any())).thenReturn(Mono.just(user(1L)));
+        User sameDocumentOtherEmail = User.builder()
+                .document(1L)
+                .name("Ana")
+                .lastName("Gomez")
+                .email("other@example.com")
+                .build();
+
+        StepVerifier.create(userUseCase.saveUser(sameDocumentOtherEmail, "key"))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+        StepVerifier.create(userUseCase.saveUser(user(2L), "key"))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+    }
+
+    @Test
+    void mustRejectABlankOrOverlongKeyWhenCalled() {
+        String longest = "k".repeat(UserUseCase.MAX_IDEMPOTENCY_KEY_LENGTH);
+        when(idempotencyStore.execute(eq(longest), any())).thenReturn(Mono.just(user(1L)));
+
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.saveUser(user(1L), " "));
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.saveUser(user(1L), longest + "k"));
+        StepVerifier.create(userUseCase.saveUser(user(1L), longest)).expectNextCount(1).verifyComplete();
+        verify(userRepository, never()).saveUser(any());
+    }
+
+    @Test
+    void mustRejectANameSearchTooShortForTheTrigramIndex() {
+        UserSearchCriteria tooShort = UserSearchCriteria.builder().nameContains("  an ").build();
+
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.searchUsers(tooShort));
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.streamSearch(tooShort));
+        verify(userRepository, never()).searchUsers(any());
+    }
+
+    @Test
+    void mustRejectEmptyRangesButAcceptSingleValueOnes() {
+        when(userRepository.searchUsers(any())).thenReturn(Flux.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.searchUsers(UserSearchCriteria.builder()
+                .minSalary(2000L)
+                .maxSalary(1000L)
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> userUseCase.searchUsers(UserSearchCriteria.builder()
+                .bornFrom(LocalDate.of(1990, 1, 2))
+                .bornTo(LocalDate.of(1990, 1, 1))
+                .build()));
+        StepVerifier.create(userUseCase.searchUsers(UserSearchCriteria.builder()
+                        .minSalary(1000L)
+                        .maxSalary(1000L)
+                        .bornFrom(LocalDate.of(1990, 1, 1))
+                        .bornTo(LocalDate.of(1990, 1, 1))
+                        .build()))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void mustSearchWithTrimmedFiltersAndOneRowPastThePage() {
+        when(userRepository.searchUsers(any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(userUseCase.searchUsers(UserSearchCriteria.builder()
+                        .nameContains(" ana ")
+                        .email(" ")
+                        .build()))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(userRepository).searchUsers(argThat(criteria -> "ana".equals(criteria.getNameContains())
+                && criteria.getEmail() == null
+                && criteria.getLimit() == UserUseCase.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    private static List<Long> documents(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+
+    private static User user(long document) {
+        return User.builder()
+                .document(document)
+                .name("Ana")
+                .lastName("Gomez")
+                .email("ana" + document + "@example.com")
+                .build();
+    }
+}
@@ -1,14 +1,45 @@
 package co.com.pragma.r2dbc;
 
-import co.com.pragma.model.user.User;
 import co.com.pragma.r2dbc.entity.UserEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
-
-import java.math.BigInteger;
-import java.util.Optional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 // TODO: This file is just an example, you should delete or modify it
 public interface MyReactiveRepository extends ReactiveCrudRepository<UserEntity, Long>, ReactiveQueryByExampleExecutor<UserEntity> {
 
+    /*
+     * The columns the domain reads. The surrogate id is left out on purpose.
+     */
+    String COLUMNS = "name, last_name, document, email, salary, birth_date, version, updated_at";
+
+    /*
+     * Lookups by the business key. The primary key is a surrogate id the domain
+     * never sees, so everything outside this adapter addresses users by document.
+     */
+
+    Mono<UserEntity> findByDocument(Long document);
+
+    Mono<Integer> deleteByDocument(Long document);
+
+    /*
+     * Keyset (seek) pagination over the unique document index: every page is a
+     * bounded range scan, no matter how deep the client has paged.
+     */
+
+    @Query("SELECT " + COLUMNS + " FROM users ORDER BY document ASC LIMIT :limit")
+    Flux<UserEntity> findFirstPageAsc(@Param("limit") int limit);
+
+    @Query("SELECT " + COLUMNS + " FROM users ORDER BY document DESC LIMIT :limit")
+    Flux<UserEntity> findFirstPageDesc(@Param("limit") int limit);
+
+    @Query("SELECT " + COLUMNS + " FROM users WHERE document > :after ORDER BY document ASC LIMIT :limit")
+    Flux<UserEntity> findPageAfterAsc(@Param("after") Long after, @Param("limit") int limit);
+
+    @Query("SELECT " + COLUMNS + " FROM users WHERE document < :after ORDER BY document DESC LIMIT :limit")
+    Flux<UserEntity> findPageAfterDesc(@Param("after") Long after, @Param("limit") int limit);
+
 }
@@ -1,53 +1,293 @@
 package co.com.pragma.r2dbc;
 
+import co.com.pragma.model.user.SortDirection;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserAlreadyExistsException;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.model.user.UserPageRequest;
+import co.com.pragma.model.user.UserSaveResult;
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.model.user.UserVersion;
 import co.com.pragma.model.user.gateways.UserRepository;
+import co.com.pragma.r2dbc.batch.UserLookupBatcher;
+import co.com.pragma.r2dbc.bulk.UserBulkInserter;
+import co.com.pragma.r2dbc.config.UserBatchProperties;
+import co.com.pragma.r2dbc.config.UserExportProperties;
 import co.com.pragma.r2dbc.entity.UserEntity;
 import co.com.pragma.r2dbc.helper.ReactiveAdapterOperations;
-import org.reactivecommons.utils.ObjectMapper;
+import co.com.pragma.r2dbc.mapper.UserEntityMapper;
+import co.com.pragma.r2dbc.routing.ReadRouting;
+import co.com.pragma.r2dbc.search.UserSearchQuery;
+import co.com.pragma.r2dbc.update.UserUpdater;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Repository
 public class MyReactiveRepositoryAdapter extends ReactiveAdapterOperations<
     User/* change for domain model */, UserEntity/* change for adapter model */, Long, MyReactiveRepository
 > implements UserRepository {
-    public MyReactiveRepositoryAdapter(MyReactiveRepository repository, ObjectMapper mapper) {
-        /**
-         *  Could be use mapper.mapBuilder if your domain model implement builder pattern
-         *  super(repository, mapper, d -> mapper.mapBuilder(d,ObjectModel.ObjectModelBuilder.class).build());
-         *  Or using mapper.map with the class of the object model
-         */
-        super(repository, mapper, d -> mapper.map(d, User.class/* change for domain model */));
+    private static final String EXPORT_QUERY =
+            "SELECT " + MyReactiveRepository.COLUMNS + " FROM users ORDER BY document";
+    private static final String LOOKUP_QUERY =
+            "SELECT " + MyReactiveRepository.COLUMNS + " FROM users WHERE document = ANY($1)";
+    // Only the validators: one users_document_key probe, no user to decode
+    private static final String VERSION_QUERY =
+            "SELECT document, version, updated_at FROM users WHERE document = $1";
+    /*
+     * Inserts, or skips on any unique conflict, and in the same statement reads back the row
+     * holding the document when nothing was inserted: a retried creation is answered without
+     * a failed insert and a second query.
+     */
+    private static final String INSERT_QUERY = """
+            WITH inserted AS (
+                INSERT INTO users (name, last_name, document, email, salary, birth_date)
+                VALUES ($1, $2, $3, $4, $5, $6)
+                ON CONFLICT DO NOTHING
+                RETURNING %1$s
+            )
+            SELECT %1$s, TRUE AS created FROM inserted
+            UNION ALL
+            SELECT %1$s, FALSE FROM users WHERE document = $3 AND NOT EXISTS (SELECT 1 FROM inserted)"""
+            .formatted(MyReactiveRepository.COLUMNS);
+    private static final String COLLISION_QUERY =
+            "SELECT " + MyReactiveRepository.COLUMNS + " FROM users WHERE document = $1 OR email = $2";
+
+    private final R2dbcEntityTemplate template;
+    private final UserExportProperties exportProperties;
+    private final UserBulkInserter bulkInserter;
+    private final UserUpdater updater;
+    private final UserLookupBatcher lookupBatcher;
+
+    public MyReactiveRepositoryAdapter(MyReactiveRepository repository, UserEntityMapper entityMapper,
+                                       R2dbcEntityTemplate template, UserExportProperties exportProperties,
+                                       UserBulkInserter bulkInserter, UserUpdater updater,
+                                       UserBatchProperties batchProperties) {
+        super(repository, entityMapper::toData, entityMapper::toDomain);
+        this.template = template;
+        this.exportProperties = exportProperties;
+        this.bulkInserter = bulkInserter;
+        this.updater = updater;
+        this.lookupBatcher = batchProperties.enabled()
+                ? new UserLookupBatcher(this::getUsersByDocuments, batchProperties.window(),
+                        batchProperties.maxBatchSize(), Schedulers.parallel())
+                : null;
     }
 
+    /**
+     * Streams the whole table from a server side cursor: the driver fetches
+     * {@code fetchSize} rows per round trip and only asks for more when the
+     * subscriber (ultimately the HTTP connection) has demand, so an export never
+     * buffers the result set nor holds more than one pooled connection.
+     */
     @Override
     public Flux<User> getUsers() {
-        return super.findAll();
+        return ReadRouting.readOnly(template.getDatabaseClient()
+                .sql(EXPORT_QUERY)
+                .filter(statement -> statement.fetchSize(exportProperties.fetchSize()))
+                .map(this::readEntity)
+                .all()
+                .limitRate(exportProperties.prefetch())
+                .map(this::toEntity));
+    }
+
+    @Override
+    public Mono<UserPage> getUsersPage(UserPageRequest request) {
+        int limit = request.getLimit();
+        // One extra row tells us whether there is a next page without a COUNT query
+        return ReadRouting.readOnly(findPage(request, limit + 1)
+                .map(this::toEntity)
+                .collectList()
+                .map(users -> UserPage.of(users, limit)));
     }
 
     @Override
     public Mono<User> getUserByDocument(Long document) {
-        return super.findById(document);
+        if (lookupBatcher != null && document != null) {
+            return lookupBatcher.load(document);
+        }
+        return findByDocument(document);
+    }
+
+    @Override
+    public Mono<UserVersion> getUserVersion(Long document) {
+        return ReadRouting.readOnly(template.getDatabaseClient()
+                .sql(VERSION_QUERY)
+                .bind(0, document)
+                .map((row, metadata) -> UserVersion.builder()
+                        .document(row.get("document", Long.class))
+                        .version(row.get("version", Long.class))
+                        .updatedAt(row.get("updated_at", Instant.class))
+                        .build())
+                .one(), document);
     }
 
+    /**
+     * One query and one pooled connection for the whole batch, whatever its size:
+     * the documents travel as a single array parameter.
+     */
+    @Override
+    public Flux<User> getUsersByDocuments(Collection<Long> documents) {
+        if (documents.isEmpty()) {
+            return Flux.empty();
+        }
+        Long[] keys = documents.toArray(Long[]::new);
+        return ReadRouting.readOnly(template.getDatabaseClient()
+                .sql(LOOKUP_QUERY)
+                .bind(0, keys)
+                .map(this::readEntity)
+                .all()
+                .map(this::toEntity), (Object[]) keys);
+    }
+
+    /**
+     * A bounded search is read in one go. An unbounded one streams from a server side
+     * cursor with the export's fetch size, so a broad filter is paced by the subscriber
+     * just like a full export.
+     */
+    @Override
+    public Flux<User> searchUsers(UserSearchCriteria criteria) {
+        UserSearchQuery query = UserSearchQuery.of(criteria);
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(query.sql());
+        List<Object> bindings = query.bindings();
+        for (int index = 0; index < bindings.size(); index++) {
+            spec = spec.bind(index, bindings.get(index));
+        }
+        Flux<UserEntity> rows;
+        if (criteria.getLimit() > 0) {
+            rows = spec.map(this::readEntity).all();
+        } else {
+            rows = spec.filter(statement -> statement.fetchSize(exportProperties.fetchSize()))
+                    .map(this::readEntity)
+                    .all()
+                    .limitRate(exportProperties.prefetch());
+        }
+        return ReadRouting.readOnly(rows.map(this::toEntity));
+    }
 
     @Override
     public Mono<User> editUser(User user) {
-        return null;
+        return ReadRouting.writing(updater.update(user), user.getDocument()).map(this::toEntity);
+    }
+
+    /**
+     * Answers with the stored user when it already holds exactly these values (the retry of
+     * a creation that went through), and fails with {@link UserAlreadyExistsException},
+     * naming the key that collided, when the document or the email belongs to a different
+     * user.
+     */
+    @Override
+    public Mono<User> saveUser(User user) {
+        return ReadRouting.writing(insert(user)
+                        .switchIfEmpty(Mono.defer(() -> collision(user)))
+                        .switchIfEmpty(Mono.defer(() -> insert(user)))
+                        .switchIfEmpty(Mono.error(() -> new UserAlreadyExistsException(user.getDocument(),
+                                UserAlreadyExistsException.Key.DOCUMENT))), user.getDocument())
+                .map(this::toEntity);
     }
 
     @Override
-    public Mono<User> saveUser(User task) {
-        return super.save(task);
+    public Flux<UserSaveResult> saveUsers(Flux<User> users) {
+        return bulkInserter.insert(users);
     }
 
     @Override
     public Mono<Void> deleteUser(Long document) {
-        return repository.deleteById(document);
+        return ReadRouting.writing(repository.deleteByDocument(document), document).then();
+    }
+
+    /**
+     * The stored user, or nothing when the insert skipped the row and its snapshot shows no
+     * user under the document.
+     */
+    private Mono<UserEntity> insert(User user) {
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(INSERT_QUERY);
+        spec = bind(spec, 0, user.getName(), String.class);
+        spec = bind(spec, 1, user.getLastName(), String.class);
+        spec = bind(spec, 2, user.getDocument(), Long.class);
+        spec = bind(spec, 3, user.getEmail(), String.class);
+        spec = bind(spec, 4, user.getSalary(), Long.class);
+        spec = bind(spec, 5, user.getBirthDate(), LocalDate.class);
+        return spec.map((row, metadata) -> new Insert(readEntity(row, metadata),
+                        Boolean.TRUE.equals(row.get("created", Boolean.class))))
+                .one()
+                .flatMap(insert -> insert.created() || sameValues(user, insert.stored())
+                        ? Mono.just(insert.stored())
+                        : Mono.error(new UserAlreadyExistsException(user.getDocument(),
+                                UserAlreadyExistsException.Key.DOCUMENT)));
+    }
+
+    /*
+     * The insert's snapshot predates a row committed while it waited on the unique index, so
+     * a concurrent creation of the same user is invisible to it; an email collision leaves
+     * no row under the document at all. A fresh statement sees both. Nothing found means the
+     * colliding row was deleted meanwhile, and the insert is worth one more try.
+     */
+    private Mono<UserEntity> collision(User user) {
+        return bind(template.getDatabaseClient().sql(COLLISION_QUERY).bind(0, user.getDocument()),
+                1, user.getEmail(), String.class)
+                .map(this::readEntity)
+                .all()
+                .collectList()
+                .flatMap(stored -> {
+                    Optional<UserEntity> sameDocument = stored.stream()
+                            .filter(entity -> user.getDocument().equals(entity.getDocument()))
+                            .findFirst();
+                    if (sameDocument.isPresent()) {
+                        return sameValues(user, sameDocument.get())
+                                ? Mono.just(sameDocument.get())
+                                : Mono.error(new UserAlreadyExistsException(user.getDocument(),
+                                        UserAlreadyExistsException.Key.DOCUMENT));
+                    }
+                    return stored.isEmpty()
+                            ? Mono.empty()
+                            : Mono.error(new UserAlreadyExistsException(user.getDocument(),
+                                    UserAlreadyExistsException.Key.EMAIL));
+                });
+    }
+
+    private Mono<User> findByDocument(Long document) {
+        return ReadRouting.readOnly(repository.findByDocument(document).map(this::toEntity), document);
+    }
+
+    private static boolean sameValues(User user, UserEntity stored) {
+        return Objects.equals(user.getName(), stored.getName())
+                && Objects.equals(user.getLastName(), stored.getLastName())
+                && Objects.equals(user.getEmail(), stored.getEmail())
+                && Objects.equals(user.getSalary(), stored.getSalary())
+                && Objects.equals(user.getBirthDate(), stored.getBirthDate());
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, int index,
+                                                              T value, Class<T> type) {
+        return value != null ? spec.bind(index, value) : spec.bindNull(index, type);
+    }
+
+    private UserEntity readEntity(Row row, RowMetadata metadata) {
+        return template.getConverter().read(UserEntity.class, row, metadata);
+    }
+
+    private Flux<UserEntity> findPage(UserPageRequest request, int rows) {
+        boolean descending = request.getSort() == SortDirection.DESC;
+        if (request.getAfterDocument() == null) {
+            return descending ? repository.findFirstPageDesc(rows) : repository.findFirstPageAsc(rows);
+        }
+        Long after = request.getAfterDocument();
+        return descending ? repository.findPageAfterDesc(after, rows) : repository.findPageAfterAsc(after, rows);
+    }
+
+    private record Insert(UserEntity stored, boolean created) {
     }
 }
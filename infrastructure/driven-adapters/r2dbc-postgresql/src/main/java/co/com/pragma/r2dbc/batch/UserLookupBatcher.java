@@ -0,0 +1,98 @@
+package co.com.pragma.r2dbc.batch;
+
+import co.com.pragma.model.user.User;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces single-document lookups into batched queries, DataLoader style.
+ * <p>
+ * The first lookup opens a batch and starts a {@code window} timer. Lookups arriving before
+ * it fires join the batch; the batch is sent early once it holds {@code maxBatchSize}
+ * distinct documents. One batched query then serves every waiting {@link Mono}, and
+ * callers asking for the same document share its row. Under load N pool acquisitions
+ * become one, at the cost of at most {@code window} extra latency when idle.
+ */
+public class UserLookupBatcher {
+
+    private final Function<Collection<Long>, Flux<User>> batchLookup;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+
+    private final Object lock = new Object();
+    private Batch current;
+
+    public UserLookupBatcher(Function<Collection<Long>, Flux<User>> batchLookup, Duration window,
+                             int maxBatchSize, Scheduler scheduler) {
+        this.batchLookup = batchLookup;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+    }
+
+    public Mono<User> load(Long document) {
+        return Mono.create(sink -> {
+            Batch full = null;
+            synchronized (lock) {
+                if (current == null) {
+                    Batch opened = new Batch();
+                    current = opened;
+                    opened.timer = scheduler.schedule(() -> flush(opened), windowNanos, TimeUnit.NANOSECONDS);
+                }
+                current.waiters.computeIfAbsent(document, key -> new ArrayList<>(1)).add(sink);
+                if (current.waiters.size() >= maxBatchSize) {
+                    full = current;
+                    current = null;
+                }
+            }
+            if (full != null) {
+                full.timer.dispose();
+                execute(full);
+            }
+        });
+    }
+
+    private void flush(Batch batch) {
+        synchronized (lock) {
+            // Already sent because it filled up before the window ended
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        }
+        execute(batch);
+    }
+
+    private void execute(Batch batch) {
+        batchLookup.apply(batch.waiters.keySet())
+                .collectMap(User::getDocument)
+                .subscribe(users -> batch.waiters.forEach((document, sinks) -> {
+                    User user = users.get(document);
+                    for (MonoSink<User> sink : sinks) {
+                        if (user != null) {
+                            sink.success(user);
+                        } else {
+                            sink.success();
+                        }
+                    }
+                }), error -> batch.waiters.values().forEach(sinks -> sinks.forEach(sink -> sink.error(error))));
+    }
+
+    private static final class Batch {
+        private final Map<Long, List<MonoSink<User>>> waiters = new LinkedHashMap<>();
+        private Disposable timer;
+    }
+}
@@ -0,0 +1,153 @@
+package co.com.pragma.r2dbc.bulk;
+
+import co.com.pragma.model.common.Logger;
+import co.com.pragma.model.common.LoggerFactory;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserSaveResult;
+import co.com.pragma.model.user.UserSaveStatus;
+import co.com.pragma.r2dbc.config.UserBulkProperties;
+import co.com.pragma.r2dbc.routing.ReadRouting;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Writes large user loads with one multi-row {@code INSERT ... ON CONFLICT DO NOTHING}
+ * per chunk instead of one round trip per user.
+ * <p>
+ * Rows skipped by the conflict clause are reported as duplicates. If a chunk fails
+ * as a whole (bad data rather than a conflict) it is retried row by row, so only the
+ * offending rows are reported as failed and the rest of the load goes through. A failed
+ * row carries a fixed reason: the driver's message, with its SQL and constraint names,
+ * is only logged.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBulkInserter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO users (name, last_name, document, email, salary, birth_date) VALUES ";
+    private static final String INSERT_SUFFIX = " ON CONFLICT DO NOTHING RETURNING document";
+    private static final int COLUMNS = 6;
+    static final String MISSING_DOCUMENT = "document is required";
+    static final String INVALID_USER = "invalid user data";
+    static final String NOT_STORED = "user could not be stored";
+
+    private static final Logger logger = LoggerFactory.getLoggerFor(UserBulkInserter.class);
+
+    private final DatabaseClient databaseClient;
+    private final UserBulkProperties properties;
+
+    public Flux<UserSaveResult> insert(Flux<User> users) {
+        return users.index()
+                .buffer(properties.chunkSize())
+                .flatMapSequential(this::insertChunk, properties.concurrency());
+    }
+
+    private Flux<UserSaveResult> insertChunk(List<Tuple2<Long, User>> chunk) {
+        List<Tuple2<Long, User>> rows = chunk.stream()
+                .filter(row -> row.getT2().getDocument() != null)
+                .toList();
+        return insertRows(rows)
+                .map(saved -> chunk.stream()
+                        .map(row -> saved.getOrDefault(row.getT1(),
+                                result(row, UserSaveStatus.FAILED, MISSING_DOCUMENT)))
+                        .toList())
+                .flatMapIterable(Function.identity());
+    }
+
+    private Mono<Map<Long, UserSaveResult>> insertRows(List<Tuple2<Long, User>> rows) {
+        if (rows.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return executeInsert(rows)
+                .collectList()
+                .map(inserted -> classify(rows, new HashSet<>(inserted)))
+                .onErrorResume(error -> rows.size() == 1
+                        ? Mono.fromSupplier(() -> failed(rows.get(0), error))
+                        : isolate(rows));
+    }
+
+    private static Map<Long, UserSaveResult> failed(Tuple2<Long, User> row, Throwable error) {
+        logger.warn("Bulk load could not store the user at index " + row.getT1()
+                + " with document " + row.getT2().getDocument(), error);
+        // A constraint the row breaks (null or oversized column) is the client's to fix
+        String reason = error instanceof DataIntegrityViolationException ? INVALID_USER : NOT_STORED;
+        return Map.of(row.getT1(), result(row, UserSaveStatus.FAILED, reason));
+    }
+
+    private Mono<Map<Long, UserSaveResult>> isolate(List<Tuple2<Long, User>> rows) {
+        return Flux.fromIterable(rows)
+                .concatMap(row -> insertRows(List.of(row)))
+                .flatMapIterable(Map::entrySet)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Flux<Long> executeInsert(List<Tuple2<Long, User>> rows) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(insertSql(rows.size()));
+        int index = 0;
+        for (Tuple2<Long, User> row : rows) {
+            User user = row.getT2();
+            spec = bind(spec, index++, user.getName(), String.class);
+            spec = bind(spec, index++, user.getLastName(), String.class);
+            spec = bind(spec, index++, user.getDocument(), Long.class);
+            spec = bind(spec, index++, user.getEmail(), String.class);
+            spec = bind(spec, index++, user.getSalary(), Long.class);
+            spec = bind(spec, index++, user.getBirthDate(), LocalDate.class);
+        }
+        Object[] documents = rows.stream().map(row -> row.getT2().getDocument()).toArray();
+        return ReadRouting.writing(spec.map((row, metadata) -> row.get("document", Long.class)).all(), documents);
+    }
+
+    private static Map<Long, UserSaveResult> classify(List<Tuple2<Long, User>> rows, Set<Long> inserted) {
+        Map<Long, UserSaveResult> results = new HashMap<>(rows.size() * 2);
+        for (Tuple2<Long, User> row : rows) {
+            // remove() so a document repeated inside the chunk is only reported once as created
+            boolean created = inserted.remove(row.getT2().getDocument());
+            results.put(row.getT1(), created
+                    ? result(row, UserSaveStatus.CREATED, null)
+                    : result(row, UserSaveStatus.DUPLICATE, "document or email already registered"));
+        }
+        return results;
+    }
+
+    private static UserSaveResult result(Tuple2<Long, User> row, UserSaveStatus status, String message) {
+        return UserSaveResult.builder()
+                .index(row.getT1())
+                .document(row.getT2().getDocument())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, int index,
+                                                              T value, Class<T> type) {
+        return value != null ? spec.bind(index, value) : spec.bindNull(index, type);
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + INSERT_SUFFIX.length() + rows * 40)
+                .append(INSERT_PREFIX);
+        int marker = 1;
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ", (");
+            for (int column = 0; column < COLUMNS; column++) {
+                sql.append(column == 0 ? "$" : ", $").append(marker++);
+            }
+            sql.append(')');
+        }
+        return sql.append(INSERT_SUFFIX).toString();
+    }
+}
@@ -0,0 +1,146 @@
+package co.com.pragma.r2dbc.cache;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.model.user.UserPageRequest;
+import co.com.pragma.model.user.UserSaveResult;
+import co.com.pragma.model.user.UserSaveStatus;
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.model.user.UserVersion;
+import co.com.pragma.model.user.gateways.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-through caching decorator for the {@link UserRepository} gateway.
+ * <p>
+ * Lookups by document are served from a Caffeine {@link AsyncCache} (size bounded,
+ * W-TinyLFU eviction, TTL). Because the cache stores the in-flight future, concurrent
+ * misses for the same document share a single database call. Every mutation
+ * invalidates the affected document once the write has finished, which drops a load
+ * this instance started before the write along with any value it held.
+ * <p>
+ * That is all the invalidation covers. Another instance's cache keeps its copy, and
+ * a miss served by a replica that has not replayed the write yet caches the old row;
+ * the read routing only keeps a document on the primary for a short window after
+ * this instance wrote it. A cached user can therefore be stale for up to the TTL
+ * ({@code adapters.r2dbc.cache.ttl}), which bounds how long a change may go unseen.
+ */
+public class CachedUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final AsyncCache<Long, User> cache;
+
+    public CachedUserRepository(UserRepository delegate, AsyncCache<Long, User> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Flux<User> getUsers() {
+        return delegate.getUsers();
+    }
+
+    @Override
+    public Mono<UserPage> getUsersPage(UserPageRequest request) {
+        return delegate.getUsersPage(request);
+    }
+
+    @Override
+    public Mono<User> getUserByDocument(Long document) {
+        if (document == null) {
+            return delegate.getUserByDocument(null);
+        }
+        // Cancelling one subscriber must not cancel the load other callers are waiting on
+        return Mono.fromFuture(() -> cache.get(document,
+                (key, executor) -> delegate.getUserByDocument(key).toFuture()), true);
+    }
+
+    /**
+     * Answered from a cached user when there is one, so a conditional GET for a hot user
+     * never reaches the database; otherwise delegated without populating the cache.
+     */
+    @Override
+    public Mono<UserVersion> getUserVersion(Long document) {
+        return Mono.defer(() -> {
+            User user = cachedValue(document);
+            return user != null ? Mono.just(UserVersion.of(user)) : delegate.getUserVersion(document);
+        });
+    }
+
+    /**
+     * Serves the documents already cached and sends only the rest to the delegate in one batch.
+     * Batch results are not written back: a batch read racing a write on this instance
+     * could otherwise cache the row the write has just replaced, for a whole TTL.
+     */
+    @Override
+    public Flux<User> getUsersByDocuments(Collection<Long> documents) {
+        return Flux.defer(() -> {
+            List<User> cached = new ArrayList<>();
+            List<Long> missing = new ArrayList<>();
+            for (Long document : documents) {
+                User user = cachedValue(document);
+                if (user != null) {
+                    cached.add(user);
+                } else {
+                    missing.add(document);
+                }
+            }
+            Flux<User> loaded = missing.isEmpty() ? Flux.empty() : delegate.getUsersByDocuments(missing);
+            return Flux.fromIterable(cached).concatWith(loaded);
+        });
+    }
+
+    @Override
+    public Flux<User> searchUsers(UserSearchCriteria criteria) {
+        return delegate.searchUsers(criteria);
+    }
+
+    @Override
+    public Mono<User> editUser(User user) {
+        return delegate.editUser(user)
+                .doFinally(signal -> invalidate(user.getDocument()));
+    }
+
+    @Override
+    public Mono<User> saveUser(User user) {
+        return delegate.saveUser(user)
+                .doFinally(signal -> invalidate(user.getDocument()));
+    }
+
+    @Override
+    public Flux<UserSaveResult> saveUsers(Flux<User> users) {
+        return delegate.saveUsers(users)
+                .doOnNext(result -> {
+                    if (result.getStatus() == UserSaveStatus.CREATED) {
+                        invalidate(result.getDocument());
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteUser(Long document) {
+        return delegate.deleteUser(document)
+                .doFinally(signal -> invalidate(document));
+    }
+
+    private User cachedValue(Long document) {
+        CompletableFuture<User> future = document != null ? cache.getIfPresent(document) : null;
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.getNow(null);
+    }
+
+    private void invalidate(Long document) {
+        if (document != null) {
+            cache.synchronous().invalidate(document);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package co.com.pragma.r2dbc.cache;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.gateways.UserRepository;
+import co.com.pragma.r2dbc.MyReactiveRepositoryAdapter;
+import co.com.pragma.r2dbc.config.UserCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserCacheConfig {
+
+    public static final String CACHE_NAME = "users";
+
+    @Bean
+    public AsyncCache<Long, User> userCache(UserCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        AsyncCache<Long, User> cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync();
+        // Publishes cache.gets{result=hit|miss}, cache.evictions, cache.size... on /actuator/prometheus
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache.synchronous(), CACHE_NAME));
+        return cache;
+    }
+
+    @Bean
+    @Primary
+    public UserRepository cachedUserRepository(MyReactiveRepositoryAdapter adapter, AsyncCache<Long, User> userCache) {
+        return new CachedUserRepository(adapter, userCache);
+    }
+}
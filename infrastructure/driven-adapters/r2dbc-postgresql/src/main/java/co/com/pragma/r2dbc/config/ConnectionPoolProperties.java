@@ -0,0 +1,80 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool settings. Sizes default from the available cores so the same build
+ * neither starves on a large host nor oversubscribes the database from a small one.
+ * <p>
+ * {@code validation} is {@code PING} (a protocol round trip, nothing to parse or plan) or
+ * {@code QUERY} (runs {@code validationQuery}). With {@code adaptive.enabled} the maximum
+ * size starts at {@code maxSize} and moves up to {@code adaptive.maxSize} while the mean
+ * acquire wait stays above {@code adaptive.targetAcquireWait}, and back down when it is
+ * well below it.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.pool")
+public record ConnectionPoolProperties(
+        Integer initialSize,
+        Integer maxSize,
+        Duration maxIdleTime,
+        Duration maxLifeTime,
+        Duration maxAcquireTime,
+        Validation validation,
+        String validationQuery,
+        Adaptive adaptive) {
+
+    public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_MAX_LIFE_TIME = Duration.ofHours(1);
+    public static final Duration DEFAULT_MAX_ACQUIRE_TIME = Duration.ofSeconds(5);
+    public static final String DEFAULT_VALIDATION_QUERY = "SELECT 1";
+
+    public enum Validation { PING, QUERY }
+
+    public ConnectionPoolProperties {
+        int cores = Runtime.getRuntime().availableProcessors();
+        maxSize = maxSize == null || maxSize <= 0 ? Math.max(4, cores * 2) : maxSize;
+        initialSize = initialSize == null || initialSize < 0 ? Math.min(cores, maxSize) : initialSize;
+        maxIdleTime = positiveOr(maxIdleTime, DEFAULT_MAX_IDLE_TIME);
+        maxLifeTime = positiveOr(maxLifeTime, DEFAULT_MAX_LIFE_TIME);
+        maxAcquireTime = positiveOr(maxAcquireTime, DEFAULT_MAX_ACQUIRE_TIME);
+        validation = validation == null ? Validation.PING : validation;
+        validationQuery = validationQuery == null || validationQuery.isBlank() ? DEFAULT_VALIDATION_QUERY : validationQuery;
+        adaptive = adaptive == null ? new Adaptive(null, null, null, null) : adaptive;
+        if (initialSize > maxSize) {
+            throw new IllegalArgumentException("adapters.r2dbc.pool.initial-size must not exceed max-size");
+        }
+        if (adaptive.enabled() && adaptive.maxSize() != null && adaptive.maxSize() < maxSize) {
+            throw new IllegalArgumentException("adapters.r2dbc.pool.adaptive.max-size must be at least max-size");
+        }
+    }
+
+    /**
+     * Ceiling for the adaptive maximum, twice {@code maxSize} unless configured.
+     */
+    public int adaptiveMaxSize() {
+        return adaptive.maxSize() != null ? adaptive.maxSize() : maxSize * 2;
+    }
+
+    public record Adaptive(
+            Boolean enabled,
+            Integer maxSize,
+            Duration targetAcquireWait,
+            Duration interval) {
+
+        public static final Duration DEFAULT_TARGET_ACQUIRE_WAIT = Duration.ofMillis(10);
+        public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+
+        public Adaptive {
+            enabled = enabled != null && enabled;
+            maxSize = maxSize == null || maxSize <= 0 ? null : maxSize;
+            targetAcquireWait = positiveOr(targetAcquireWait, DEFAULT_TARGET_ACQUIRE_WAIT);
+            interval = positiveOr(interval, DEFAULT_INTERVAL);
+        }
+    }
+
+    private static Duration positiveOr(Duration value, Duration defaultValue) {
+        return value == null || value.isNegative() || value.isZero() ? defaultValue : value;
+    }
+}
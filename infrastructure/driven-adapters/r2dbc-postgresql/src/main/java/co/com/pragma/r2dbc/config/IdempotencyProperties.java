@@ -0,0 +1,23 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retention of the outcomes remembered per {@code Idempotency-Key}. The key only protects
+ * retries arriving within the ttl, so it should outlast the clients' retry policy.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.idempotency")
+public record IdempotencyProperties(
+        Long maximumSize,
+        Duration ttl) {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    public IdempotencyProperties {
+        maximumSize = maximumSize == null || maximumSize <= 0 ? DEFAULT_MAXIMUM_SIZE : maximumSize;
+        ttl = ttl == null || ttl.isNegative() || ttl.isZero() ? DEFAULT_TTL : ttl;
+    }
+}
@@ -0,0 +1,26 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.r2dbc.mapper.GeneratedUserEntityMapper;
+import co.com.pragma.r2dbc.mapper.ReflectiveUserEntityMapper;
+import co.com.pragma.r2dbc.mapper.UserEntityMapper;
+import org.mapstruct.factory.Mappers;
+import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MappingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mapping.strategy", havingValue = "generated", matchIfMissing = true)
+    public UserEntityMapper generatedUserEntityMapper() {
+        return Mappers.getMapper(GeneratedUserEntityMapper.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mapping.strategy", havingValue = "reflective")
+    public UserEntityMapper reflectiveUserEntityMapper(ObjectMapper mapper) {
+        return new ReflectiveUserEntityMapper(mapper);
+    }
+}
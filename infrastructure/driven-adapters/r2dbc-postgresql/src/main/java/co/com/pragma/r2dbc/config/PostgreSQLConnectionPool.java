@@ -1,41 +1,97 @@
 package co.com.pragma.r2dbc.config;
 
+import co.com.pragma.r2dbc.pool.AdaptiveAllocationStrategy;
+import co.com.pragma.r2dbc.pool.AdaptivePoolSizer;
+import co.com.pragma.r2dbc.pool.InstrumentedConnectionPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import java.time.Duration;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 @Configuration
 public class PostgreSQLConnectionPool {
-    /* Change these values for your project */
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
+
+    public static final String POOL_NAME = "api-postgres-connection-pool";
 
     @Bean
-    public ConnectionPool getConnectionConfig(PostgresqlConnectionProperties properties) {
-        PostgresqlConnectionConfiguration dbConfiguration = PostgresqlConnectionConfiguration.builder()
+    public InstrumentedConnectionPool connectionFactory(PostgresqlConnectionProperties properties,
+                                                        ConnectionPoolProperties poolProperties,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        return instrumentedPool(POOL_NAME, properties, poolProperties, meterRegistry.getIfAvailable());
+    }
+
+    public static InstrumentedConnectionPool instrumentedPool(String name, PostgresqlConnectionProperties properties,
+                                                              ConnectionPoolProperties poolProperties,
+                                                              MeterRegistry meterRegistry) {
+        Timer acquireTimer = meterRegistry == null ? null : Timer.builder("r2dbc.pool.acquire")
+                .description("Time to acquire a connection from the pool")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (!poolProperties.adaptive().enabled()) {
+            return new InstrumentedConnectionPool(connectionPool(name, properties, poolProperties, null),
+                    acquireTimer, null, null);
+        }
+        AdaptiveAllocationStrategy allocation =
+                new AdaptiveAllocationStrategy(poolProperties.initialSize(), poolProperties.maxSize());
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(allocation, poolProperties.maxSize(),
+                poolProperties.adaptiveMaxSize(), poolProperties.adaptive().targetAcquireWait());
+        Disposable sizing = Flux.interval(poolProperties.adaptive().interval(), Schedulers.parallel())
+                .subscribe(tick -> sizer.adjust());
+        if (meterRegistry != null) {
+            meterRegistry.gauge("r2dbc.pool.adaptive.max", Tags.of("name", name),
+                    allocation, AdaptiveAllocationStrategy::permitMaximum);
+        }
+        return new InstrumentedConnectionPool(connectionPool(name, properties, poolProperties, allocation),
+                acquireTimer, sizer, sizing);
+    }
+
+    private static ConnectionPool connectionPool(String name, PostgresqlConnectionProperties properties,
+                                                 ConnectionPoolProperties poolProperties,
+                                                 AdaptiveAllocationStrategy allocation) {
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder()
+                .connectionFactory(new PostgresqlConnectionFactory(connectionConfiguration(properties)))
+                .name(name)
+                .initialSize(poolProperties.initialSize())
+                .maxSize(poolProperties.maxSize())
+                .maxIdleTime(poolProperties.maxIdleTime())
+                .maxLifeTime(poolProperties.maxLifeTime())
+                .maxAcquireTime(poolProperties.maxAcquireTime());
+        if (poolProperties.validation() == ConnectionPoolProperties.Validation.QUERY) {
+            builder.validationQuery(poolProperties.validationQuery());
+        } else {
+            // Without a query the pool calls Connection.validate: a protocol level round trip
+            builder.validationDepth(ValidationDepth.REMOTE);
+        }
+        if (allocation != null) {
+            builder.customizer(pool -> pool.allocationStrategy(allocation));
+        }
+        return new ConnectionPool(builder.build());
+    }
+
+    public static PostgresqlConnectionConfiguration connectionConfiguration(PostgresqlConnectionProperties properties) {
+        return PostgresqlConnectionConfiguration.builder()
                 .host(properties.host())
                 .port(properties.port())
                 .database(properties.database())
                 .schema(properties.schema())
                 .username(properties.username())
                 .password(properties.password())
+                .preparedStatementCacheQueries(properties.preparedStatementCacheQueries())
+                .fetchSize(properties.fetchSize())
+                .tcpKeepAlive(properties.tcpKeepAlive())
+                .tcpNoDelay(properties.tcpNoDelay())
+                .connectTimeout(properties.connectTimeout())
                 .build();
-
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
-                .connectionFactory(new PostgresqlConnectionFactory(dbConfiguration))
-                .name("api-postgres-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
-                .build();
-
-        return new ConnectionPool(poolConfiguration);
     }
-}
\ No newline at end of file
+}
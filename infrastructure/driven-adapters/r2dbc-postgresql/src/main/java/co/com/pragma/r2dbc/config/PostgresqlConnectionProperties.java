@@ -3,6 +3,20 @@ package co.com.pragma.r2dbc.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
+/**
+ * Connection settings for the PostgreSQL driver. Besides the endpoint and credentials:
+ * <ul>
+ *     <li>{@code preparedStatementCacheQueries}: server side prepared statements kept per
+ *     connection, so a hot query is parsed and planned once. -1 is unbounded, 0 disables it</li>
+ *     <li>{@code fetchSize}: default rows per round trip for every query, 0 fetches the whole
+ *     result at once. The export overrides it with {@code adapters.r2dbc.export.fetch-size}</li>
+ *     <li>{@code tcpKeepAlive} / {@code tcpNoDelay}: socket options of every connection</li>
+ *     <li>{@code connectTimeout}: bound on establishing a new connection</li>
+ * </ul>
+ * Invalid values fail the startup.
+ */
 @ConfigurationProperties(prefix = "adapters.r2dbc")
 public record PostgresqlConnectionProperties(
         String host,
@@ -10,5 +24,34 @@ public record PostgresqlConnectionProperties(
         String database,
         String schema,
         String username,
-        String password) {
+        String password,
+        Integer preparedStatementCacheQueries,
+        Integer fetchSize,
+        Boolean tcpKeepAlive,
+        Boolean tcpNoDelay,
+        Duration connectTimeout) {
+
+    /* Bounded: the bulk insert and the search build their SQL per request shape */
+    public static final int DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES = 256;
+    public static final int DEFAULT_FETCH_SIZE = 0;
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    public PostgresqlConnectionProperties {
+        preparedStatementCacheQueries = preparedStatementCacheQueries == null
+                ? DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES : preparedStatementCacheQueries;
+        fetchSize = fetchSize == null ? DEFAULT_FETCH_SIZE : fetchSize;
+        tcpKeepAlive = tcpKeepAlive == null || tcpKeepAlive;
+        tcpNoDelay = tcpNoDelay == null || tcpNoDelay;
+        connectTimeout = connectTimeout == null ? DEFAULT_CONNECT_TIMEOUT : connectTimeout;
+        if (preparedStatementCacheQueries < -1) {
+            throw new IllegalArgumentException(
+                    "adapters.r2dbc.prepared-statement-cache-queries must be -1 (unbounded), 0 (disabled) or a size");
+        }
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("adapters.r2dbc.fetch-size must not be negative");
+        }
+        if (connectTimeout.isNegative() || connectTimeout.isZero()) {
+            throw new IllegalArgumentException("adapters.r2dbc.connect-timeout must be positive");
+        }
+    }
 }
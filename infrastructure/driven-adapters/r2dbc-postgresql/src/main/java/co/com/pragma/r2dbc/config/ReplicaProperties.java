@@ -0,0 +1,46 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read replica settings. The replica shares database, credentials and driver tuning with
+ * the primary ({@code adapters.r2dbc}) and only overrides the endpoint.
+ * <p>
+ * Reads of a document go to the primary for {@code readYourWritesWindow} after a write to
+ * it on this instance commits (or for the measured replica lag, if longer). All reads go
+ * to the primary whenever the lag measured every {@code lagCheckInterval} exceeds
+ * {@code maxLag} or the replica can not be reached.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.replica")
+public record ReplicaProperties(
+        Boolean enabled,
+        String host,
+        Integer port,
+        Duration readYourWritesWindow,
+        Duration maxLag,
+        Duration lagCheckInterval) {
+
+    public static final Duration DEFAULT_READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_MAX_LAG = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_LAG_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+    public ReplicaProperties {
+        enabled = enabled != null && enabled;
+        readYourWritesWindow = readYourWritesWindow == null || readYourWritesWindow.isNegative()
+                ? DEFAULT_READ_YOUR_WRITES_WINDOW : readYourWritesWindow;
+        maxLag = maxLag == null || maxLag.isNegative() || maxLag.isZero() ? DEFAULT_MAX_LAG : maxLag;
+        lagCheckInterval = lagCheckInterval == null || lagCheckInterval.isNegative() || lagCheckInterval.isZero()
+                ? DEFAULT_LAG_CHECK_INTERVAL : lagCheckInterval;
+        if (enabled && (host == null || host.isBlank())) {
+            throw new IllegalArgumentException("adapters.r2dbc.replica.host is required when the replica is enabled");
+        }
+    }
+
+    public PostgresqlConnectionProperties connectionOf(PostgresqlConnectionProperties primary) {
+        return new PostgresqlConnectionProperties(host, port != null ? port : primary.port(), primary.database(),
+                primary.schema(), primary.username(), primary.password(), primary.preparedStatementCacheQueries(),
+                primary.fetchSize(), primary.tcpKeepAlive(), primary.tcpNoDelay(), primary.connectTimeout());
+    }
+}
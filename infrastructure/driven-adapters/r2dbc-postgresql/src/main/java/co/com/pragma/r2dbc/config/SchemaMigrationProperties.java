@@ -0,0 +1,33 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for the startup schema migration and the index check that follows it.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.migration")
+public record SchemaMigrationProperties(
+        Boolean enabled,
+        String location,
+        Boolean verifyIndexes,
+        List<String> expectedIndexes,
+        Duration timeout) {
+
+    public static final String DEFAULT_LOCATION = "classpath*:db/migration";
+    public static final List<String> DEFAULT_EXPECTED_INDEXES =
+            List.of("users_pkey", "users_document_key", "users_email_key", "users_last_name_trgm_idx",
+                    "users_name_trgm_idx", "users_salary_idx", "users_birth_date_idx");
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(2);
+
+    public SchemaMigrationProperties {
+        enabled = enabled == null || enabled;
+        location = location == null || location.isBlank() ? DEFAULT_LOCATION : location;
+        verifyIndexes = verifyIndexes == null || verifyIndexes;
+        expectedIndexes = expectedIndexes == null || expectedIndexes.isEmpty()
+                ? DEFAULT_EXPECTED_INDEXES : List.copyOf(expectedIndexes);
+        timeout = timeout == null || timeout.isNegative() || timeout.isZero() ? DEFAULT_TIMEOUT : timeout;
+    }
+}
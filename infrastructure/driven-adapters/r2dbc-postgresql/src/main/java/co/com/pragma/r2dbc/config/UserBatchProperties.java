@@ -0,0 +1,31 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for coalescing concurrent lookups by document. Lookups arriving within
+ * {@code window} of the first one, up to {@code maxBatchSize} distinct documents,
+ * share a single query.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.batch")
+public record UserBatchProperties(
+        Boolean enabled,
+        Duration window,
+        Integer maxBatchSize) {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    /* Bounds the latency added to a lookup when the service is idle */
+    public static final Duration MAX_WINDOW = Duration.ofMillis(50);
+
+    public UserBatchProperties {
+        enabled = enabled == null || enabled;
+        window = window == null || window.isNegative() || window.isZero() ? DEFAULT_WINDOW : window;
+        maxBatchSize = maxBatchSize == null || maxBatchSize <= 0 ? DEFAULT_MAX_BATCH_SIZE : maxBatchSize;
+        if (window.compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("adapters.r2dbc.batch.window must be at most " + MAX_WINDOW.toMillis() + "ms");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for bulk user loads. {@code chunkSize} rows are written per multi-row
+ * INSERT and up to {@code concurrency} chunks are in flight at the same time.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.bulk")
+public record UserBulkProperties(
+        Integer chunkSize,
+        Integer concurrency) {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    public static final int DEFAULT_CONCURRENCY = 2;
+    /* Postgres accepts at most 65535 bind parameters per statement, six per user */
+    public static final int MAX_CHUNK_SIZE = 10_000;
+
+    public UserBulkProperties {
+        chunkSize = chunkSize == null || chunkSize <= 0 ? DEFAULT_CHUNK_SIZE : chunkSize;
+        concurrency = concurrency == null || concurrency <= 0 ? DEFAULT_CONCURRENCY : concurrency;
+        if (chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("adapters.r2dbc.bulk.chunk-size must be at most " + MAX_CHUNK_SIZE);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory read-through cache placed in front of the users gateway.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.cache")
+public record UserCacheProperties(
+        Boolean enabled,
+        Long maximumSize,
+        Duration ttl) {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    public UserCacheProperties {
+        enabled = enabled == null || enabled;
+        maximumSize = maximumSize == null || maximumSize <= 0 ? DEFAULT_MAXIMUM_SIZE : maximumSize;
+        ttl = ttl == null || ttl.isNegative() || ttl.isZero() ? DEFAULT_TTL : ttl;
+    }
+}
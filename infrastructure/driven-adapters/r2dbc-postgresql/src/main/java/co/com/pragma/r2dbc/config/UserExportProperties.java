@@ -0,0 +1,21 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for the full users export. {@code fetchSize} is the number of rows the
+ * driver pulls per round trip from the server side cursor, {@code prefetch} the
+ * number of rows requested downstream at a time.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.export")
+public record UserExportProperties(
+        Integer fetchSize,
+        Integer prefetch) {
+
+    public static final int DEFAULT_FETCH_SIZE = 256;
+
+    public UserExportProperties {
+        fetchSize = fetchSize == null || fetchSize <= 0 ? DEFAULT_FETCH_SIZE : fetchSize;
+        prefetch = prefetch == null || prefetch <= 0 ? fetchSize : prefetch;
+    }
+}
@@ -1,15 +1,15 @@
 package co.com.pragma.r2dbc.entity;
 
-import jakarta.persistence.*;
-
 import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
-import java.math.BigInteger;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 
-@Entity
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -18,17 +18,21 @@ import java.time.LocalDateTime;
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private BigInteger id;
+    private Long id;
     private String name;
-    @Column(name = "last_name")
+    @Column("last_name")
     private String lastName;
-    @Column(unique = true)
-    private String document;
-    @Column(unique = true)
+    // Business key, backed by the users_document_key unique index
+    private Long document;
     private String email;
     private Long salary;
-    @Column(name = "birth_date")
+    @Column("birth_date")
     private LocalDate birthDate;
+    @Version
+    private Long version;
+    // Maintained by the database: defaulted on insert, set by every update
+    @ReadOnlyProperty
+    @Column("updated_at")
+    private Instant updatedAt;
 
 }
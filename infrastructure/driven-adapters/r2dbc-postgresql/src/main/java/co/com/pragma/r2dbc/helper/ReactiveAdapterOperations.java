@@ -1,5 +1,6 @@
 package co.com.pragma.r2dbc.helper;
 
+import co.com.pragma.r2dbc.routing.ReadRouting;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.data.domain.Example;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
@@ -13,7 +14,7 @@ import java.util.function.Function;
 public abstract class ReactiveAdapterOperations<E, D, I, R extends ReactiveCrudRepository<D, I> & ReactiveQueryByExampleExecutor<D>> {
     protected R repository;
     protected ObjectMapper mapper;
-    private final Class<D> dataClass;
+    private final Function<E, D> toDataFn;
     private final Function<D, E> toEntityFn;
 
     @SuppressWarnings("unchecked")
@@ -21,12 +22,22 @@ public abstract class ReactiveAdapterOperations<E, D, I, R extends ReactiveCrudR
         this.repository = repository;
         this.mapper = mapper;
         ParameterizedType genericSuperclass = (ParameterizedType) this.getClass().getGenericSuperclass();
-        this.dataClass = (Class<D>) genericSuperclass.getActualTypeArguments()[1];
+        Class<D> dataClass = (Class<D>) genericSuperclass.getActualTypeArguments()[1];
+        this.toDataFn = entity -> mapper.map(entity, dataClass);
+        this.toEntityFn = toEntityFn;
+    }
+
+    /**
+     * Uses explicit mapping functions in both directions instead of the reflective mapper.
+     */
+    protected ReactiveAdapterOperations(R repository, Function<E, D> toDataFn, Function<D, E> toEntityFn) {
+        this.repository = repository;
+        this.toDataFn = toDataFn;
         this.toEntityFn = toEntityFn;
     }
 
     protected D toData(E entity) {
-        return mapper.map(entity, dataClass);
+        return toDataFn.apply(entity);
     }
 
     protected E toEntity(D data) {
@@ -51,17 +62,21 @@ public abstract class ReactiveAdapterOperations<E, D, I, R extends ReactiveCrudR
         return repository.saveAll(data);
     }
 
+    /*
+     * Plain reads, eligible for a read replica when one is configured.
+     */
+
     public Mono<E> findById(I id) {
-        return repository.findById(id).map(this::toEntity);
+        return ReadRouting.readOnly(repository.findById(id).map(this::toEntity));
     }
 
     public Flux<E> findByExample(E entity) {
-        return repository.findAll(Example.of(toData(entity)))
-                .map(this::toEntity);
+        return ReadRouting.readOnly(repository.findAll(Example.of(toData(entity)))
+                .map(this::toEntity));
     }
 
     public Flux<E> findAll() {
-        return repository.findAll()
-                .map(this::toEntity);
+        return ReadRouting.readOnly(repository.findAll()
+                .map(this::toEntity));
     }
 }
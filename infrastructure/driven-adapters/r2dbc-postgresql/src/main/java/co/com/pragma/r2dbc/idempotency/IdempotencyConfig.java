@@ -0,0 +1,37 @@
+package co.com.pragma.r2dbc.idempotency;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.gateways.IdempotencyStore;
+import co.com.pragma.r2dbc.config.IdempotencyProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link IdempotencyStore} with {@code adapters.r2dbc.idempotency.store};
+ * {@code memory} is the only one so far. A store shared between instances, such as a
+ * table, plugs in as another value of that property.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    public static final String CACHE_NAME = "idempotency-keys";
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        AsyncCache<String, User> outcomes = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync();
+        // A hit is a retry answered from memory
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, outcomes.synchronous(), CACHE_NAME));
+        return new InMemoryIdempotencyStore(outcomes);
+    }
+}
@@ -0,0 +1,33 @@
+package co.com.pragma.r2dbc.idempotency;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.gateways.IdempotencyStore;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link IdempotencyStore} kept in a Caffeine {@link AsyncCache}, bounded in size and
+ * expiring after the configured ttl.
+ * <p>
+ * The cache holds the in-flight future, so a retry arriving while the first attempt is
+ * still running waits for it instead of racing it. Caffeine drops futures that complete
+ * exceptionally, which leaves failed attempts retryable. Outcomes are lost on restart and
+ * not shared between instances: a retry landing elsewhere falls back to the insert, which
+ * answers a repeated creation with the stored user anyway.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final AsyncCache<String, User> outcomes;
+
+    public InMemoryIdempotencyStore(AsyncCache<String, User> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    @Override
+    public Mono<User> execute(String key, Mono<User> operation) {
+        // As in the user cache, one cancelled caller must not cancel the shared execution. The
+        // execution runs in the Context of the caller that starts it (request id, routing marks)
+        return Mono.deferContextual(context -> Mono.fromFuture(() -> outcomes.get(key,
+                (ignored, executor) -> operation.contextWrite(context).toFuture()), true));
+    }
+}
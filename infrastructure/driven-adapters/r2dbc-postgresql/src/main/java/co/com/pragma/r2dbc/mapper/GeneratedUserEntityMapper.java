@@ -0,0 +1,21 @@
+package co.com.pragma.r2dbc.mapper;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Implemented at compile time by MapStruct: plain getter/setter calls, no reflection.
+ * A target property left unmapped fails the build, so a column added to one side only
+ * can not be dropped silently; the ones without a counterpart are ignored by name.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface GeneratedUserEntityMapper extends UserEntityMapper {
+
+    // The surrogate key never leaves the adapter: users are addressed by document
+    @Override
+    @Mapping(target = "id", ignore = true)
+    UserEntity toData(User user);
+}
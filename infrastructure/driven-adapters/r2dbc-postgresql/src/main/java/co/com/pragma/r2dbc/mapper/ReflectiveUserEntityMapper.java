@@ -0,0 +1,26 @@
+package co.com.pragma.r2dbc.mapper;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import org.reactivecommons.utils.ObjectMapper;
+
+/**
+ * Reflection based mapping through the reactive commons {@link ObjectMapper}, kept to A/B
+ * the generated mappers against.
+ */
+@RequiredArgsConstructor
+public class ReflectiveUserEntityMapper implements UserEntityMapper {
+
+    private final ObjectMapper mapper;
+
+    @Override
+    public UserEntity toData(User user) {
+        return mapper.map(user, UserEntity.class);
+    }
+
+    @Override
+    public User toDomain(UserEntity entity) {
+        return mapper.map(entity, User.class);
+    }
+}
@@ -0,0 +1,15 @@
+package co.com.pragma.r2dbc.mapper;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.entity.UserEntity;
+
+/**
+ * Maps between the domain {@link User} and the persistence {@link UserEntity}.
+ * The implementation is selected with {@code mapping.strategy}.
+ */
+public interface UserEntityMapper {
+
+    UserEntity toData(User user);
+
+    User toDomain(UserEntity entity);
+}
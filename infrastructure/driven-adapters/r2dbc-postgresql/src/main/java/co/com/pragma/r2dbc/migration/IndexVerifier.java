@@ -0,0 +1,50 @@
+package co.com.pragma.r2dbc.migration;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that a table carries the indexes the queries were written against. An index left
+ * invalid by an interrupted {@code CREATE INDEX CONCURRENTLY} counts as missing: the planner
+ * ignores it.
+ */
+public class IndexVerifier {
+
+    private static final String VALID_INDEXES = """
+            SELECT c.relname
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE i.indrelid = to_regclass($1::text) AND i.indisvalid""";
+
+    private final ConnectionFactory connectionFactory;
+
+    public IndexVerifier(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    public Mono<Void> verify(String table, Collection<String> expectedIndexes) {
+        return Mono.usingWhen(connectionFactory.create(),
+                        connection -> indexes(connection, table),
+                        Connection::close)
+                .flatMap(present -> {
+                    Set<String> missing = new LinkedHashSet<>(expectedIndexes);
+                    missing.removeAll(present);
+                    return missing.isEmpty()
+                            ? Mono.<Void>empty()
+                            : Mono.error(new IllegalStateException("Missing or invalid indexes on " + table + ": " + missing));
+                });
+    }
+
+    private static Mono<Set<String>> indexes(Connection connection, String table) {
+        return Flux.from(connection.createStatement(VALID_INDEXES).bind(0, table).execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                .collect(Collectors.toSet());
+    }
+}
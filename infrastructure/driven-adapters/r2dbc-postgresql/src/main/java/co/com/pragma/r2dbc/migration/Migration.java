@@ -0,0 +1,8 @@
+package co.com.pragma.r2dbc.migration;
+
+/**
+ * A versioned SQL script, {@code V<version>__<description>.sql}. The checksum is the
+ * SHA-256 of the script and detects scripts edited after they were applied.
+ */
+public record Migration(int version, String description, String script, String checksum) {
+}
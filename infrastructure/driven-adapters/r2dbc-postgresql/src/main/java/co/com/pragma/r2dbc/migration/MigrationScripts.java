@@ -0,0 +1,63 @@
+package co.com.pragma.r2dbc.migration;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class MigrationScripts {
+
+    private final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /**
+     * Loads every {@code V<n>__<description>.sql} script under {@code location}, ordered by version.
+     */
+    public List<Migration> load(ResourcePatternResolver resolver, String location) {
+        try {
+            List<Migration> migrations = new ArrayList<>();
+            for (Resource resource : resolver.getResources(location + "/V*__*.sql")) {
+                migrations.add(read(resource));
+            }
+            migrations.sort(Comparator.comparingInt(Migration::version));
+            for (int i = 1; i < migrations.size(); i++) {
+                if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                    throw new IllegalStateException("Duplicate migration version V" + migrations.get(i).version());
+                }
+            }
+            return List.copyOf(migrations);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read migrations from " + location, e);
+        }
+    }
+
+    private Migration read(Resource resource) throws IOException {
+        Matcher matcher = FILE_NAME.matcher(String.valueOf(resource.getFilename()));
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Invalid migration file name " + resource.getFilename());
+        }
+        String script = resource.getContentAsString(StandardCharsets.UTF_8);
+        return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                script, checksum(script));
+    }
+
+    String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
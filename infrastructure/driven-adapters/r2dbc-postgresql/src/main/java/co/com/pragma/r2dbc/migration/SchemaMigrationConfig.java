@@ -0,0 +1,42 @@
+package co.com.pragma.r2dbc.migration;
+
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class SchemaMigrationConfig {
+
+    public static final String USERS_TABLE = "users";
+
+    @Bean
+    public SchemaMigrator schemaMigrator(ConnectionFactory connectionFactory, SchemaMigrationProperties properties) {
+        return new SchemaMigrator(connectionFactory,
+                MigrationScripts.load(new PathMatchingResourcePatternResolver(), properties.location()));
+    }
+
+    @Bean
+    public IndexVerifier indexVerifier(ConnectionFactory connectionFactory) {
+        return new IndexVerifier(connectionFactory);
+    }
+
+    /**
+     * Runs during context refresh, so the server only starts accepting requests on a
+     * current schema. A failure aborts startup.
+     */
+    @Bean
+    public InitializingBean schemaInitializer(SchemaMigrator migrator, IndexVerifier verifier,
+                                              SchemaMigrationProperties properties) {
+        return () -> {
+            Mono<Void> migrate = properties.enabled() ? migrator.migrate().then() : Mono.empty();
+            Mono<Void> verify = properties.verifyIndexes()
+                    ? verifier.verify(USERS_TABLE, properties.expectedIndexes())
+                    : Mono.empty();
+            migrate.then(verify).block(properties.timeout());
+        };
+    }
+}
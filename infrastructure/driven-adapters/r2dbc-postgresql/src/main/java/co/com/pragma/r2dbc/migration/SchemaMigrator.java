@@ -0,0 +1,123 @@
+package co.com.pragma.r2dbc.migration;
+
+import co.com.pragma.model.common.Logger;
+import co.com.pragma.model.common.LoggerFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies pending {@link Migration}s in version order and records them in
+ * {@code schema_migrations}.
+ * <p>
+ * Every script runs in its own transaction together with its history row, so a failed
+ * script leaves nothing behind (PostgreSQL DDL is transactional). A session advisory lock
+ * serialises instances starting at the same time; it is released before the connection
+ * goes back to the pool, whatever the outcome.
+ */
+public class SchemaMigrator {
+
+    private static final Logger logger = LoggerFactory.getLoggerFor(SchemaMigrator.class);
+
+    /* Arbitrary application wide key for pg_advisory_lock */
+    private static final long LOCK_KEY = 0x7573657273L;
+    private static final String CREATE_HISTORY = """
+            CREATE TABLE IF NOT EXISTS schema_migrations (
+                version      integer PRIMARY KEY,
+                description  varchar(200) NOT NULL,
+                checksum     char(64) NOT NULL,
+                installed_on timestamptz NOT NULL DEFAULT now(),
+                execution_ms bigint NOT NULL
+            )""";
+    private static final String SELECT_HISTORY = "SELECT version, checksum FROM schema_migrations";
+    private static final String INSERT_HISTORY =
+            "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES ($1, $2, $3, $4)";
+
+    private final ConnectionFactory connectionFactory;
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(ConnectionFactory connectionFactory, List<Migration> migrations) {
+        this.connectionFactory = connectionFactory;
+        this.migrations = migrations;
+    }
+
+    /**
+     * Emits the migrations applied by this call, none when the schema was already current.
+     * Fails if an applied script has been modified since.
+     */
+    public Flux<Migration> migrate() {
+        return Flux.usingWhen(connectionFactory.create(),
+                connection -> Flux.usingWhen(
+                        execute(connection, "SELECT pg_advisory_lock(" + LOCK_KEY + ")").thenReturn(connection),
+                        this::migrateLocked,
+                        locked -> execute(connection, "SELECT pg_advisory_unlock(" + LOCK_KEY + ")")),
+                Connection::close);
+    }
+
+    private Flux<Migration> migrateLocked(Connection connection) {
+        return execute(connection, CREATE_HISTORY)
+                .then(history(connection))
+                .flatMapMany(applied -> Flux.fromIterable(pending(applied)))
+                .concatMap(migration -> apply(connection, migration));
+    }
+
+    private List<Migration> pending(Map<Integer, String> applied) {
+        // Versions recorded by a newer build are left alone, so a rollback can still start
+        return migrations.stream()
+                .filter(migration -> {
+                    String checksum = applied.get(migration.version());
+                    if (checksum != null && !checksum.equals(migration.checksum())) {
+                        throw new IllegalStateException("Migration V" + migration.version()
+                                + " was modified after it was applied");
+                    }
+                    return checksum == null;
+                })
+                .toList();
+    }
+
+    private Mono<Migration> apply(Connection connection, Migration migration) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.from(connection.beginTransaction())
+                    .then(execute(connection, migration.script()))
+                    .then(Mono.defer(() -> record(connection, migration, (System.nanoTime() - start) / 1_000_000)))
+                    .then(Mono.from(connection.commitTransaction()))
+                    .onErrorResume(error -> Mono.from(connection.rollbackTransaction())
+                            .then(Mono.error(new IllegalStateException(
+                                    "Migration V" + migration.version() + " failed", error))))
+                    .doOnSuccess(ignored -> logger.info("Applied migration V{} ({}) in {} ms",
+                            migration.version(), migration.description(), (System.nanoTime() - start) / 1_000_000))
+                    .thenReturn(migration);
+        });
+    }
+
+    private static Mono<Map<Integer, String>> history(Connection connection) {
+        return Flux.from(connection.createStatement(SELECT_HISTORY).execute())
+                .flatMap(result -> result.map((row, metadata) ->
+                        Map.entry(row.get("version", Integer.class), row.get("checksum", String.class))))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private static Mono<Void> record(Connection connection, Migration migration, long elapsedMillis) {
+        return Flux.from(connection.createStatement(INSERT_HISTORY)
+                        .bind(0, migration.version())
+                        .bind(1, migration.description())
+                        .bind(2, migration.checksum())
+                        .bind(3, elapsedMillis)
+                        .execute())
+                .flatMap(Result::getRowsUpdated)
+                .then();
+    }
+
+    /* Statements without parameters use the simple query protocol, so a script may hold several */
+    private static Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+                .flatMap(Result::getRowsUpdated)
+                .then();
+    }
+}
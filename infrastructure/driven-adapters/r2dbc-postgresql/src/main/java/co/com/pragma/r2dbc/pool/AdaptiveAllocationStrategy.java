@@ -0,0 +1,78 @@
+package co.com.pragma.r2dbc.pool;
+
+import reactor.pool.AllocationStrategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Same contract as the pool's size based strategy, except that the maximum can be moved
+ * at runtime. Lowering it never closes a connection: permits above the new maximum are
+ * simply not granted again once idle connections expire and return them.
+ */
+public class AdaptiveAllocationStrategy implements AllocationStrategy {
+
+    private final int minimum;
+    private final AtomicInteger granted = new AtomicInteger();
+    private volatile int maximum;
+
+    public AdaptiveAllocationStrategy(int minimum, int maximum) {
+        if (minimum < 0 || maximum < 1 || minimum > maximum) {
+            throw new IllegalArgumentException("Invalid pool size bounds " + minimum + ".." + maximum);
+        }
+        this.minimum = minimum;
+        this.maximum = maximum;
+    }
+
+    public void resize(int maximum) {
+        this.maximum = Math.max(Math.max(1, minimum), maximum);
+    }
+
+    @Override
+    public int estimatePermitCount() {
+        return Math.max(0, maximum - granted.get());
+    }
+
+    @Override
+    public int getPermits(int desired) {
+        if (desired < 0) {
+            return 0;
+        }
+        for (;;) {
+            int current = granted.get();
+            int available = Math.max(0, maximum - current);
+            // Always top up to the minimum, never past the current maximum
+            int toGrant = Math.min(available, Math.max(desired, minimum - current));
+            if (granted.compareAndSet(current, current + toGrant)) {
+                return toGrant;
+            }
+        }
+    }
+
+    @Override
+    public int permitGranted() {
+        return granted.get();
+    }
+
+    @Override
+    public int permitMinimum() {
+        return minimum;
+    }
+
+    @Override
+    public int permitMaximum() {
+        return maximum;
+    }
+
+    @Override
+    public void returnPermits(int returned) {
+        for (;;) {
+            int current = granted.get();
+            if (returned > current) {
+                throw new IllegalArgumentException("Too many permits returned: returned=" + returned + ", granted=" + current);
+            }
+            if (granted.compareAndSet(current, current - returned)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package co.com.pragma.r2dbc.pool;
+
+import co.com.pragma.model.common.Logger;
+import co.com.pragma.model.common.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves the pool maximum from the acquire wait observed since the last adjustment:
+ * grows by a quarter while the mean wait is above target, shrinks by one connection
+ * while it is below a quarter of the target, and otherwise holds. Small steps down
+ * and large steps up, so a burst is absorbed quickly and a quiet spell does not
+ * tear the pool down at once.
+ */
+public class AdaptivePoolSizer {
+
+    private static final Logger logger = LoggerFactory.getLoggerFor(AdaptivePoolSizer.class);
+
+    private final AdaptiveAllocationStrategy allocation;
+    private final int floor;
+    private final int ceiling;
+    private final long targetNanos;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public AdaptivePoolSizer(AdaptiveAllocationStrategy allocation, int floor, int ceiling, Duration targetAcquireWait) {
+        this.allocation = allocation;
+        this.floor = floor;
+        this.ceiling = ceiling;
+        this.targetNanos = targetAcquireWait.toNanos();
+    }
+
+    public void record(long nanos) {
+        acquisitions.increment();
+        waitNanos.add(nanos);
+    }
+
+    /**
+     * Applies one adjustment and returns the resulting maximum.
+     */
+    public int adjust() {
+        long count = acquisitions.sumThenReset();
+        long waited = waitNanos.sumThenReset();
+        int current = allocation.permitMaximum();
+        if (count == 0) {
+            return current;
+        }
+        long meanWait = waited / count;
+        int next = current;
+        if (meanWait > targetNanos) {
+            next = Math.min(ceiling, current + Math.max(1, current / 4));
+        } else if (meanWait < targetNanos / 4) {
+            next = Math.max(floor, current - 1);
+        }
+        if (next != current) {
+            allocation.resize(next);
+            logger.info("Connection pool maximum {} -> {} (mean acquire wait {} us)", current, next, meanWait / 1_000);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,76 @@
+package co.com.pragma.r2dbc.pool;
+
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConnectionFactory} in front of a {@link ConnectionPool} that times every acquire,
+ * into the {@code r2dbc.pool.acquire} histogram and, when enabled, the adaptive sizer.
+ * The pool gauges (acquired, idle, pending...) are bound by Spring Boot, which reaches the
+ * pool through {@link #unwrap()}. Closing it stops the sizer and disposes the pool.
+ */
+public class InstrumentedConnectionPool implements ConnectionFactory, Wrapped<ConnectionPool>, AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Timer acquireTimer;
+    private final AdaptivePoolSizer sizer;
+    private final Disposable sizing;
+
+    /**
+     * @param acquireTimer nullable, when no meter registry is available
+     * @param sizer        nullable, when the adaptive mode is off
+     * @param sizing       the periodic adjustment of {@code sizer}, nullable with it
+     */
+    public InstrumentedConnectionPool(ConnectionPool pool, Timer acquireTimer, AdaptivePoolSizer sizer, Disposable sizing) {
+        this.pool = pool;
+        this.acquireTimer = acquireTimer;
+        this.sizer = sizer;
+        this.sizing = sizing;
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        if (acquireTimer == null && sizer == null) {
+            return pool.create();
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return pool.create().doOnSuccess(connection -> acquired(System.nanoTime() - start));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    @Override
+    public ConnectionPool unwrap() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        if (sizing != null) {
+            sizing.dispose();
+        }
+        pool.dispose();
+    }
+
+    private void acquired(long nanos) {
+        if (acquireTimer != null) {
+            acquireTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (sizer != null) {
+            sizer.record(nanos);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.com.pragma.r2dbc.routing;
+
+import lombok.experimental.UtilityClass;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Marks a query as a plain read that a replica may serve, or as a write. The marks travel
+ * in the Reactor Context, where {@link ReadWriteRoutingConnectionFactory} looks for them
+ * when the query acquires its connection. Anything not marked read only runs on the
+ * primary.
+ * <p>
+ * Scopes (the documents a query writes or reads) tie a read to earlier writes: a read
+ * stays on the primary while one of its scopes was written within the read-your-writes
+ * window. Reads without scopes never wait for writes.
+ */
+@UtilityClass
+public class ReadRouting {
+
+    private final String READ_ONLY = ReadRouting.class.getName() + ".READ_ONLY";
+    private final String SCOPES = ReadRouting.class.getName() + ".SCOPES";
+
+    public <T> Mono<T> readOnly(Mono<T> read) {
+        return read.contextWrite(context -> context.put(READ_ONLY, Boolean.TRUE));
+    }
+
+    public <T> Flux<T> readOnly(Flux<T> read) {
+        return read.contextWrite(context -> context.put(READ_ONLY, Boolean.TRUE));
+    }
+
+    public <T> Mono<T> readOnly(Mono<T> read, Object... scopes) {
+        return read.contextWrite(context -> context.put(READ_ONLY, Boolean.TRUE).put(SCOPES, listOf(scopes)));
+    }
+
+    public <T> Flux<T> readOnly(Flux<T> read, Object... scopes) {
+        return read.contextWrite(context -> context.put(READ_ONLY, Boolean.TRUE).put(SCOPES, listOf(scopes)));
+    }
+
+    public <T> Mono<T> writing(Mono<T> write, Object... scopes) {
+        return write.contextWrite(context -> context.put(SCOPES, listOf(scopes)));
+    }
+
+    public <T> Flux<T> writing(Flux<T> write, Object... scopes) {
+        return write.contextWrite(context -> context.put(SCOPES, listOf(scopes)));
+    }
+
+    public boolean isReadOnly(ContextView context) {
+        return context.getOrDefault(READ_ONLY, Boolean.FALSE);
+    }
+
+    public List<Object> scopesOf(ContextView context) {
+        return context.getOrDefault(SCOPES, List.of());
+    }
+
+    private List<Object> listOf(Object[] scopes) {
+        return Arrays.stream(scopes).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package co.com.pragma.r2dbc.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Hands out replica connections to reads marked with {@link ReadRouting} and primary
+ * connections to everything else.
+ * <p>
+ * Read-your-writes is kept per scope: a write marked with scopes keeps the reads of those
+ * scopes on the primary from the moment it acquires its connection until the
+ * read-your-writes window (stretched to the replica lag when that is longer) has passed
+ * since it committed or released the connection, so the window does not have to cover
+ * the write itself. Writes to other scopes, and unscoped writes, leave the reads on the
+ * replica: a list or search may trail the primary by up to the replica's maximum lag.
+ * Reads also stay on the primary while the {@link ReplicaLagMonitor} reports the replica
+ * unavailable, and fall back to it when a replica connection can not be acquired.
+ */
+public class ReadWriteRoutingConnectionFactory implements ConnectionFactory {
+
+    // Scopes written within their window; past the bound the oldest lose read-your-writes
+    private static final long MAX_TRACKED_SCOPES = 100_000;
+
+    private final ConnectionFactory primary;
+    private final ConnectionFactory replica;
+    private final ReplicaLagMonitor monitor;
+    private final long windowNanos;
+    private final Cache<Object, Long> primaryUntil = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_SCOPES)
+            .expireAfter(new UntilDeadline())
+            .build();
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica,
+                                             ReplicaLagMonitor monitor, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.windowNanos = readYourWritesWindow.toNanos();
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(context -> {
+            List<Object> scopes = ReadRouting.scopesOf(context);
+            if (!ReadRouting.isReadOnly(context)) {
+                if (scopes.isEmpty()) {
+                    return Mono.<Connection>from(primary.create());
+                }
+                written(scopes);
+                return Mono.<Connection>from(primary.create())
+                        .map(connection -> new WriteTrackingConnection(connection, () -> written(scopes)));
+            }
+            if (!monitor.isAvailable() || recentlyWritten(scopes)) {
+                return Mono.<Connection>from(primary.create());
+            }
+            return Mono.<Connection>from(replica.create())
+                    .onErrorResume(error -> {
+                        monitor.markUnavailable(error);
+                        return Mono.<Connection>from(primary.create());
+                    });
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    private void written(List<Object> scopes) {
+        long until = System.nanoTime() + Math.max(windowNanos, monitor.lagNanos());
+        for (Object scope : scopes) {
+            primaryUntil.asMap().merge(scope, until, (current, next) -> next - current > 0 ? next : current);
+        }
+    }
+
+    private boolean recentlyWritten(List<Object> scopes) {
+        long now = System.nanoTime();
+        for (Object scope : scopes) {
+            Long until = primaryUntil.getIfPresent(scope);
+            if (until != null && now - until < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expires every scope at its own deadline, on the same {@link System#nanoTime()} clock.
+     */
+    private static final class UntilDeadline implements Expiry<Object, Long> {
+
+        @Override
+        public long expireAfterCreate(Object scope, Long until, long currentTime) {
+            return Math.max(0, until - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(Object scope, Long until, long currentTime, long currentDuration) {
+            return Math.max(0, until - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object scope, Long until, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
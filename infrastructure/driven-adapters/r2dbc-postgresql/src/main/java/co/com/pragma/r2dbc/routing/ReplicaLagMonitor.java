@@ -0,0 +1,94 @@
+package co.com.pragma.r2dbc.routing;
+
+import co.com.pragma.model.common.Logger;
+import co.com.pragma.model.common.LoggerFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Measures how far the replica is behind the primary and whether it can serve reads.
+ * <p>
+ * The lag is the age of the last replayed transaction, or zero when everything received
+ * has been replayed (an idle primary would otherwise look like a lagging replica). The
+ * replica counts as unavailable until the first probe succeeds, after a failed probe or
+ * acquire, and while the lag exceeds the maximum.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLoggerFor(ReplicaLagMonitor.class);
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+            END""";
+
+    private final ConnectionFactory replica;
+    private final long maxLagNanos;
+    private volatile boolean available;
+    private volatile long lagNanos;
+    private Disposable probing;
+
+    public ReplicaLagMonitor(ConnectionFactory replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    public ReplicaLagMonitor start(Duration interval) {
+        probing = Flux.interval(Duration.ZERO, interval, Schedulers.parallel())
+                .onBackpressureDrop()
+                .concatMap(tick -> probe().onErrorResume(error -> {
+                    markUnavailable(error);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+        return this;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long lagNanos() {
+        return lagNanos;
+    }
+
+    public void markUnavailable(Throwable error) {
+        if (available) {
+            logger.warn("Replica unavailable, reads go to the primary: {}", error.toString());
+        }
+        available = false;
+    }
+
+    void update(long lagMillis) {
+        lagNanos = Duration.ofMillis(Math.max(0, lagMillis)).toNanos();
+        boolean withinLag = lagNanos <= maxLagNanos;
+        if (withinLag != available) {
+            logger.info("Replica {} (lag {} ms)", withinLag ? "serving reads" : "lagging, reads go to the primary", lagMillis);
+        }
+        available = withinLag;
+    }
+
+    private Mono<Void> probe() {
+        return Mono.usingWhen(replica.create(),
+                        connection -> Mono.from(connection.createStatement(LAG_QUERY).execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Long.class)))),
+                        Connection::close)
+                .doOnNext(this::update)
+                .then();
+    }
+
+    @Override
+    public void close() {
+        if (probing != null) {
+            probing.dispose();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package co.com.pragma.r2dbc.routing;
+
+import co.com.pragma.r2dbc.config.ConnectionPoolProperties;
+import co.com.pragma.r2dbc.config.PostgreSQLConnectionPool;
+import co.com.pragma.r2dbc.config.PostgresqlConnectionProperties;
+import co.com.pragma.r2dbc.config.ReplicaProperties;
+import co.com.pragma.r2dbc.pool.InstrumentedConnectionPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    public static final String REPLICA_POOL_NAME = "api-postgres-replica-connection-pool";
+
+    @Bean
+    public InstrumentedConnectionPool replicaConnectionPool(PostgresqlConnectionProperties properties,
+                                                            ReplicaProperties replicaProperties,
+                                                            ConnectionPoolProperties poolProperties,
+                                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        return PostgreSQLConnectionPool.instrumentedPool(REPLICA_POOL_NAME, replicaProperties.connectionOf(properties),
+                poolProperties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaConnectionPool") ConnectionFactory replica,
+                                               ReplicaProperties replicaProperties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, replicaProperties.maxLag());
+        meterRegistry.ifAvailable(registry -> registry.gauge("r2dbc.replica.lag.ms", monitor,
+                lagMonitor -> lagMonitor.lagNanos() / 1_000_000d));
+        return monitor.start(replicaProperties.lagCheckInterval());
+    }
+
+    /**
+     * Takes precedence over the primary pool wherever a {@link ConnectionFactory} is injected.
+     */
+    @Bean
+    @Primary
+    public ReadWriteRoutingConnectionFactory routingConnectionFactory(@Qualifier("connectionFactory") ConnectionFactory primary,
+                                                                      @Qualifier("replicaConnectionPool") ConnectionFactory replica,
+                                                                      ReplicaLagMonitor replicaLagMonitor,
+                                                                      ReplicaProperties replicaProperties) {
+        return new ReadWriteRoutingConnectionFactory(primary, replica, replicaLagMonitor,
+                replicaProperties.readYourWritesWindow());
+    }
+}
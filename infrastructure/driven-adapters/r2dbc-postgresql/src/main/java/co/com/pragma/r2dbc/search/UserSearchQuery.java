@@ -0,0 +1,82 @@
+package co.com.pragma.r2dbc.search;
+
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.r2dbc.MyReactiveRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * The parameterized statement of a user search. Each filter becomes one predicate on an
+ * indexed column and user input only ever travels as a bind value:
+ * <ul>
+ *     <li>email: equality on {@code users_email_key}</li>
+ *     <li>last name prefix and name substring: {@code ILIKE} on the trigram indexes, which
+ *     also serve bound patterns and ignore case</li>
+ *     <li>salary and birth date ranges: the b-tree indexes on those columns</li>
+ * </ul>
+ * Matches are read in document order after a keyset position, so paging deeper costs the
+ * same as the first page.
+ */
+public final class UserSearchQuery {
+
+    private static final String SELECT = "SELECT " + MyReactiveRepository.COLUMNS + " FROM users";
+
+    private final String sql;
+    private final List<Object> bindings;
+
+    private UserSearchQuery(String sql, List<Object> bindings) {
+        this.sql = sql;
+        this.bindings = List.copyOf(bindings);
+    }
+
+    public static UserSearchQuery of(UserSearchCriteria criteria) {
+        List<Object> values = new ArrayList<>();
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        add(where, values, "email = $%d", criteria.getEmail());
+        if (criteria.getLastNamePrefix() != null) {
+            add(where, values, "last_name ILIKE $%d", escapeLike(criteria.getLastNamePrefix()) + "%");
+        }
+        if (criteria.getNameContains() != null) {
+            add(where, values, "name ILIKE $%d", "%" + escapeLike(criteria.getNameContains()) + "%");
+        }
+        add(where, values, "salary >= $%d", criteria.getMinSalary());
+        add(where, values, "salary <= $%d", criteria.getMaxSalary());
+        add(where, values, "birth_date >= $%d", criteria.getBornFrom());
+        add(where, values, "birth_date <= $%d", criteria.getBornTo());
+        add(where, values, "document > $%d", criteria.getAfterDocument());
+
+        String sql = SELECT + where + " ORDER BY document";
+        if (criteria.getLimit() > 0) {
+            values.add(criteria.getLimit());
+            sql += " LIMIT $" + values.size();
+        }
+        return new UserSearchQuery(sql, values);
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * The values for {@code $1}, {@code $2}... in order; never null.
+     */
+    public List<Object> bindings() {
+        return bindings;
+    }
+
+    private static void add(StringJoiner where, List<Object> values, String predicate, Object value) {
+        if (value != null) {
+            values.add(value);
+            where.add(predicate.formatted(values.size()));
+        }
+    }
+
+    // Wildcards typed by the caller are matched literally; backslash is LIKE's default escape
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
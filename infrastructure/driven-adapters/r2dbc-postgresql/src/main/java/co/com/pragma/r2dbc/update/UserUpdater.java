@@ -0,0 +1,109 @@
+package co.com.pragma.r2dbc.update;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserVersionConflictException;
+import co.com.pragma.r2dbc.MyReactiveRepository;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Applies a partial update in a single statement: only the columns the caller set are
+ * written, and the row comes back from {@code RETURNING}, so there is no read before or
+ * after the write. A null field means "unchanged"; a column can not be cleared this way.
+ * <p>
+ * Every update bumps {@code version} and sets {@code updated_at}. When the user carries a
+ * version, the update only matches that row state. If nothing matched, the same statement
+ * returns the current row: a row means the version was stale, no row means the document
+ * is unknown, and neither case costs a second round trip.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserUpdater {
+
+    private static final String UPDATE_QUERY = """
+            WITH updated AS (
+                UPDATE users SET %s WHERE %s RETURNING %s
+            )
+            SELECT %<s, TRUE AS updated FROM updated
+            UNION ALL
+            SELECT %<s, FALSE FROM users WHERE document = $1 AND NOT EXISTS (SELECT 1 FROM updated)""";
+    private static final String SELECT_QUERY =
+            "SELECT " + MyReactiveRepository.COLUMNS + ", FALSE AS updated FROM users WHERE document = $1";
+
+    private final R2dbcEntityTemplate template;
+
+    /**
+     * Emits the user as stored after the update, nothing when the document is unknown, or
+     * a {@link UserVersionConflictException} when the expected version is stale.
+     */
+    public Mono<UserEntity> update(User user) {
+        Objects.requireNonNull(user.getDocument(), "document");
+        List<Object> values = new ArrayList<>();
+        values.add(user.getDocument());
+        StringJoiner changes = new StringJoiner(", ");
+        set(changes, values, "name", user.getName());
+        set(changes, values, "last_name", user.getLastName());
+        set(changes, values, "email", user.getEmail());
+        set(changes, values, "salary", user.getSalary());
+        set(changes, values, "birth_date", user.getBirthDate());
+
+        DatabaseClient.GenericExecuteSpec spec;
+        boolean write = changes.length() > 0;
+        if (!write) {
+            // Nothing to write: do not bump the version (and dirty the row) for a no-op
+            spec = template.getDatabaseClient().sql(SELECT_QUERY);
+        } else {
+            changes.add("version = version + 1");
+            changes.add("updated_at = now()");
+            String match = "document = $1";
+            if (user.getVersion() != null) {
+                values.add(user.getVersion());
+                match += " AND version = $" + values.size();
+            }
+            spec = template.getDatabaseClient()
+                    .sql(UPDATE_QUERY.formatted(changes, match, MyReactiveRepository.COLUMNS));
+        }
+        for (int index = 0; index < values.size(); index++) {
+            spec = spec.bind(index, values.get(index));
+        }
+        return spec.map((row, metadata) -> new Outcome(
+                        template.getConverter().read(UserEntity.class, row, metadata),
+                        Boolean.TRUE.equals(row.get("updated", Boolean.class))))
+                .one()
+                .flatMap(outcome -> check(user, outcome, write));
+    }
+
+    /*
+     * A write succeeded when its row came from the UPDATE, which already matched the version
+     * (and returns it bumped). Only a no-op read compares the version itself.
+     */
+    private static Mono<UserEntity> check(User user, Outcome outcome, boolean write) {
+        Long current = outcome.entity().getVersion();
+        boolean accepted = write
+                ? outcome.updated()
+                : user.getVersion() == null || user.getVersion().equals(current);
+        if (!accepted) {
+            return Mono.error(new UserVersionConflictException(user.getDocument(), user.getVersion(), current));
+        }
+        return Mono.just(outcome.entity());
+    }
+
+    private static void set(StringJoiner changes, List<Object> values, String column, Object value) {
+        if (value != null) {
+            values.add(value);
+            changes.add(column + " = $" + values.size());
+        }
+    }
+
+    private record Outcome(UserEntity entity, boolean updated) {
+    }
+}
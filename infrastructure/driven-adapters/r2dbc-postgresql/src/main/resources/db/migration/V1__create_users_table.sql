@@ -0,0 +1,11 @@
+-- Baseline. IF NOT EXISTS adopts a users table that was created by hand before
+-- migrations existed; the following versions bring it to the expected shape.
+CREATE TABLE IF NOT EXISTS users (
+    id         bigserial PRIMARY KEY,
+    name       varchar(100) NOT NULL,
+    last_name  varchar(100) NOT NULL,
+    document   bigint       NOT NULL,
+    email      varchar(255) NOT NULL,
+    salary     bigint,
+    birth_date date
+);
@@ -0,0 +1,10 @@
+-- Documents are numeric in the domain: store them as bigint so lookups bind a
+-- typed parameter and the index orders them numerically, not lexicographically.
+ALTER TABLE users
+    ALTER COLUMN document TYPE bigint USING document::bigint;
+
+-- Backs findByDocument / deleteByDocument, the ANY($1) batch lookup, keyset
+-- paging and the bulk insert ON CONFLICT check. It indexes the document alone:
+-- an INCLUDE list of mutable columns would turn every edit of them into an index
+-- write and rule out heap-only (HOT) updates.
+CREATE UNIQUE INDEX IF NOT EXISTS users_document_key ON users (document);
@@ -0,0 +1,2 @@
+-- Email is unique per user; bulk inserts report a violation as DUPLICATE.
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_key ON users (email);
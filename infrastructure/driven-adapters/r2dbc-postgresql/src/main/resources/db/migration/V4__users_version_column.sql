@@ -0,0 +1,7 @@
+-- Row version for optimistic concurrency: every update bumps it, and an edit
+-- carrying the version it read only applies to that exact row state. A constant
+-- default makes this a catalog-only change, no table rewrite. It is deliberately
+-- left out of every index, so an edit that leaves the indexed values as they were
+-- can still be a heap-only (HOT) update.
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Last modification time, sent as Last-Modified and part of the ETag: the version
+-- alone restarts at 0 when a user is deleted and created again. now() is stable,
+-- so existing rows get one shared value without rewriting the table. Like the
+-- version it is kept out of every index: it changes on every update.
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS updated_at timestamptz NOT NULL DEFAULT now();
@@ -0,0 +1,13 @@
+-- Indexes behind GET /api/users/search, one per filter. Email searches use users_email_key.
+-- pg_trgm is a trusted extension: the database owner can create it without superuser.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Last name prefix and name substring searches are case-insensitive ILIKE patterns sent as
+-- bind values. A b-tree only serves a LIKE prefix known when the query is planned; a
+-- trigram index serves any pattern, bound or not.
+CREATE INDEX IF NOT EXISTS users_last_name_trgm_idx ON users USING gin (last_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS users_name_trgm_idx ON users USING gin (name gin_trgm_ops);
+
+-- Range filters
+CREATE INDEX IF NOT EXISTS users_salary_idx ON users (salary);
+CREATE INDEX IF NOT EXISTS users_birth_date_idx ON users (birth_date);
@@ -0,0 +1,122 @@
+package co.com.pragma.r2dbc;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.bulk.UserBulkInserter;
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import co.com.pragma.r2dbc.config.UserBatchProperties;
+import co.com.pragma.r2dbc.config.UserExportProperties;
+import co.com.pragma.r2dbc.mapper.GeneratedUserEntityMapper;
+import co.com.pragma.r2dbc.migration.MigrationScripts;
+import co.com.pragma.r2dbc.migration.SchemaMigrator;
+import co.com.pragma.r2dbc.update.UserUpdater;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lookups by the business key: the derived queries and the single-statement batch lookup,
+ * run against the migrated schema with documents beyond the int range.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MyReactiveRepositoryAdapterLookupTest {
+
+    private static final long DOCUMENT = 9_000_000_001L;
+    private static final String INSERT = """
+            INSERT INTO users (name, last_name, document, email, salary, birth_date)
+            VALUES ('Ana', 'Gomez', $1, $2, 1000, DATE '1990-01-01')""";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DatabaseClient client;
+    private static MyReactiveRepository repository;
+    private static MyReactiveRepositoryAdapter adapter;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(POSTGRES.getHost())
+                .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(POSTGRES.getDatabaseName())
+                .username(POSTGRES.getUsername())
+                .password(POSTGRES.getPassword())
+                .build());
+        new SchemaMigrator(connectionFactory, MigrationScripts.load(new PathMatchingResourcePatternResolver(),
+                SchemaMigrationProperties.DEFAULT_LOCATION)).migrate().blockLast();
+        client = DatabaseClient.create(connectionFactory);
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(connectionFactory);
+        repository = new R2dbcRepositoryFactory(template).getRepository(MyReactiveRepository.class);
+        adapter = new MyReactiveRepositoryAdapter(repository,
+                Mappers.getMapper(GeneratedUserEntityMapper.class), template, new UserExportProperties(null, null),
+                Mockito.mock(UserBulkInserter.class), new UserUpdater(template),
+                new UserBatchProperties(false, null, null));
+    }
+
+    @BeforeEach
+    void clean() {
+        client.sql("DELETE FROM users").then().block();
+        insert(DOCUMENT, "ana@example.com");
+        insert(DOCUMENT + 1, "ana1@example.com");
+        insert(DOCUMENT + 2, "ana2@example.com");
+    }
+
+    @Test
+    void mustFindAUserByItsDocument() {
+        StepVerifier.create(repository.findByDocument(DOCUMENT + 1))
+                .expectNextMatches(entity -> entity.getDocument() == DOCUMENT + 1
+                        && "ana1@example.com".equals(entity.getEmail()))
+                .verifyComplete();
+        StepVerifier.create(adapter.getUserByDocument(DOCUMENT))
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT && user.getVersion() == 0L)
+                .verifyComplete();
+        StepVerifier.create(adapter.getUserByDocument(DOCUMENT + 10))
+                .verifyComplete();
+    }
+
+    @Test
+    void mustDeleteOnlyTheUserWithTheDocument() {
+        StepVerifier.create(adapter.deleteUser(DOCUMENT + 1))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByDocument(DOCUMENT + 1))
+                .verifyComplete();
+        StepVerifier.create(repository.count())
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void mustLookUpABatchInOneArrayBoundQuery() {
+        List<Long> found = adapter.getUsersByDocuments(List.of(DOCUMENT, DOCUMENT + 2, DOCUMENT + 10))
+                .map(User::getDocument)
+                .collectList()
+                .block();
+
+        assertEquals(Set.of(DOCUMENT, DOCUMENT + 2), Set.copyOf(found));
+        assertEquals(2, found.size());
+        StepVerifier.create(adapter.getUsersByDocuments(List.of()))
+                .verifyComplete();
+    }
+
+    private static void insert(long document, String email) {
+        client.sql(INSERT).bind(0, document).bind(1, email).then().block();
+    }
+}
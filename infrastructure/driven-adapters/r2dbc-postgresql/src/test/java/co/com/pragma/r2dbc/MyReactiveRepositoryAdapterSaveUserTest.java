@@ -0,0 +1,135 @@
+package co.com.pragma.r2dbc;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserAlreadyExistsException;
+import co.com.pragma.r2dbc.bulk.UserBulkInserter;
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import co.com.pragma.r2dbc.config.UserBatchProperties;
+import co.com.pragma.r2dbc.config.UserExportProperties;
+import co.com.pragma.r2dbc.mapper.GeneratedUserEntityMapper;
+import co.com.pragma.r2dbc.migration.MigrationScripts;
+import co.com.pragma.r2dbc.migration.SchemaMigrator;
+import co.com.pragma.r2dbc.update.UserUpdater;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+@Testcontainers(disabledWithoutDocker = true)
+class MyReactiveRepositoryAdapterSaveUserTest {
+
+    private static final long DOCUMENT = 1020304050L;
+    private static final String INSERT = """
+            INSERT INTO users (name, last_name, document, email, salary, birth_date)
+            VALUES ('Ana', 'Gomez', $1, 'ana@example.com', 1000, DATE '1990-01-01')""";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static ConnectionFactory connectionFactory;
+    private static DatabaseClient client;
+    private static MyReactiveRepositoryAdapter adapter;
+
+    @BeforeAll
+    static void setUp() {
+        connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(POSTGRES.getHost())
+                .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(POSTGRES.getDatabaseName())
+                .username(POSTGRES.getUsername())
+                .password(POSTGRES.getPassword())
+                .build());
+        new SchemaMigrator(connectionFactory, MigrationScripts.load(new PathMatchingResourcePatternResolver(),
+                SchemaMigrationProperties.DEFAULT_LOCATION)).migrate().blockLast();
+        client = DatabaseClient.create(connectionFactory);
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(connectionFactory);
+        adapter = new MyReactiveRepositoryAdapter(Mockito.mock(MyReactiveRepository.class),
+                Mappers.getMapper(GeneratedUserEntityMapper.class), template, new UserExportProperties(null, null),
+                Mockito.mock(UserBulkInserter.class), new UserUpdater(template),
+                new UserBatchProperties(false, null, null));
+    }
+
+    @BeforeEach
+    void clean() {
+        client.sql("DELETE FROM users").then().block();
+    }
+
+    @Test
+    void mustAnswerARepeatedCreationWithTheStoredUser() {
+        client.sql(INSERT).bind(0, DOCUMENT).then().block();
+
+        StepVerifier.create(adapter.saveUser(ana(DOCUMENT, "ana@example.com")))
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT && user.getVersion() == 0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void mustSeeACreationCommittedWhileTheInsertWaited() {
+        Connection first = Mono.from(connectionFactory.create()).block();
+        Mono.from(first.beginTransaction()).block();
+        Flux.from(first.createStatement(INSERT).bind("$1", DOCUMENT).execute())
+                .flatMap(Result::getRowsUpdated)
+                .blockLast();
+
+        // Blocks on the unique index until the first transaction commits, then skips the row
+        CompletableFuture<User> retry = adapter.saveUser(ana(DOCUMENT, "ana@example.com")).toFuture();
+        Mono.delay(Duration.ofMillis(500))
+                .then(Mono.from(first.commitTransaction()))
+                .then(Mono.from(first.close()))
+                .block();
+
+        StepVerifier.create(Mono.fromFuture(retry))
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT)
+                .verifyComplete();
+    }
+
+    @Test
+    void mustNameTheDocumentWhenItBelongsToADifferentUser() {
+        client.sql(INSERT).bind(0, DOCUMENT).then().block();
+
+        StepVerifier.create(adapter.saveUser(ana(DOCUMENT, "other@example.com")))
+                .expectErrorMatches(error -> error instanceof UserAlreadyExistsException exists
+                        && exists.getKey() == UserAlreadyExistsException.Key.DOCUMENT)
+                .verify();
+    }
+
+    @Test
+    void mustNameTheEmailWhenItBelongsToADifferentUser() {
+        client.sql(INSERT).bind(0, DOCUMENT).then().block();
+
+        StepVerifier.create(adapter.saveUser(ana(DOCUMENT + 1, "ana@example.com")))
+                .expectErrorMatches(error -> error instanceof UserAlreadyExistsException exists
+                        && exists.getKey() == UserAlreadyExistsException.Key.EMAIL)
+                .verify();
+    }
+
+    private static User ana(long document, String email) {
+        return User.builder()
+                .name("Ana")
+                .lastName("Gomez")
+                .document(document)
+                .email(email)
+                .salary(1000L)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+}
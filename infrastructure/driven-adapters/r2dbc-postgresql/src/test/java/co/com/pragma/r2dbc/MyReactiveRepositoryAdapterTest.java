@@ -1,78 +1,105 @@
 package co.com.pragma.r2dbc;
 
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.bulk.UserBulkInserter;
+import co.com.pragma.r2dbc.config.UserBatchProperties;
+import co.com.pragma.r2dbc.config.UserExportProperties;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.mapper.GeneratedUserEntityMapper;
+import co.com.pragma.r2dbc.update.UserUpdater;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.reactivecommons.utils.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
 import org.springframework.data.domain.Example;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDate;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
 class MyReactiveRepositoryAdapterTest {
-    // TODO: change four you own tests
 
-    @InjectMocks
-    MyReactiveRepositoryAdapter repositoryAdapter;
+    private static final long DOCUMENT = 1020304050L;
 
-    @Mock
-    MyReactiveRepository repository;
+    private MyReactiveRepository repository;
+    private MyReactiveRepositoryAdapter repositoryAdapter;
 
-    @Mock
-    ObjectMapper mapper;
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(MyReactiveRepository.class);
+        repositoryAdapter = new MyReactiveRepositoryAdapter(repository,
+                Mappers.getMapper(GeneratedUserEntityMapper.class), Mockito.mock(R2dbcEntityTemplate.class),
+                new UserExportProperties(null, null), Mockito.mock(UserBulkInserter.class),
+                Mockito.mock(UserUpdater.class), new UserBatchProperties(false, null, null));
+    }
 
     @Test
     void mustFindValueById() {
+        when(repository.findById(1L)).thenReturn(Mono.just(entity()));
 
-        when(repository.findById("1")).thenReturn(Mono.just("test"));
-        when(mapper.map("test", Object.class)).thenReturn("test");
-
-        Mono<Object> result = repositoryAdapter.findById("1");
-
-        StepVerifier.create(result)
-                .expectNextMatches(value -> value.equals("test"))
+        StepVerifier.create(repositoryAdapter.findById(1L))
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT && "Ana".equals(user.getName()))
                 .verifyComplete();
     }
 
     @Test
     void mustFindAllValues() {
-        when(repository.findAll()).thenReturn(Flux.just("test"));
-        when(mapper.map("test", Object.class)).thenReturn("test");
+        when(repository.findAll()).thenReturn(Flux.just(entity()));
 
-        Flux<Object> result = repositoryAdapter.findAll();
-
-        StepVerifier.create(result)
-                .expectNextMatches(value -> value.equals("test"))
+        StepVerifier.create(repositoryAdapter.findAll())
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT)
                 .verifyComplete();
     }
 
     @Test
     void mustFindByExample() {
-        when(repository.findAll(any(Example.class))).thenReturn(Flux.just("test"));
-        when(mapper.map("test", Object.class)).thenReturn("test");
-
-        Flux<Object> result = repositoryAdapter.findByExample("test");
+        when(repository.findAll(any(Example.class))).thenReturn(Flux.just(entity()));
 
-        StepVerifier.create(result)
-                .expectNextMatches(value -> value.equals("test"))
+        StepVerifier.create(repositoryAdapter.findByExample(User.builder().name("Ana").build()))
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT)
                 .verifyComplete();
     }
 
     @Test
     void mustSaveValue() {
-        when(repository.save("test")).thenReturn(Mono.just("test"));
-        when(mapper.map("test", Object.class)).thenReturn("test");
+        when(repository.save(any(UserEntity.class))).thenReturn(Mono.just(entity()));
 
-        Mono<Object> result = repositoryAdapter.save("test");
+        StepVerifier.create(repositoryAdapter.save(User.builder().document(DOCUMENT).name("Ana").build()))
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT)
+                .verifyComplete();
+        verify(repository).save(argThat(entity -> entity.getDocument() == DOCUMENT));
+    }
+
+    @Test
+    void mustAddressUsersByDocument() {
+        when(repository.findByDocument(DOCUMENT)).thenReturn(Mono.just(entity()));
+        when(repository.deleteByDocument(DOCUMENT)).thenReturn(Mono.just(1));
 
-        StepVerifier.create(result)
-                .expectNextMatches(value -> value.equals("test"))
+        StepVerifier.create(repositoryAdapter.getUserByDocument(DOCUMENT))
+                .expectNextMatches(user -> user.getDocument() == DOCUMENT)
                 .verifyComplete();
+        StepVerifier.create(repositoryAdapter.deleteUser(DOCUMENT))
+                .verifyComplete();
+        verify(repository).deleteByDocument(DOCUMENT);
+    }
+
+    private static UserEntity entity() {
+        UserEntity entity = new UserEntity();
+        entity.setId(1L);
+        entity.setName("Ana");
+        entity.setLastName("Gomez");
+        entity.setDocument(DOCUMENT);
+        entity.setEmail("ana@example.com");
+        entity.setSalary(1000L);
+        entity.setBirthDate(LocalDate.of(1990, 1, 1));
+        entity.setVersion(0L);
+        return entity;
     }
 }
@@ -0,0 +1,90 @@
+package co.com.pragma.r2dbc.batch;
+
+import co.com.pragma.model.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserLookupBatcherTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(2);
+
+    private final List<List<Long>> batches = new ArrayList<>();
+    private VirtualTimeScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    @Test
+    void mustCoalesceLookupsWithinTheWindow() throws Exception {
+        User user = User.builder().document(1L).name("test").build();
+        UserLookupBatcher batcher = new UserLookupBatcher(recording(documents -> Flux.just(user)), WINDOW, 100, scheduler);
+
+        CompletableFuture<User> first = batcher.load(1L).toFuture();
+        CompletableFuture<User> duplicate = batcher.load(1L).toFuture();
+        CompletableFuture<User> missing = batcher.load(2L).toFuture();
+        assertFalse(first.isDone(), "Lookups must wait for the window");
+
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertEquals(List.of(List.of(1L, 2L)), batches);
+        assertSame(user, first.get());
+        assertSame(user, duplicate.get());
+        assertNull(missing.get());
+    }
+
+    @Test
+    void mustSendFullBatchesWithoutWaiting() {
+        UserLookupBatcher batcher = new UserLookupBatcher(recording(documents -> Flux.empty()), WINDOW, 2, scheduler);
+
+        CompletableFuture<User> first = batcher.load(1L).toFuture();
+        CompletableFuture<User> second = batcher.load(2L).toFuture();
+        CompletableFuture<User> third = batcher.load(3L).toFuture();
+
+        assertTrue(first.isDone() && second.isDone(), "A full batch must be sent immediately");
+        assertFalse(third.isDone());
+
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertTrue(third.isDone());
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L)), batches);
+    }
+
+    @Test
+    void mustPropagateErrorsToEveryWaiter() {
+        UserLookupBatcher batcher = new UserLookupBatcher(
+                recording(documents -> Flux.error(new IllegalStateException("boom"))), WINDOW, 100, scheduler);
+
+        CompletableFuture<User> first = batcher.load(1L).toFuture();
+        CompletableFuture<User> second = batcher.load(2L).toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThrows(ExecutionException.class, first::get);
+        assertThrows(ExecutionException.class, second::get);
+    }
+
+    private Function<Collection<Long>, Flux<User>> recording(Function<Collection<Long>, Flux<User>> lookup) {
+        return documents -> {
+            batches.add(List.copyOf(documents));
+            return lookup.apply(documents);
+        };
+    }
+}
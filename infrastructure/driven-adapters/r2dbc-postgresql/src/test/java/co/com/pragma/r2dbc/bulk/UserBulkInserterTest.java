@@ -0,0 +1,127 @@
+package co.com.pragma.r2dbc.bulk;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserSaveResult;
+import co.com.pragma.model.user.UserSaveStatus;
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import co.com.pragma.r2dbc.config.UserBulkProperties;
+import co.com.pragma.r2dbc.migration.MigrationScripts;
+import co.com.pragma.r2dbc.migration.SchemaMigrator;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers(disabledWithoutDocker = true)
+class UserBulkInserterTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DatabaseClient client;
+    private static UserBulkInserter inserter;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(POSTGRES.getHost())
+                .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(POSTGRES.getDatabaseName())
+                .username(POSTGRES.getUsername())
+                .password(POSTGRES.getPassword())
+                .build());
+        new SchemaMigrator(connectionFactory, MigrationScripts.load(new PathMatchingResourcePatternResolver(),
+                SchemaMigrationProperties.DEFAULT_LOCATION)).migrate().blockLast();
+        client = DatabaseClient.create(connectionFactory);
+        // Small chunks so a load spans several multi-row statements
+        inserter = new UserBulkInserter(client, new UserBulkProperties(3, 2));
+    }
+
+    @BeforeEach
+    void clean() {
+        client.sql("DELETE FROM users").then().block();
+    }
+
+    @Test
+    void mustCreateEveryRowAcrossChunksInSubmissionOrder() {
+        List<UserSaveResult> results = insert(user(1L, "a"), user(2L, "b"), user(3L, "c"), user(4L, "d"),
+                user(5L, "e"));
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), results.stream().map(UserSaveResult::getIndex).toList());
+        assertEquals(List.of(UserSaveStatus.CREATED), statuses(results).stream().distinct().toList());
+        assertEquals(5L, countUsers());
+    }
+
+    @Test
+    void mustReportTakenDocumentsAndEmailsAsDuplicates() {
+        insert(user(1L, "a"));
+
+        List<UserSaveResult> results = insert(user(1L, "other"), user(2L, "a"), user(3L, "c"));
+
+        assertEquals(List.of(UserSaveStatus.DUPLICATE, UserSaveStatus.DUPLICATE, UserSaveStatus.CREATED),
+                statuses(results));
+        assertEquals(2L, countUsers());
+    }
+
+    @Test
+    void mustCreateADocumentRepeatedInsideAChunkOnlyOnce() {
+        List<UserSaveResult> results = insert(user(1L, "a"), user(1L, "b"), user(2L, "c"));
+
+        assertEquals(List.of(UserSaveStatus.CREATED, UserSaveStatus.DUPLICATE, UserSaveStatus.CREATED),
+                statuses(results));
+        assertEquals(2L, countUsers());
+    }
+
+    @Test
+    void mustIsolateTheRowsThatFailWithoutExposingTheDriverMessage() {
+        User missingName = user(2L, "b");
+        missingName.setName(null);
+        User missingDocument = user(4L, "d");
+        missingDocument.setDocument(null);
+
+        List<UserSaveResult> results = insert(user(1L, "a"), missingName, user(3L, "c"), missingDocument);
+
+        assertEquals(List.of(UserSaveStatus.CREATED, UserSaveStatus.FAILED, UserSaveStatus.CREATED,
+                UserSaveStatus.FAILED), statuses(results));
+        assertEquals(UserBulkInserter.INVALID_USER, results.get(1).getMessage());
+        assertEquals(UserBulkInserter.MISSING_DOCUMENT, results.get(3).getMessage());
+        assertEquals(2L, countUsers());
+    }
+
+    private static List<UserSaveResult> insert(User... users) {
+        return inserter.insert(Flux.just(users)).collectList().block();
+    }
+
+    private static List<UserSaveStatus> statuses(List<UserSaveResult> results) {
+        return results.stream().map(UserSaveResult::getStatus).toList();
+    }
+
+    private static long countUsers() {
+        return client.sql("SELECT count(*) FROM users")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    private static User user(Long document, String emailUser) {
+        return User.builder()
+                .name("Ana")
+                .lastName("Gomez")
+                .document(document)
+                .email(emailUser + "@example.com")
+                .salary(1000L)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package co.com.pragma.r2dbc.cache;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserVersion;
+import co.com.pragma.model.user.gateways.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachedUserRepositoryTest {
+
+    private UserRepository delegate;
+    private CachedUserRepository cachedRepository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(UserRepository.class);
+        cachedRepository = new CachedUserRepository(delegate, Caffeine.newBuilder().maximumSize(10).buildAsync());
+    }
+
+    @Test
+    void mustServeRepeatedLookupsFromCache() {
+        User user = User.builder().document(1L).name("test").build();
+        when(delegate.getUserByDocument(1L)).thenReturn(Mono.just(user));
+
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).expectNext(user).verifyComplete();
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).expectNext(user).verifyComplete();
+
+        verify(delegate, times(1)).getUserByDocument(1L);
+    }
+
+    @Test
+    void mustCoalesceConcurrentMisses() {
+        User user = User.builder().document(1L).name("test").build();
+        Sinks.One<User> pending = Sinks.one();
+        when(delegate.getUserByDocument(1L)).thenReturn(pending.asMono());
+
+        Mono<User> first = cachedRepository.getUserByDocument(1L);
+        Mono<User> second = cachedRepository.getUserByDocument(1L);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> pending.tryEmitValue(user))
+                .expectNextMatches(pair -> pair.getT1() == user && pair.getT2() == user)
+                .verifyComplete();
+
+        verify(delegate, times(1)).getUserByDocument(1L);
+    }
+
+    @Test
+    void mustNotCacheMissingUsers() {
+        when(delegate.getUserByDocument(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).verifyComplete();
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).verifyComplete();
+
+        verify(delegate, times(2)).getUserByDocument(1L);
+    }
+
+    @Test
+    void mustInvalidateOnWrites() {
+        User user = User.builder().document(1L).name("test").build();
+        when(delegate.getUserByDocument(1L)).thenReturn(Mono.just(user));
+        when(delegate.editUser(user)).thenReturn(Mono.just(user));
+        when(delegate.deleteUser(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).expectNext(user).verifyComplete();
+        StepVerifier.create(cachedRepository.editUser(user)).expectNext(user).verifyComplete();
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).expectNext(user).verifyComplete();
+        StepVerifier.create(cachedRepository.deleteUser(1L)).verifyComplete();
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).expectNext(user).verifyComplete();
+
+        verify(delegate, times(3)).getUserByDocument(1L);
+    }
+
+    @Test
+    void mustOnlyLoadUncachedDocumentsInBatch() {
+        User cached = User.builder().document(1L).name("cached").build();
+        User loaded = User.builder().document(2L).name("loaded").build();
+        when(delegate.getUserByDocument(1L)).thenReturn(Mono.just(cached));
+        when(delegate.getUsersByDocuments(List.of(2L, 3L))).thenReturn(Flux.just(loaded));
+
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).expectNext(cached).verifyComplete();
+        StepVerifier.create(cachedRepository.getUsersByDocuments(List.of(1L, 2L, 3L)))
+                .expectNext(cached, loaded)
+                .verifyComplete();
+
+        verify(delegate, times(1)).getUsersByDocuments(List.of(2L, 3L));
+    }
+
+    @Test
+    void mustAnswerVersionsOfCachedUsersWithoutTheDelegate() {
+        User cached = User.builder().document(1L).version(3L).updatedAt(Instant.EPOCH).build();
+        UserVersion uncached = new UserVersion(2L, 0L, Instant.EPOCH);
+        when(delegate.getUserByDocument(1L)).thenReturn(Mono.just(cached));
+        when(delegate.getUserVersion(2L)).thenReturn(Mono.just(uncached));
+
+        StepVerifier.create(cachedRepository.getUserByDocument(1L)).expectNext(cached).verifyComplete();
+        StepVerifier.create(cachedRepository.getUserVersion(1L))
+                .expectNextMatches(version -> version.getVersion() == 3L)
+                .verifyComplete();
+        StepVerifier.create(cachedRepository.getUserVersion(2L)).expectNext(uncached).verifyComplete();
+
+        verify(delegate, never()).getUserVersion(1L);
+    }
+}
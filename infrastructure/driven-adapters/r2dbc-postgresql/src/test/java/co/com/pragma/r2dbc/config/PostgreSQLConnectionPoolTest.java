@@ -1,34 +1,95 @@
 package co.com.pragma.r2dbc.config;
 
-import org.junit.jupiter.api.BeforeEach;
+import co.com.pragma.r2dbc.pool.InstrumentedConnectionPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.Mockito.when;
 
+@Testcontainers(disabledWithoutDocker = true)
 class PostgreSQLConnectionPoolTest {
 
-    @InjectMocks
-    private PostgreSQLConnectionPool connectionPool;
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private InstrumentedConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void mustTimeEveryAcquireAndPublishTheAdaptiveMaximum() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        pool = new PostgreSQLConnectionPool().connectionFactory(connectionProperties(),
+                poolProperties(ConnectionPoolProperties.Validation.PING, null, true),
+                beans.getBeanProvider(MeterRegistry.class));
 
-    @Mock
-    private PostgresqlConnectionProperties properties;
+        StepVerifier.create(selectOne()).expectNext(1).verifyComplete();
 
+        assertEquals(1L, registry.get("r2dbc.pool.acquire").tag("name", PostgreSQLConnectionPool.POOL_NAME)
+                .timer().count());
+        assertNotNull(registry.find("r2dbc.pool.adaptive.max").gauge());
+    }
 
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
+    @Test
+    void mustHandOutConnectionsValidatedWithAPing() {
+        pool = PostgreSQLConnectionPool.instrumentedPool("ping-pool", connectionProperties(),
+                poolProperties(ConnectionPoolProperties.Validation.PING, null, false), null);
 
-        when(properties.host()).thenReturn("localhost");
-        when(properties.username()).thenReturn("username");
-        when(properties.password()).thenReturn("password");
+        StepVerifier.create(selectOne()).expectNext(1).verifyComplete();
     }
 
     @Test
-    void getConnectionConfigSuccess() {
-        assertNotNull(connectionPool.getConnectionConfig(properties));
+    void mustHandOutConnectionsValidatedWithTheQuery() {
+        pool = PostgreSQLConnectionPool.instrumentedPool("query-pool", connectionProperties(),
+                poolProperties(ConnectionPoolProperties.Validation.QUERY, "SELECT 1", false), null);
+
+        StepVerifier.create(selectOne()).expectNext(1).verifyComplete();
+    }
+
+    @Test
+    void mustRunTheValidationQueryOnAcquire() {
+        pool = PostgreSQLConnectionPool.instrumentedPool("broken-query-pool", connectionProperties(),
+                poolProperties(ConnectionPoolProperties.Validation.QUERY, "SELECT no_such_column", false), null);
+
+        StepVerifier.create(selectOne()).expectError().verify(Duration.ofSeconds(30));
+    }
+
+    private Mono<Integer> selectOne() {
+        return Mono.usingWhen(pool.create(),
+                connection -> Mono.from(connection.createStatement("SELECT 1").execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Integer.class)))),
+                Connection::close);
+    }
+
+    private static PostgresqlConnectionProperties connectionProperties() {
+        return new PostgresqlConnectionProperties(POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName(), "public",
+                POSTGRES.getUsername(), POSTGRES.getPassword(), null, null, null, null, null);
+    }
+
+    private static ConnectionPoolProperties poolProperties(ConnectionPoolProperties.Validation validation,
+                                                           String validationQuery, boolean adaptive) {
+        // Short acquire time: a connection failing validation is retried until it expires
+        return new ConnectionPoolProperties(0, 2, null, null, Duration.ofSeconds(5), validation, validationQuery,
+                new ConnectionPoolProperties.Adaptive(adaptive, null, null, null));
     }
 }
@@ -0,0 +1,44 @@
+package co.com.pragma.r2dbc.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostgresqlConnectionPropertiesTest {
+
+    @Test
+    void mustApplyDefaultsToMissingTuningSettings() {
+        PostgresqlConnectionProperties properties = properties(null, null, null);
+
+        assertEquals(PostgresqlConnectionProperties.DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES,
+                properties.preparedStatementCacheQueries());
+        assertEquals(PostgresqlConnectionProperties.DEFAULT_FETCH_SIZE, properties.fetchSize());
+        assertEquals(PostgresqlConnectionProperties.DEFAULT_CONNECT_TIMEOUT, properties.connectTimeout());
+        assertTrue(properties.tcpKeepAlive());
+        assertTrue(properties.tcpNoDelay());
+    }
+
+    @Test
+    void mustRejectInvalidTuningSettings() {
+        assertThrows(IllegalArgumentException.class, () -> properties(-2, null, null));
+        assertThrows(IllegalArgumentException.class, () -> properties(null, -1, null));
+        assertThrows(IllegalArgumentException.class, () -> properties(null, null, Duration.ZERO));
+    }
+
+    @Test
+    void mustBuildTheDriverConfiguration() {
+        PostgresqlConnectionProperties properties = properties(-1, 128, Duration.ofSeconds(3));
+
+        assertEquals(Duration.ofSeconds(3),
+                PostgreSQLConnectionPool.connectionConfiguration(properties).getConnectTimeout());
+    }
+
+    private static PostgresqlConnectionProperties properties(Integer cacheQueries, Integer fetchSize, Duration connectTimeout) {
+        return new PostgresqlConnectionProperties("localhost", 5432, "pragma", "public", "admin", "admin",
+                cacheQueries, fetchSize, null, null, connectTimeout);
+    }
+}
@@ -0,0 +1,80 @@
+package co.com.pragma.r2dbc.idempotency;
+
+import co.com.pragma.model.user.User;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryIdempotencyStoreTest {
+
+    private InMemoryIdempotencyStore store;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(Caffeine.newBuilder().maximumSize(10).buildAsync());
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void mustAnswerARetryWithTheFirstOutcome() {
+        User user = User.builder().document(1L).build();
+
+        StepVerifier.create(store.execute("key", counted(Mono.just(user)))).expectNext(user).verifyComplete();
+        StepVerifier.create(store.execute("key", counted(Mono.just(User.builder().document(2L).build()))))
+                .expectNext(user)
+                .verifyComplete();
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void mustShareAnExecutionInFlight() {
+        User user = User.builder().document(1L).build();
+        Sinks.One<User> pending = Sinks.one();
+
+        StepVerifier.create(Mono.zip(store.execute("key", counted(pending.asMono())),
+                        store.execute("key", counted(pending.asMono()))))
+                .then(() -> pending.tryEmitValue(user))
+                .expectNextMatches(pair -> pair.getT1() == user && pair.getT2() == user)
+                .verifyComplete();
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void mustRunAgainAfterAFailure() {
+        User user = User.builder().document(1L).build();
+
+        StepVerifier.create(store.execute("key", counted(Mono.error(new IllegalStateException("timeout")))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(store.execute("key", counted(Mono.just(user)))).expectNext(user).verifyComplete();
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void mustRunTheOperationInTheCallersContext() {
+        Mono<User> operation = Mono.deferContextual(context ->
+                Mono.just(User.builder().document(1L).name(context.get("request")).build()));
+
+        StepVerifier.create(store.execute("key", operation).contextWrite(context -> context.put("request", "first")))
+                .expectNextMatches(user -> "first".equals(user.getName()))
+                .verifyComplete();
+    }
+
+    private Mono<User> counted(Mono<User> operation) {
+        return Mono.defer(() -> {
+            executions.incrementAndGet();
+            return operation;
+        });
+    }
+}
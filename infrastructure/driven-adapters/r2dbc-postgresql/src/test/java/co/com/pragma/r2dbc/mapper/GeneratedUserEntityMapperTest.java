@@ -0,0 +1,43 @@
+package co.com.pragma.r2dbc.mapper;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GeneratedUserEntityMapperTest {
+
+    private final UserEntityMapper mapper = Mappers.getMapper(GeneratedUserEntityMapper.class);
+
+    @Test
+    void mustRoundTripUser() {
+        User user = User.builder()
+                .name("Name")
+                .lastName("LastName")
+                .document(123L)
+                .email("user@pragma.com.co")
+                .salary(1_000_000L)
+                .birthDate(LocalDate.of(1990, 1, 31))
+                .build();
+
+        User mapped = mapper.toDomain(mapper.toData(user));
+
+        assertEquals(user.getName(), mapped.getName());
+        assertEquals(user.getLastName(), mapped.getLastName());
+        assertEquals(user.getDocument(), mapped.getDocument());
+        assertEquals(user.getEmail(), mapped.getEmail());
+        assertEquals(user.getSalary(), mapped.getSalary());
+        assertEquals(user.getBirthDate(), mapped.getBirthDate());
+    }
+
+    @Test
+    void mustMapNullToNull() {
+        assertNull(mapper.toData(null));
+        assertNull(mapper.toDomain((UserEntity) null));
+    }
+}
@@ -0,0 +1,162 @@
+package co.com.pragma.r2dbc.migration;
+
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigratorTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static ConnectionFactory connectionFactory;
+    private static List<Migration> migrations;
+
+    @BeforeAll
+    static void setUp() {
+        connectionFactory = connect(POSTGRES.getDatabaseName());
+        migrations = MigrationScripts.load(new PathMatchingResourcePatternResolver(),
+                SchemaMigrationProperties.DEFAULT_LOCATION);
+    }
+
+    @Test
+    void mustApplyEveryMigrationOnceAndCreateTheExpectedIndexes() {
+        new SchemaMigrator(connectionFactory, migrations).migrate().blockLast();
+
+        StepVerifier.create(new SchemaMigrator(connectionFactory, migrations).migrate())
+                .verifyComplete();
+        StepVerifier.create(new IndexVerifier(connectionFactory)
+                        .verify(SchemaMigrationConfig.USERS_TABLE, SchemaMigrationProperties.DEFAULT_EXPECTED_INDEXES))
+                .verifyComplete();
+        assertEquals(migrations.size(), countHistory());
+    }
+
+    @Test
+    void mustRejectAMigrationModifiedAfterItWasApplied() {
+        new SchemaMigrator(connectionFactory, migrations).migrate().blockLast();
+        List<Migration> modified = new ArrayList<>(migrations);
+        Migration first = modified.get(0);
+        modified.set(0, new Migration(first.version(), first.description(), first.script() + "\n-- edited",
+                MigrationScripts.checksum(first.script() + "\n-- edited")));
+
+        StepVerifier.create(new SchemaMigrator(connectionFactory, modified).migrate())
+                .expectErrorMatches(error -> error instanceof IllegalStateException
+                        && error.getMessage().contains("V" + first.version()))
+                .verify();
+    }
+
+    @Test
+    void mustRollBackAFailedMigration() {
+        new SchemaMigrator(connectionFactory, migrations).migrate().blockLast();
+        List<Migration> broken = new ArrayList<>(migrations);
+        String script = "CREATE TABLE half_done (id int); SELECT no_such_column FROM users;";
+        broken.add(new Migration(999, "broken", script, MigrationScripts.checksum(script)));
+
+        StepVerifier.create(new SchemaMigrator(connectionFactory, broken).migrate())
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertEquals(migrations.size(), countHistory());
+        assertEquals(0L, count("SELECT count(*) FROM pg_tables WHERE tablename = 'half_done'"));
+    }
+
+    @Test
+    void mustReportMissingIndexes() {
+        new SchemaMigrator(connectionFactory, migrations).migrate().blockLast();
+
+        StepVerifier.create(new IndexVerifier(connectionFactory)
+                        .verify(SchemaMigrationConfig.USERS_TABLE, List.of("users_document_key", "users_missing_idx")))
+                .expectErrorMatches(error -> error instanceof IllegalStateException
+                        && error.getMessage().contains("users_missing_idx")
+                        && !error.getMessage().contains("users_document_key"))
+                .verify();
+    }
+
+    @Test
+    void mustConvertAHandMadeTextDocumentColumnToBigint() {
+        execute(connectionFactory, "CREATE DATABASE legacy");
+        ConnectionFactory legacy = connect("legacy");
+        // The shape the table had before migrations existed, documents stored as text
+        execute(legacy, """
+                CREATE TABLE users (
+                    id         bigserial PRIMARY KEY,
+                    name       varchar(255),
+                    last_name  varchar(255),
+                    document   varchar(255) UNIQUE,
+                    email      varchar(255) UNIQUE,
+                    salary     bigint,
+                    birth_date date
+                )""");
+        execute(legacy, """
+                INSERT INTO users (name, last_name, document, email)
+                VALUES ('Ana', 'Gomez', '10', 'ana10@example.com'), ('Ana', 'Gomez', '9', 'ana9@example.com')""");
+
+        new SchemaMigrator(legacy, migrations).migrate().blockLast();
+
+        assertEquals("bigint", Mono.usingWhen(legacy.create(),
+                        connection -> Mono.from(connection.createStatement("""
+                                        SELECT data_type FROM information_schema.columns
+                                        WHERE table_name = 'users' AND column_name = 'document'""").execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, String.class)))),
+                        Connection::close)
+                .block());
+        // Numeric order now, where text would have put 10 before 9
+        assertEquals(List.of(9L, 10L), Flux.usingWhen(legacy.create(),
+                        connection -> Flux.from(connection.createStatement("SELECT document FROM users ORDER BY document")
+                                        .execute())
+                                .flatMap(result -> result.map((row, metadata) -> row.get(0, Long.class))),
+                        Connection::close)
+                .collectList()
+                .block());
+        StepVerifier.create(new IndexVerifier(legacy)
+                        .verify(SchemaMigrationConfig.USERS_TABLE, SchemaMigrationProperties.DEFAULT_EXPECTED_INDEXES))
+                .verifyComplete();
+    }
+
+    private static ConnectionFactory connect(String database) {
+        return new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(POSTGRES.getHost())
+                .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(database)
+                .username(POSTGRES.getUsername())
+                .password(POSTGRES.getPassword())
+                .build());
+    }
+
+    private static void execute(ConnectionFactory factory, String sql) {
+        Flux.usingWhen(factory.create(),
+                        connection -> Flux.from(connection.createStatement(sql).execute())
+                                .flatMap(Result::getRowsUpdated),
+                        Connection::close)
+                .blockLast();
+    }
+
+    private static long countHistory() {
+        return count("SELECT count(*) FROM schema_migrations");
+    }
+
+    private static long count(String sql) {
+        return Mono.usingWhen(connectionFactory.create(),
+                        connection -> Mono.from(connection.createStatement(sql).execute())
+                                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Long.class)))),
+                        Connection::close)
+                .block();
+    }
+}
@@ -0,0 +1,63 @@
+package co.com.pragma.r2dbc.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptivePoolSizerTest {
+
+    private static final Duration TARGET = Duration.ofMillis(10);
+
+    @Test
+    void mustGrowWhileAcquiresWaitLongerThanTheTarget() {
+        AdaptiveAllocationStrategy allocation = new AdaptiveAllocationStrategy(2, 8);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(allocation, 8, 12, TARGET);
+
+        sizer.record(Duration.ofMillis(30).toNanos());
+        assertEquals(10, sizer.adjust());
+        sizer.record(Duration.ofMillis(30).toNanos());
+        assertEquals(12, sizer.adjust());
+        sizer.record(Duration.ofMillis(30).toNanos());
+        assertEquals(12, sizer.adjust());
+        assertEquals(12, allocation.permitMaximum());
+    }
+
+    @Test
+    void mustShrinkOneStepAtATimeDownToTheFloor() {
+        AdaptiveAllocationStrategy allocation = new AdaptiveAllocationStrategy(2, 10);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(allocation, 9, 16, TARGET);
+
+        sizer.record(Duration.ofMillis(1).toNanos());
+        assertEquals(9, sizer.adjust());
+        sizer.record(Duration.ofMillis(1).toNanos());
+        assertEquals(9, sizer.adjust());
+    }
+
+    @Test
+    void mustHoldWithoutAcquiresOrNearTheTarget() {
+        AdaptiveAllocationStrategy allocation = new AdaptiveAllocationStrategy(2, 8);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(allocation, 8, 16, TARGET);
+
+        assertEquals(8, sizer.adjust());
+        sizer.record(Duration.ofMillis(5).toNanos());
+        assertEquals(8, sizer.adjust());
+    }
+
+    @Test
+    void mustGrantPermitsUpToTheCurrentMaximumOnly() {
+        AdaptiveAllocationStrategy allocation = new AdaptiveAllocationStrategy(1, 3);
+
+        assertEquals(3, allocation.getPermits(5));
+        assertEquals(0, allocation.getPermits(1));
+        allocation.resize(4);
+        assertEquals(1, allocation.getPermits(1));
+        allocation.resize(2);
+        assertEquals(0, allocation.estimatePermitCount());
+        allocation.returnPermits(3);
+        assertEquals(1, allocation.estimatePermitCount());
+        assertThrows(IllegalArgumentException.class, () -> allocation.returnPermits(2));
+    }
+}
@@ -0,0 +1,151 @@
+package co.com.pragma.r2dbc.routing;
+
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Two independent databases stand in for the primary and the replica: each one answers
+ * with its own name, which tells where a query was routed.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteRoutingConnectionFactoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static ConnectionFactory primary;
+    private static ConnectionFactory replica;
+
+    @BeforeAll
+    static void setUp() {
+        primary = connectionFactory(PRIMARY.getHost(), PRIMARY.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT));
+        replica = connectionFactory(REPLICA.getHost(), REPLICA.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT));
+        seed(primary, "primary");
+        seed(replica, "replica");
+    }
+
+    @Test
+    void mustSendMarkedReadsToTheReplicaAndEverythingElseToThePrimary() {
+        DatabaseClient client = DatabaseClient.create(routing(available(), Duration.ZERO));
+
+        StepVerifier.create(ReadRouting.readOnly(node(client))).expectNext("replica").verifyComplete();
+        StepVerifier.create(node(client)).expectNext("primary").verifyComplete();
+    }
+
+    @Test
+    void mustKeepReadsOfAWrittenScopeOnThePrimaryDuringTheReadYourWritesWindow() {
+        DatabaseClient client = DatabaseClient.create(routing(available(), Duration.ofMillis(300)));
+
+        StepVerifier.create(ReadRouting.writing(node(client), 1L)).expectNext("primary").verifyComplete();
+        StepVerifier.create(ReadRouting.readOnly(node(client), 1L)).expectNext("primary").verifyComplete();
+        StepVerifier.create(Mono.delay(Duration.ofMillis(400)).then(ReadRouting.readOnly(node(client), 1L)))
+                .expectNext("replica")
+                .verifyComplete();
+    }
+
+    @Test
+    void mustLeaveReadsOfOtherScopesOnTheReplica() {
+        DatabaseClient client = DatabaseClient.create(routing(available(), Duration.ofSeconds(10)));
+
+        StepVerifier.create(ReadRouting.writing(node(client), 1L)).expectNext("primary").verifyComplete();
+        StepVerifier.create(node(client)).expectNext("primary").verifyComplete();
+        StepVerifier.create(ReadRouting.readOnly(node(client), 2L, 3L)).expectNext("replica").verifyComplete();
+        StepVerifier.create(ReadRouting.readOnly(node(client))).expectNext("replica").verifyComplete();
+        StepVerifier.create(ReadRouting.readOnly(node(client), 3L, 1L)).expectNext("primary").verifyComplete();
+    }
+
+    @Test
+    void mustStartTheWindowWhenTheWriteReleasesItsConnection() {
+        ReadWriteRoutingConnectionFactory routing = routing(available(), Duration.ofMillis(300));
+        DatabaseClient client = DatabaseClient.create(routing);
+        // Holds the primary connection for longer than the window
+        Mono<Void> slowWrite = ReadRouting.writing(Mono.usingWhen(routing.create(),
+                connection -> Mono.delay(Duration.ofMillis(500)).then(),
+                Connection::close), 1L);
+
+        StepVerifier.create(slowWrite.then(ReadRouting.readOnly(node(client), 1L)))
+                .expectNext("primary")
+                .verifyComplete();
+    }
+
+    @Test
+    void mustReadFromThePrimaryWhileTheReplicaLags() {
+        ReplicaLagMonitor monitor = available();
+        monitor.update(Duration.ofMinutes(1).toMillis());
+        DatabaseClient client = DatabaseClient.create(routing(monitor, Duration.ZERO));
+
+        StepVerifier.create(ReadRouting.readOnly(node(client))).expectNext("primary").verifyComplete();
+    }
+
+    @Test
+    void mustFallBackToThePrimaryWhenTheReplicaIsUnreachable() {
+        ReplicaLagMonitor monitor = available();
+        ConnectionFactory unreachable = connectionFactory("localhost", 1);
+        DatabaseClient client = DatabaseClient.create(
+                new ReadWriteRoutingConnectionFactory(primary, unreachable, monitor, Duration.ZERO));
+
+        StepVerifier.create(ReadRouting.readOnly(node(client))).expectNext("primary").verifyComplete();
+        assertFalse(monitor.isAvailable());
+    }
+
+    @Test
+    void mustMeasureNoLagOnAServerThatIsNotInRecovery() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5)).start(Duration.ofMinutes(1));
+
+        StepVerifier.create(Mono.fromCallable(monitor::isAvailable)
+                        .filter(Boolean::booleanValue)
+                        .repeatWhenEmpty(10, repeat -> repeat.delayElements(Duration.ofMillis(100))))
+                .expectNext(true)
+                .verifyComplete();
+        monitor.close();
+    }
+
+    private static ReplicaLagMonitor available() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5));
+        monitor.update(0);
+        return monitor;
+    }
+
+    private static ReadWriteRoutingConnectionFactory routing(ReplicaLagMonitor monitor, Duration window) {
+        return new ReadWriteRoutingConnectionFactory(primary, replica, monitor, window);
+    }
+
+    private static void seed(ConnectionFactory connectionFactory, String name) {
+        DatabaseClient.create(connectionFactory)
+                .sql("CREATE TABLE node (name text); INSERT INTO node VALUES ('" + name + "')")
+                .then()
+                .block();
+    }
+
+    private static Mono<String> node(DatabaseClient client) {
+        return client.sql("SELECT name FROM node").map(row -> row.get(0, String.class)).one();
+    }
+
+    private static ConnectionFactory connectionFactory(String host, int port) {
+        return new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(host)
+                .port(port)
+                .database(PRIMARY.getDatabaseName())
+                .username(PRIMARY.getUsername())
+                .password(PRIMARY.getPassword())
+                .connectTimeout(Duration.ofSeconds(1))
+                .build());
+    }
+}
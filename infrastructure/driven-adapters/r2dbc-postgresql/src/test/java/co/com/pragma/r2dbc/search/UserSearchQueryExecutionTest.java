@@ -0,0 +1,91 @@
+package co.com.pragma.r2dbc.search;
+
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import co.com.pragma.r2dbc.migration.MigrationScripts;
+import co.com.pragma.r2dbc.migration.SchemaMigrator;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the search statements against PostgreSQL: what the bindings mean is only settled by
+ * the database (LIKE escaping, range bounds).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserSearchQueryExecutionTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DatabaseClient client;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(POSTGRES.getHost())
+                .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(POSTGRES.getDatabaseName())
+                .username(POSTGRES.getUsername())
+                .password(POSTGRES.getPassword())
+                .build());
+        new SchemaMigrator(connectionFactory, MigrationScripts.load(new PathMatchingResourcePatternResolver(),
+                SchemaMigrationProperties.DEFAULT_LOCATION)).migrate().blockLast();
+        client = DatabaseClient.create(connectionFactory);
+        client.sql("""
+                        INSERT INTO users (name, last_name, document, email, salary, birth_date) VALUES
+                            ('Ana 50% off', 'Gomez', 1, 'ana1@example.com', 1000, DATE '1990-01-01'),
+                            ('Ana 500 off', 'Go_mez', 2, 'ana2@example.com', 2000, DATE '1990-12-31'),
+                            ('Bea', 'Lopez', 3, 'bea@example.com', 999, DATE '1989-12-31'),
+                            ('Cai', 'Ruiz', 4, 'cai@example.com', 2001, DATE '1991-01-01')""")
+                .then()
+                .block();
+    }
+
+    @Test
+    void mustMatchAPercentSignLiterally() {
+        assertEquals(List.of(1L), documents(UserSearchCriteria.builder().nameContains("50%").build()));
+    }
+
+    @Test
+    void mustMatchAnUnderscoreLiterally() {
+        assertEquals(List.of(2L), documents(UserSearchCriteria.builder().lastNamePrefix("go_").build()));
+    }
+
+    @Test
+    void mustIncludeBothSalaryBounds() {
+        assertEquals(List.of(1L, 2L), documents(UserSearchCriteria.builder()
+                .minSalary(1000L)
+                .maxSalary(2000L)
+                .build()));
+    }
+
+    @Test
+    void mustIncludeBothBirthDateBounds() {
+        assertEquals(List.of(1L, 2L), documents(UserSearchCriteria.builder()
+                .bornFrom(LocalDate.of(1990, 1, 1))
+                .bornTo(LocalDate.of(1990, 12, 31))
+                .build()));
+    }
+
+    private static List<Long> documents(UserSearchCriteria criteria) {
+        UserSearchQuery query = UserSearchQuery.of(criteria);
+        DatabaseClient.GenericExecuteSpec spec = client.sql(query.sql());
+        for (int index = 0; index < query.bindings().size(); index++) {
+            spec = spec.bind(index, query.bindings().get(index));
+        }
+        return spec.map((row, metadata) -> row.get("document", Long.class)).all().collectList().block();
+    }
+}
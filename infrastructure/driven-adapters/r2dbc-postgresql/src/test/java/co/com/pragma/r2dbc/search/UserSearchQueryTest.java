@@ -0,0 +1,44 @@
+package co.com.pragma.r2dbc.search;
+
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.r2dbc.MyReactiveRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserSearchQueryTest {
+
+    @Test
+    void mustReadEveryUserInDocumentOrderWithoutFilters() {
+        UserSearchQuery query = UserSearchQuery.of(new UserSearchCriteria());
+
+        assertEquals("SELECT " + MyReactiveRepository.COLUMNS + " FROM users ORDER BY document", query.sql());
+        assertEquals(List.of(), query.bindings());
+    }
+
+    @Test
+    void mustBindEveryFilterInOrder() {
+        UserSearchQuery query = UserSearchQuery.of(UserSearchCriteria.builder()
+                .lastNamePrefix("Gom")
+                .minSalary(1000L)
+                .bornTo(LocalDate.of(2000, 1, 1))
+                .afterDocument(42L)
+                .limit(51)
+                .build());
+
+        assertEquals("SELECT " + MyReactiveRepository.COLUMNS + " FROM users"
+                + " WHERE last_name ILIKE $1 AND salary >= $2 AND birth_date <= $3 AND document > $4"
+                + " ORDER BY document LIMIT $5", query.sql());
+        assertEquals(List.of("Gom%", 1000L, LocalDate.of(2000, 1, 1), 42L, 51), query.bindings());
+    }
+
+    @Test
+    void mustMatchTypedWildcardsLiterally() {
+        UserSearchQuery query = UserSearchQuery.of(UserSearchCriteria.builder().nameContains("50%_a\\b").build());
+
+        assertEquals(List.of("%50\\%\\_a\\\\b%"), query.bindings());
+    }
+}
@@ -0,0 +1,113 @@
+package co.com.pragma.r2dbc.update;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserVersionConflictException;
+import co.com.pragma.r2dbc.config.SchemaMigrationProperties;
+import co.com.pragma.r2dbc.migration.MigrationScripts;
+import co.com.pragma.r2dbc.migration.SchemaMigrator;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+@Testcontainers(disabledWithoutDocker = true)
+class UserUpdaterTest {
+
+    private static final long DOCUMENT = 1020304050L;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DatabaseClient client;
+    private static UserUpdater updater;
+
+    @BeforeAll
+    static void setUp() {
+        ConnectionFactory connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(POSTGRES.getHost())
+                .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(POSTGRES.getDatabaseName())
+                .username(POSTGRES.getUsername())
+                .password(POSTGRES.getPassword())
+                .build());
+        new SchemaMigrator(connectionFactory, MigrationScripts.load(new PathMatchingResourcePatternResolver(),
+                SchemaMigrationProperties.DEFAULT_LOCATION)).migrate().blockLast();
+        client = DatabaseClient.create(connectionFactory);
+        updater = new UserUpdater(new R2dbcEntityTemplate(connectionFactory));
+    }
+
+    @BeforeEach
+    void seed() {
+        client.sql("DELETE FROM users").then().block();
+        client.sql("""
+                        INSERT INTO users (name, last_name, document, email, salary, birth_date)
+                        VALUES ('Ana', 'Gomez', $1, 'ana@example.com', 1000, DATE '1990-01-01')""")
+                .bind(0, DOCUMENT)
+                .then()
+                .block();
+    }
+
+    @Test
+    void mustChangeOnlyTheFieldsSentAndBumpTheVersion() {
+        StepVerifier.create(updater.update(User.builder().document(DOCUMENT).salary(2000L).version(0L).build()))
+                .expectNextMatches(user -> user.getSalary() == 2000L
+                        && "Ana".equals(user.getName())
+                        && "ana@example.com".equals(user.getEmail())
+                        && LocalDate.of(1990, 1, 1).equals(user.getBirthDate())
+                        && user.getVersion() == 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void mustRejectAStaleVersionWithTheCurrentOne() {
+        updater.update(User.builder().document(DOCUMENT).name("Anna").build()).block();
+
+        StepVerifier.create(updater.update(User.builder().document(DOCUMENT).salary(2000L).version(0L).build()))
+                .expectErrorMatches(error -> error instanceof UserVersionConflictException conflict
+                        && conflict.getCurrentVersion() == 1L)
+                .verify();
+    }
+
+    @Test
+    void mustApplyAnUnversionedEditOverWhateverIsStored() {
+        updater.update(User.builder().document(DOCUMENT).name("Anna").build()).block();
+
+        StepVerifier.create(updater.update(User.builder().document(DOCUMENT).salary(2000L).build()))
+                .expectNextMatches(user -> user.getSalary() == 2000L && user.getVersion() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void mustRejectAStaleVersionEvenWhenNothingChanges() {
+        updater.update(User.builder().document(DOCUMENT).name("Anna").build()).block();
+
+        StepVerifier.create(updater.update(User.builder().document(DOCUMENT).version(0L).build()))
+                .expectErrorMatches(error -> error instanceof UserVersionConflictException conflict
+                        && conflict.getCurrentVersion() == 1L)
+                .verify();
+    }
+
+    @Test
+    void mustCompleteEmptyForAnUnknownDocument() {
+        StepVerifier.create(updater.update(User.builder().document(1L).name("Nobody").version(0L).build()))
+                .verifyComplete();
+    }
+
+    @Test
+    void mustNotBumpTheVersionWhenNothingChanges() {
+        StepVerifier.create(updater.update(User.builder().document(DOCUMENT).version(0L).build()))
+                .expectNextMatches(user -> user.getVersion() == 0L)
+                .verifyComplete();
+    }
+}
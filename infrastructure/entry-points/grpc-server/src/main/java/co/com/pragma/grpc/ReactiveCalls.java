@@ -0,0 +1,105 @@
+package co.com.pragma.grpc;
+
+import co.com.pragma.model.user.IdempotencyKeyReusedException;
+import co.com.pragma.model.user.UserAlreadyExistsException;
+import co.com.pragma.model.user.UserVersionConflictException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.experimental.UtilityClass;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Completes gRPC calls from Reactor publishers. A cancelled call cancels its publisher,
+ * and server streams only request the next element while the transport is ready, so a
+ * slow client slows the database cursor down instead of filling the server's buffers.
+ */
+@UtilityClass
+public class ReactiveCalls {
+
+    public <T> void unary(Mono<T> response, StreamObserver<T> observer, Status whenEmpty) {
+        ServerCallStreamObserver<T> call = (ServerCallStreamObserver<T>) observer;
+        Disposable subscription = Mono.defer(() -> response)
+                .switchIfEmpty(Mono.error(whenEmpty::asRuntimeException))
+                .subscribe(value -> {
+                            call.onNext(value);
+                            call.onCompleted();
+                        },
+                        error -> call.onError(toStatus(error)));
+        call.setOnCancelHandler(subscription::dispose);
+    }
+
+    public <T> void serverStream(Flux<T> responses, StreamObserver<T> observer) {
+        ServerCallStreamObserver<T> call = (ServerCallStreamObserver<T>) observer;
+        ReadySubscriber<T> subscriber = new ReadySubscriber<>(call);
+        call.setOnReadyHandler(subscriber::requestIfReady);
+        call.setOnCancelHandler(subscriber::dispose);
+        Flux.defer(() -> responses).subscribe(subscriber);
+    }
+
+    public StatusRuntimeException toStatus(Throwable error) {
+        if (error instanceof StatusRuntimeException status) {
+            return status;
+        }
+        Status status;
+        if (error instanceof UserVersionConflictException) {
+            status = Status.ABORTED;
+        } else if (error instanceof UserAlreadyExistsException) {
+            status = Status.ALREADY_EXISTS;
+        } else if (error instanceof IllegalArgumentException || error instanceof IdempotencyKeyReusedException) {
+            status = Status.INVALID_ARGUMENT;
+        } else {
+            // Internal failures are not described to the caller
+            return Status.INTERNAL.withCause(error).asRuntimeException();
+        }
+        return status.withDescription(error.getMessage()).asRuntimeException();
+    }
+
+    /**
+     * Keeps at most one element requested, asked for when the call is ready to send.
+     */
+    private static final class ReadySubscriber<T> extends BaseSubscriber<T> {
+
+        private final ServerCallStreamObserver<T> call;
+        private final AtomicBoolean requested = new AtomicBoolean();
+
+        private ReadySubscriber(ServerCallStreamObserver<T> call) {
+            this.call = call;
+        }
+
+        void requestIfReady() {
+            if (!isDisposed() && upstream() != null && call.isReady() && requested.compareAndSet(false, true)) {
+                request(1);
+            }
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            requestIfReady();
+        }
+
+        @Override
+        protected void hookOnNext(T value) {
+            requested.set(false);
+            call.onNext(value);
+            requestIfReady();
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            call.onCompleted();
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            call.onError(toStatus(throwable));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package co.com.pragma.grpc;
+
+import co.com.pragma.grpc.mapper.UserMessageMapper;
+import co.com.pragma.grpc.proto.CreateUserRequest;
+import co.com.pragma.grpc.proto.DeleteUserRequest;
+import co.com.pragma.grpc.proto.DeleteUserResponse;
+import co.com.pragma.grpc.proto.ExportUsersRequest;
+import co.com.pragma.grpc.proto.GetUserRequest;
+import co.com.pragma.grpc.proto.ListUsersRequest;
+import co.com.pragma.grpc.proto.LookupUsersRequest;
+import co.com.pragma.grpc.proto.UpdateUserRequest;
+import co.com.pragma.grpc.proto.User;
+import co.com.pragma.grpc.proto.UserLookupResult;
+import co.com.pragma.grpc.proto.UserServiceGrpc;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.usecase.user.UserUseCase;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link UserUseCase} over gRPC, for internal callers. Handlers only assemble reactive
+ * pipelines and never block, which is what lets the server run them on its transport threads.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+
+    private static final Status USER_NOT_FOUND = Status.NOT_FOUND.withDescription("User not found");
+
+    private final UserUseCase userUseCase;
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+        ReactiveCalls.unary(Mono.defer(() -> userUseCase.getUserById(request.getDocument()))
+                .map(UserMessageMapper::toMessage), responseObserver, USER_NOT_FOUND);
+    }
+
+    @Override
+    public void listUsers(ListUsersRequest request, StreamObserver<User> responseObserver) {
+        ReactiveCalls.serverStream(Mono.defer(() -> userUseCase.getUsersPage(UserMessageMapper.toPageRequest(request)))
+                .flatMapIterable(UserPage::getUsers)
+                .map(UserMessageMapper::toMessage), responseObserver);
+    }
+
+    @Override
+    public void exportUsers(ExportUsersRequest request, StreamObserver<User> responseObserver) {
+        ReactiveCalls.serverStream(Flux.defer(userUseCase::getUsers)
+                .map(UserMessageMapper::toMessage), responseObserver);
+    }
+
+    @Override
+    public void lookupUsers(LookupUsersRequest request, StreamObserver<UserLookupResult> responseObserver) {
+        ReactiveCalls.serverStream(Flux.defer(() -> userUseCase.getUsersByDocuments(request.getDocumentsList()))
+                .map(UserMessageMapper::toMessage), responseObserver);
+    }
+
+    @Override
+    public void createUser(CreateUserRequest request, StreamObserver<User> responseObserver) {
+        String idempotencyKey = request.getIdempotencyKey().isEmpty() ? null : request.getIdempotencyKey();
+        ReactiveCalls.unary(Mono.defer(() -> userUseCase.saveUser(UserMessageMapper.toUser(request), idempotencyKey))
+                .map(UserMessageMapper::toMessage), responseObserver, Status.INTERNAL);
+    }
+
+    @Override
+    public void updateUser(UpdateUserRequest request, StreamObserver<User> responseObserver) {
+        ReactiveCalls.unary(Mono.defer(() -> userUseCase.editUser(UserMessageMapper.toUser(request)))
+                .map(UserMessageMapper::toMessage), responseObserver, USER_NOT_FOUND);
+    }
+
+    @Override
+    public void deleteUser(DeleteUserRequest request, StreamObserver<DeleteUserResponse> responseObserver) {
+        ReactiveCalls.unary(Mono.defer(() -> userUseCase.deleteUser(request.getDocument()))
+                .thenReturn(DeleteUserResponse.getDefaultInstance()), responseObserver, Status.INTERNAL);
+    }
+}
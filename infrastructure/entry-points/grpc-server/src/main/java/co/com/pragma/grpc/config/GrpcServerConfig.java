@@ -0,0 +1,21 @@
+package co.com.pragma.grpc.config;
+
+import io.grpc.BindableService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "grpc.server", name = "enabled", havingValue = "true")
+public class GrpcServerConfig {
+
+    /**
+     * Serves every {@link BindableService} bean, so a new service only has to be a component.
+     */
+    @Bean
+    public GrpcServerLifecycle grpcServer(GrpcServerProperties properties, List<BindableService> services) {
+        return new GrpcServerLifecycle(properties, services);
+    }
+}
@@ -0,0 +1,89 @@
+package co.com.pragma.grpc.config;
+
+import co.com.pragma.model.common.Logger;
+import co.com.pragma.model.common.LoggerFactory;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.grpc.protobuf.services.ProtoReflectionServiceV1;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server with the application context: started once every bean is ready,
+ * stopped before they are destroyed. On shutdown, calls in flight get the grace period to
+ * finish before they are cancelled.
+ * <p>
+ * Handlers run directly on the Netty event loop: they only assemble non-blocking reactive
+ * pipelines, so the default thread pool would add a handoff per call and nothing else.
+ */
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLoggerFor(GrpcServerLifecycle.class);
+
+    private final GrpcServerProperties properties;
+    private final List<BindableService> services;
+    private final HealthStatusManager health = new HealthStatusManager();
+    private volatile Server server;
+
+    public GrpcServerLifecycle(GrpcServerProperties properties, List<BindableService> services) {
+        this.properties = properties;
+        this.services = services;
+    }
+
+    @Override
+    public void start() {
+        NettyServerBuilder builder = NettyServerBuilder.forPort(properties.port())
+                .directExecutor()
+                .maxInboundMessageSize((int) properties.maxInboundMessageSize().toBytes())
+                .keepAliveTime(properties.keepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .keepAliveTimeout(properties.keepAliveTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .addService(health.getHealthService());
+        if (properties.reflection()) {
+            builder.addService(ProtoReflectionServiceV1.newInstance());
+        }
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC server could not bind port " + properties.port(), e);
+        }
+        logger.info("gRPC server listening on port {} with {} services", server.getPort(), services.size());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        health.enterTerminalState();
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(properties.shutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The port actually bound, which differs from the configured one when that is 0.
+     */
+    public int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+}
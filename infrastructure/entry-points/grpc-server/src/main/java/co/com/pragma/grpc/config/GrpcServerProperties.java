@@ -0,0 +1,48 @@
+package co.com.pragma.grpc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the internal gRPC server, off unless {@code enabled}. Keepalive pings keep
+ * long lived client channels from being dropped by idle timeouts between services.
+ * {@code reflection} publishes the service descriptors to any client (grpcurl and the
+ * like); it is off by default so the API surface is only listed where it is asked for.
+ */
+@ConfigurationProperties(prefix = "grpc.server")
+public record GrpcServerProperties(
+        Boolean enabled,
+        Boolean reflection,
+        Integer port,
+        DataSize maxInboundMessageSize,
+        Duration keepAliveTime,
+        Duration keepAliveTimeout,
+        Duration shutdownGracePeriod) {
+
+    public static final int DEFAULT_PORT = 9090;
+    public static final DataSize DEFAULT_MAX_INBOUND_MESSAGE_SIZE = DataSize.ofMegabytes(4);
+    public static final Duration DEFAULT_KEEP_ALIVE_TIME = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(20);
+    public static final Duration DEFAULT_SHUTDOWN_GRACE_PERIOD = Duration.ofSeconds(10);
+
+    public GrpcServerProperties {
+        enabled = enabled != null && enabled;
+        reflection = reflection != null && reflection;
+        port = port == null ? DEFAULT_PORT : port;
+        if (port < 0 || port > 65_535) {
+            throw new IllegalArgumentException("grpc.server.port must be between 0 and 65535");
+        }
+        maxInboundMessageSize = maxInboundMessageSize == null || maxInboundMessageSize.toBytes() <= 0
+                ? DEFAULT_MAX_INBOUND_MESSAGE_SIZE : maxInboundMessageSize;
+        keepAliveTime = positiveOr(keepAliveTime, DEFAULT_KEEP_ALIVE_TIME);
+        keepAliveTimeout = positiveOr(keepAliveTimeout, DEFAULT_KEEP_ALIVE_TIMEOUT);
+        shutdownGracePeriod = shutdownGracePeriod == null || shutdownGracePeriod.isNegative()
+                ? DEFAULT_SHUTDOWN_GRACE_PERIOD : shutdownGracePeriod;
+    }
+
+    private static Duration positiveOr(Duration value, Duration fallback) {
+        return value == null || value.isNegative() || value.isZero() ? fallback : value;
+    }
+}
@@ -0,0 +1,95 @@
+package co.com.pragma.grpc.mapper;
+
+import co.com.pragma.grpc.proto.CreateUserRequest;
+import co.com.pragma.grpc.proto.ListUsersRequest;
+import co.com.pragma.grpc.proto.UpdateUserRequest;
+import co.com.pragma.grpc.proto.UserLookupResult;
+import co.com.pragma.model.user.SortDirection;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserPageRequest;
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+
+/**
+ * Maps between the domain model and the protobuf messages. Written by hand: the
+ * generated builders reject nulls, so every optional field needs a presence check.
+ */
+@UtilityClass
+public class UserMessageMapper {
+
+    public co.com.pragma.grpc.proto.User toMessage(User user) {
+        co.com.pragma.grpc.proto.User.Builder message = co.com.pragma.grpc.proto.User.newBuilder();
+        if (user.getName() != null) {
+            message.setName(user.getName());
+        }
+        if (user.getLastName() != null) {
+            message.setLastName(user.getLastName());
+        }
+        if (user.getDocument() != null) {
+            message.setDocument(user.getDocument());
+        }
+        if (user.getEmail() != null) {
+            message.setEmail(user.getEmail());
+        }
+        if (user.getSalary() != null) {
+            message.setSalary(user.getSalary());
+        }
+        if (user.getBirthDate() != null) {
+            message.setBirthDateEpochDay(user.getBirthDate().toEpochDay());
+        }
+        if (user.getVersion() != null) {
+            message.setVersion(user.getVersion());
+        }
+        return message.build();
+    }
+
+    public UserLookupResult toMessage(co.com.pragma.model.user.UserLookupResult result) {
+        UserLookupResult.Builder message = UserLookupResult.newBuilder()
+                .setDocument(result.getDocument())
+                .setFound(result.isFound());
+        if (result.getUser() != null) {
+            message.setUser(toMessage(result.getUser()));
+        }
+        return message.build();
+    }
+
+    public User toUser(CreateUserRequest request) {
+        co.com.pragma.grpc.proto.User message = request.getUser();
+        return User.builder()
+                .name(emptyToNull(message.getName()))
+                .lastName(emptyToNull(message.getLastName()))
+                .document(message.getDocument() != 0 ? message.getDocument() : null)
+                .email(emptyToNull(message.getEmail()))
+                .salary(message.hasSalary() ? message.getSalary() : null)
+                .birthDate(message.hasBirthDateEpochDay() ? LocalDate.ofEpochDay(message.getBirthDateEpochDay()) : null)
+                .build();
+    }
+
+    public User toUser(UpdateUserRequest request) {
+        return User.builder()
+                .document(request.getDocument() != 0 ? request.getDocument() : null)
+                .name(request.hasName() ? request.getName() : null)
+                .lastName(request.hasLastName() ? request.getLastName() : null)
+                .email(request.hasEmail() ? request.getEmail() : null)
+                .salary(request.hasSalary() ? request.getSalary() : null)
+                .birthDate(request.hasBirthDateEpochDay() ? LocalDate.ofEpochDay(request.getBirthDateEpochDay()) : null)
+                .version(request.hasExpectedVersion() ? request.getExpectedVersion() : null)
+                .build();
+    }
+
+    public UserPageRequest toPageRequest(ListUsersRequest request) {
+        return UserPageRequest.builder()
+                .afterDocument(request.hasAfterDocument() ? request.getAfterDocument() : null)
+                .limit(request.getLimit())
+                .sort(switch (request.getSort()) {
+                    case DESC -> SortDirection.DESC;
+                    case ASC, SORT_DIRECTION_UNSPECIFIED, UNRECOGNIZED -> SortDirection.ASC;
+                })
+                .build();
+    }
+
+    private String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,139 @@
+package co.com.pragma.grpc;
+
+import co.com.pragma.grpc.proto.CreateUserRequest;
+import co.com.pragma.grpc.proto.ExportUsersRequest;
+import co.com.pragma.grpc.proto.GetUserRequest;
+import co.com.pragma.grpc.proto.UpdateUserRequest;
+import co.com.pragma.grpc.proto.User;
+import co.com.pragma.grpc.proto.UserServiceGrpc;
+import co.com.pragma.model.user.UserAlreadyExistsException;
+import co.com.pragma.model.user.UserVersionConflictException;
+import co.com.pragma.usecase.user.UserUseCase;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+class UserGrpcServiceTest {
+
+    private UserUseCase userUseCase;
+    private Server server;
+    private ManagedChannel channel;
+    private UserServiceGrpc.UserServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userUseCase = Mockito.mock(UserUseCase.class);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new UserGrpcService(userUseCase))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = UserServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void mustReturnTheUserWithItsBirthDateAsEpochDay() {
+        when(userUseCase.getUserById(7L)).thenReturn(Mono.just(user(7L)));
+
+        User user = stub.getUser(GetUserRequest.newBuilder().setDocument(7L).build());
+
+        assertEquals(7L, user.getDocument());
+        assertEquals(LocalDate.of(1990, 1, 1).toEpochDay(), user.getBirthDateEpochDay());
+    }
+
+    @Test
+    void mustAnswerNotFoundForAnUnknownDocument() {
+        when(userUseCase.getUserById(7L)).thenReturn(Mono.empty());
+
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> stub.getUser(GetUserRequest.newBuilder().setDocument(7L).build()));
+
+        assertEquals(Status.Code.NOT_FOUND, error.getStatus().getCode());
+    }
+
+    @Test
+    void mustStreamEveryExportedUser() {
+        when(userUseCase.getUsers()).thenReturn(Flux.range(1, 100).map(this::user));
+
+        List<User> users = new ArrayList<>();
+        stub.exportUsers(ExportUsersRequest.getDefaultInstance()).forEachRemaining(users::add);
+
+        assertEquals(100, users.size());
+        assertEquals(100L, users.get(99).getDocument());
+    }
+
+    @Test
+    void mustMapAStaleVersionToAborted() {
+        when(userUseCase.editUser(any())).thenReturn(Mono.error(new UserVersionConflictException(7L, 0L, 1L)));
+
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> stub.updateUser(UpdateUserRequest.newBuilder().setDocument(7L).setExpectedVersion(0L).build()));
+
+        assertEquals(Status.Code.ABORTED, error.getStatus().getCode());
+    }
+
+    @Test
+    void mustMapATakenDocumentToAlreadyExistsWithoutAKey() {
+        when(userUseCase.saveUser(any(), isNull())).thenReturn(
+                Mono.error(new UserAlreadyExistsException(7L, UserAlreadyExistsException.Key.DOCUMENT)));
+
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> stub.createUser(CreateUserRequest.newBuilder()
+                        .setUser(User.newBuilder().setDocument(7L).setName("Ana").build())
+                        .build()));
+
+        assertEquals(Status.Code.ALREADY_EXISTS, error.getStatus().getCode());
+    }
+
+    @Test
+    void mustNotDescribeInternalFailures() {
+        when(userUseCase.getUserById(7L)).thenReturn(Mono.error(new IllegalStateException("pool exhausted")));
+
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> stub.getUser(GetUserRequest.newBuilder().setDocument(7L).build()));
+
+        assertEquals(Status.Code.INTERNAL, error.getStatus().getCode());
+        assertFalse(String.valueOf(error.getStatus().getDescription()).contains("pool"));
+    }
+
+    private co.com.pragma.model.user.User user(long document) {
+        return co.com.pragma.model.user.User.builder()
+                .document(document)
+                .name("Ana")
+                .lastName("Gomez")
+                .email("ana" + document + "@example.com")
+                .salary(1000L)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package co.com.pragma.grpc.config;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.reflection.v1.ServerReflectionGrpc;
+import io.grpc.reflection.v1.ServerReflectionRequest;
+import io.grpc.reflection.v1.ServerReflectionResponse;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class GrpcServerLifecycleTest {
+
+    private GrpcServerLifecycle lifecycle;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        lifecycle.stop();
+    }
+
+    @Test
+    void mustStayOffAndUnlistedByDefault() {
+        GrpcServerProperties defaults = new GrpcServerProperties(null, null, 0, null, null, null, null);
+        lifecycle = new GrpcServerLifecycle(defaults, List.of());
+
+        assertFalse(defaults.enabled());
+        lifecycle.start();
+
+        assertEquals(Status.Code.UNIMPLEMENTED, Status.fromThrowable(listServices().join()).getCode());
+    }
+
+    @Test
+    void mustListTheServicesWhenReflectionIsOn() {
+        lifecycle = new GrpcServerLifecycle(new GrpcServerProperties(true, true, 0, null, null, null, null), List.of());
+        lifecycle.start();
+
+        assertEquals(Status.Code.OK, Status.fromThrowable(listServices().join()).getCode());
+    }
+
+    /**
+     * Completes with the call's error, or with {@link Status#OK} once it has been answered.
+     */
+    private CompletableFuture<Throwable> listServices() {
+        channel = NettyChannelBuilder.forAddress("localhost", lifecycle.getPort()).usePlaintext().build();
+        CompletableFuture<Throwable> outcome = new CompletableFuture<>();
+        StreamObserver<ServerReflectionRequest> requests = ServerReflectionGrpc.newStub(channel)
+                .serverReflectionInfo(new StreamObserver<>() {
+                    @Override
+                    public void onNext(ServerReflectionResponse response) {
+                        outcome.complete(Status.OK.asRuntimeException());
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        outcome.complete(error);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        outcome.complete(Status.OK.asRuntimeException());
+                    }
+                });
+        requests.onNext(ServerReflectionRequest.newBuilder().setListServices("*").build());
+        requests.onCompleted();
+        return outcome.orTimeout(10, TimeUnit.SECONDS);
+    }
+}
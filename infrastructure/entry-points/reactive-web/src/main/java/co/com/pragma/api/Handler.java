@@ -1,81 +1,292 @@
 package co.com.pragma.api;
 
-import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.config.CodecConfig;
+import co.com.pragma.api.config.JacksonConfig;
 import co.com.pragma.api.dto.SaveUserDTO;
 import co.com.pragma.api.dto.UpdateUserDTO;
-import co.com.pragma.model.user.User;
+import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.dto.UserLookupDTO;
+import co.com.pragma.api.dto.UserLookupRequestDTO;
+import co.com.pragma.api.dto.UserPageDTO;
+import co.com.pragma.api.dto.UserSaveResultDTO;
+import co.com.pragma.api.mapper.UserDTOMapper;
+import co.com.pragma.api.utility.UserCursor;
+import co.com.pragma.api.utility.UserValidators;
+import co.com.pragma.model.user.IdempotencyKeyReusedException;
+import co.com.pragma.model.user.SortDirection;
+import co.com.pragma.model.user.UserAlreadyExistsException;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.model.user.UserPageRequest;
+import co.com.pragma.model.user.UserSearchCriteria;
+import co.com.pragma.model.user.UserVersion;
+import co.com.pragma.model.user.UserVersionConflictException;
 import co.com.pragma.usecase.user.UserUseCase;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
-import java.util.UUID;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 @Component
 @RequiredArgsConstructor
 public class Handler {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // Caches, shared ones included, may keep a user but must revalidate it on every use
+    private static final CacheControl USER_CACHE_CONTROL = CacheControl.noCache();
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(JacksonConfig.DATE_FORMAT);
+
     private final UserUseCase userUseCase;
-    private final ObjectMapper objectMapper;
+    private final UserDTOMapper userDTOMapper;
 
+    /**
+     * Creates a user. A retry carrying the same {@value #IDEMPOTENCY_KEY_HEADER} is answered
+     * with the first outcome; so is any repeat of a creation that went through, key or not.
+     */
     public Mono<ServerResponse> listenSaveUser(ServerRequest serverRequest) {
+        String idempotencyKey = serverRequest.headers().firstHeader(IDEMPOTENCY_KEY_HEADER);
         return serverRequest.bodyToMono(SaveUserDTO.class)
-                .map(task -> objectMapper.convertValue(task, User.class))
-                .flatMap(userUseCase::saveUser)
-                .flatMap(savedTask -> ServerResponse.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(savedTask));
+                .flatMap(body -> withRequest(() -> userUseCase.saveUser(userDTOMapper.toUser(body), idempotencyKey),
+                        saving -> saving
+                                .flatMap(savedUser -> ServerResponse.ok()
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(userDTOMapper.toDTO(savedUser)))
+                                .onErrorResume(UserAlreadyExistsException.class, error -> ServerResponse.status(HttpStatus.CONFLICT)
+                                        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                                        .bodyValue(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, error.getMessage())))
+                                .onErrorResume(IdempotencyKeyReusedException.class,
+                                        error -> ServerResponse.status(HttpStatus.UNPROCESSABLE_ENTITY).build())))
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    public Mono<ServerResponse> listenBulkSaveUsers(ServerRequest serverRequest) {
+        // Jackson decodes a JSON array or an NDJSON body element by element, the load is never held in memory
+        Flux<UserSaveResultDTO> results = userUseCase.saveUsers(serverRequest.bodyToFlux(SaveUserDTO.class)
+                        .map(userDTOMapper::toUser))
+                .map(userDTOMapper::toDTO);
+        MediaType responseType = streamingRequested(serverRequest) ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(responseType)
+                .body(results, UserSaveResultDTO.class);
+    }
+
+    public Mono<ServerResponse> listenLookupUsers(ServerRequest serverRequest) {
+        MediaType responseType = streamingRequested(serverRequest) ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return serverRequest.bodyToMono(UserLookupRequestDTO.class)
+                // The use case validates the documents eagerly, before anything is streamed
+                .flatMap(request -> withRequest(() -> userUseCase.getUsersByDocuments(request.getDocuments()),
+                        results -> ServerResponse.ok()
+                                .contentType(responseType)
+                                .body(results.map(userDTOMapper::toDTO), UserLookupDTO.class)))
+                .switchIfEmpty(ServerResponse.badRequest().build());
     }
 
     public Mono<ServerResponse> listenGetAllUsers(ServerRequest serverRequest) {
+        return withRequest(() -> toPageRequest(serverRequest), pageRequest -> userUseCase.getUsersPage(pageRequest)
+                .map(this::toPageDTO)
+                .flatMap(page -> ServerResponse.ok()
+                        .contentType(pageType(serverRequest))
+                        .bodyValue(page)));
+    }
+
+    /**
+     * Users matching the query filters: a keyset page like the plain listing, or every match
+     * as NDJSON when the client asks for a stream.
+     */
+    public Mono<ServerResponse> listenSearchUsers(ServerRequest serverRequest) {
+        return withRequest(() -> toSearchCriteria(serverRequest), criteria -> streamingRequested(serverRequest)
+                // The use case validates the criteria eagerly, before anything is streamed
+                ? ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(userUseCase.streamSearch(criteria).map(userDTOMapper::toDTO), UserDTO.class)
+                : userUseCase.searchUsers(criteria)
+                        .map(this::toPageDTO)
+                        .flatMap(page -> ServerResponse.ok()
+                                .contentType(pageType(serverRequest))
+                                .bodyValue(page)));
+    }
+
+    public Mono<ServerResponse> listenStreamUsers(ServerRequest serverRequest) {
         return ServerResponse.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(userUseCase.getUsers()
-                        .map(user -> UserDTO.builder()
-                                .name(user.getName())
-                                .lastName(user.getLastName())
-                                .document(user.getDocument())
-                                .email(user.getEmail())
-                                .salary(user.getSalary())
-                                .birthDate(LocalDate.parse(user.getBirthDate().toString()))
-                                .build()),
-                        UserDTO.class);
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userUseCase.getUsers().map(userDTOMapper::toDTO), UserDTO.class);
     }
-    public Mono<ServerResponse> listenUpdateUser(ServerRequest serverRequest) {
-        return serverRequest.bodyToMono(UpdateUserDTO.class)
-                .map(user -> objectMapper.convertValue(user, User.class))
-                .flatMap(userUseCase::editUser)
-                .flatMap(savedUser -> ServerResponse.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(savedUser));
+
+    public Mono<ServerResponse> listenUserEvents(ServerRequest serverRequest) {
+        Flux<ServerSentEvent<UserDTO>> events = userUseCase.getUsers()
+                .map(user -> ServerSentEvent.builder(userDTOMapper.toDTO(user))
+                        .id(String.valueOf(user.getDocument()))
+                        .event("user")
+                        .build())
+                // Tells EventSource clients the export is finished instead of letting them reconnect
+                .concatWith(Mono.fromSupplier(() -> ServerSentEvent.<UserDTO>builder().event("complete").build()));
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(events));
     }
 
+    public Mono<ServerResponse> listenUpdateUser(ServerRequest serverRequest) {
+        return editUser(serverRequest.bodyToMono(UpdateUserDTO.class), changes -> changes);
+    }
 
+    /**
+     * Sparse update: only the fields present in the body change. The document comes from
+     * the path; a body naming another document is rejected rather than moving the user.
+     */
+    public Mono<ServerResponse> listenPatchUser(ServerRequest serverRequest) {
+        return documentOf(serverRequest)
+                .flatMap(document -> editUser(serverRequest.bodyToMono(UpdateUserDTO.class), changes -> {
+                    if (changes.getDocument() != null && !changes.getDocument().equals(document)) {
+                        throw new IllegalArgumentException("The document can not be changed");
+                    }
+                    changes.setDocument(document);
+                    return changes;
+                }))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(NumberFormatException.class, error -> ServerResponse.badRequest().build());
+    }
 
+    /**
+     * Conditional requests are checked against the user's validators first (cached user or
+     * a query for the validators alone), so a client polling an unchanged user gets a 304 without the user
+     * being loaded or rendered.
+     */
     public Mono<ServerResponse> listenGetTaskById(ServerRequest serverRequest) {
-        return Mono.fromCallable(() -> serverRequest.pathVariable("id"))
-                .map(String::trim)
-                .filter(item -> !item.isBlank())
-                .map(Long::getLong)
-                .flatMap(userUseCase::getUserById)
-                .flatMap(user -> ServerResponse.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(user))
-                .switchIfEmpty(ServerResponse.notFound().build());
+        return documentOf(serverRequest)
+                .flatMap(document -> notModified(serverRequest, document)
+                        .switchIfEmpty(Mono.defer(() -> userUseCase.getUserById(document)
+                                .flatMap(user -> withValidators(ServerResponse.ok(), UserVersion.of(user))
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(userDTOMapper.toDTO(user))))))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(NumberFormatException.class, error -> ServerResponse.badRequest().build());
     }
 
     public Mono<ServerResponse> listenDeleteUser(ServerRequest serverRequest) {
-        return Mono.fromCallable(() -> serverRequest.pathVariable("id"))
-                .map(String::trim)
-                .filter(item -> !item.isBlank())
-                .map(Long::getLong)
+        return documentOf(serverRequest)
                 .flatMap(id -> userUseCase.deleteUser(id)
                         .then(ServerResponse.noContent().build())
                 )
-                .switchIfEmpty(ServerResponse.notFound().build());
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(NumberFormatException.class, error -> ServerResponse.badRequest().build());
+    }
+
+    private Mono<ServerResponse> notModified(ServerRequest serverRequest, Long document) {
+        if (!UserValidators.isConditional(serverRequest)) {
+            return Mono.empty();
+        }
+        return userUseCase.getUserVersion(document)
+                .filter(version -> UserValidators.isNotModified(serverRequest, version))
+                .flatMap(version -> withValidators(ServerResponse.status(HttpStatus.NOT_MODIFIED), version).build());
+    }
+
+    private static ServerResponse.BodyBuilder withValidators(ServerResponse.BodyBuilder response, UserVersion version) {
+        String etag = UserValidators.etagOf(version);
+        if (etag != null) {
+            response.eTag(etag).lastModified(version.getUpdatedAt());
+        }
+        return response.cacheControl(USER_CACHE_CONTROL);
+    }
+
+    // Checking the body and the use case's validation answer 400; a missing user is a 404
+    private Mono<ServerResponse> editUser(Mono<UpdateUserDTO> body, UnaryOperator<UpdateUserDTO> checking) {
+        return body
+                .flatMap(changes -> withRequest(() -> userUseCase.editUser(userDTOMapper.toUser(checking.apply(changes))),
+                        editing -> editing
+                                .flatMap(editedUser -> ServerResponse.ok()
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(userDTOMapper.toDTO(editedUser)))
+                                .switchIfEmpty(ServerResponse.notFound().build())
+                                .onErrorResume(UserVersionConflictException.class,
+                                        error -> ServerResponse.status(HttpStatus.CONFLICT).build())))
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    /**
+     * Answers 400 when the query or body can not be read or the use case rejects it. Only what is
+     * thrown while parsing and assembling is covered, where the use case validates eagerly:
+     * an {@link IllegalArgumentException} signalled while the request is handled (by the
+     * driver, say) is a server failure and must not turn into a client error.
+     */
+    private static <T> Mono<ServerResponse> withRequest(Supplier<T> query, Function<T, Mono<ServerResponse>> handling) {
+        try {
+            return handling.apply(query.get());
+        } catch (IllegalArgumentException error) {
+            return ServerResponse.badRequest().build();
+        }
+    }
+
+    private static Mono<Long> documentOf(ServerRequest serverRequest) {
+        return Mono.fromCallable(() -> serverRequest.pathVariable("id"))
+                .map(String::trim)
+                .filter(item -> !item.isBlank())
+                .map(Long::parseLong);
+    }
+
+    // Smile only when asked for by name: browsers and generic clients keep getting JSON
+    private static MediaType pageType(ServerRequest serverRequest) {
+        boolean smile = serverRequest.headers().accept().stream()
+                .anyMatch(CodecConfig.APPLICATION_SMILE::equalsTypeAndSubtype);
+        return smile
+                ? CodecConfig.APPLICATION_SMILE
+                : MediaType.APPLICATION_JSON;
+    }
+
+    private static boolean streamingRequested(ServerRequest serverRequest) {
+        return serverRequest.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    private UserPageDTO toPageDTO(UserPage page) {
+        return UserPageDTO.builder()
+                .users(page.getUsers().stream().map(userDTOMapper::toDTO).toList())
+                .next(UserCursor.encode(page.getNextDocument()))
+                .build();
+    }
+
+    private static UserSearchCriteria toSearchCriteria(ServerRequest serverRequest) {
+        return UserSearchCriteria.builder()
+                .email(serverRequest.queryParam("email").orElse(null))
+                .lastNamePrefix(serverRequest.queryParam("lastName").orElse(null))
+                .nameContains(serverRequest.queryParam("name").orElse(null))
+                .minSalary(serverRequest.queryParam("minSalary").map(String::trim).map(Long::parseLong).orElse(null))
+                .maxSalary(serverRequest.queryParam("maxSalary").map(String::trim).map(Long::parseLong).orElse(null))
+                .bornFrom(serverRequest.queryParam("bornFrom").map(Handler::toDate).orElse(null))
+                .bornTo(serverRequest.queryParam("bornTo").map(Handler::toDate).orElse(null))
+                .afterDocument(serverRequest.queryParam("after").map(UserCursor::decode).orElse(null))
+                .limit(serverRequest.queryParam("limit").map(Integer::parseInt).orElse(0))
+                .build();
+    }
+
+    // Query dates take the same form as the dates in the JSON bodies
+    private static LocalDate toDate(String value) {
+        try {
+            return LocalDate.parse(value.trim(), DATE_FORMATTER);
+        } catch (DateTimeParseException error) {
+            throw new IllegalArgumentException("Dates are written " + JacksonConfig.DATE_FORMAT, error);
+        }
+    }
+
+    private UserPageRequest toPageRequest(ServerRequest serverRequest) {
+        return UserPageRequest.builder()
+                .afterDocument(serverRequest.queryParam("after").map(UserCursor::decode).orElse(null))
+                .limit(serverRequest.queryParam("limit").map(Integer::parseInt).orElse(0))
+                .sort(serverRequest.queryParam("sort")
+                        .map(sort -> SortDirection.valueOf(sort.trim().toUpperCase()))
+                        .orElse(SortDirection.ASC))
+                .build();
     }
 }
@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -24,9 +26,17 @@ public class RouterRest {
     @Bean
     public RouterFunction<ServerResponse> routerFunction() {
         return SpringdocRouteBuilder.route()
+                .GET(userPath.getUsers(), acceptsExactly(MediaType.APPLICATION_NDJSON),
+                        userHandler::listenStreamUsers, UserUtility::streamUsers)
+                .GET(userPath.getUsers(), acceptsExactly(MediaType.TEXT_EVENT_STREAM),
+                        userHandler::listenUserEvents, UserUtility::streamUserEvents)
                 .GET(userPath.getUsers(), userHandler::listenGetAllUsers, UserUtility::getAllUsers)
+                .GET(userPath.getUsersSearch(), userHandler::listenSearchUsers, UserUtility::searchUsers)
                 .POST(userPath.getUsers(), userHandler::listenSaveUser, UserUtility::saveUser)
+                .POST(userPath.getUsersBulk(), userHandler::listenBulkSaveUsers, UserUtility::bulkSaveUsers)
+                .POST(userPath.getUsersLookup(), userHandler::listenLookupUsers, UserUtility::lookupUsers)
                 .PUT(userPath.getUsers(), userHandler::listenUpdateUser, UserUtility::updateUser)
+                .PATCH(userPath.getUsersById(), userHandler::listenPatchUser, UserUtility::patchUser)
                 .DELETE(userPath.getUsersById(), userHandler::listenDeleteUser, UserUtility::deleteUser)
                 .build();
     }
@@ -38,4 +48,13 @@ public class RouterRest {
                 .GET(userPath.getUsersById(), userHandler::listenGetTaskById)
                 .build();
     }
+
+    /**
+     * Unlike {@code RequestPredicates.accept}, does not match wildcard Accept headers,
+     * so only clients explicitly asking for a streaming type get the export.
+     */
+    private static RequestPredicate acceptsExactly(MediaType mediaType) {
+        return request -> request.headers().accept().stream()
+                .anyMatch(mediaType::equalsTypeAndSubtype);
+    }
 }
@@ -0,0 +1,26 @@
+package co.com.pragma.api.config;
+
+import co.com.pragma.api.mapper.GeneratedUserDTOMapper;
+import co.com.pragma.api.mapper.JacksonUserDTOMapper;
+import co.com.pragma.api.mapper.UserDTOMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MapperConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mapping.strategy", havingValue = "generated", matchIfMissing = true)
+    public UserDTOMapper generatedUserDTOMapper() {
+        return Mappers.getMapper(GeneratedUserDTOMapper.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mapping.strategy", havingValue = "reflective")
+    public UserDTOMapper jacksonUserDTOMapper(ObjectMapper objectMapper) {
+        return new JacksonUserDTOMapper(objectMapper);
+    }
+}
@@ -17,9 +17,16 @@ public class SecurityHeadersConfig implements WebFilter {
         headers.set("Strict-Transport-Security", "max-age=31536000;");
         headers.set("X-Content-Type-Options", "nosniff");
         headers.set("Server", "");
-        headers.set("Cache-Control", "no-store");
-        headers.set("Pragma", "no-cache");
         headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
+        // Routes may set their own cache policy; anything that does not is never stored.
+        // Applied on commit because a header set here would win over the handler's.
+        exchange.getResponse().beforeCommit(() -> {
+            if (!headers.containsKey(HttpHeaders.CACHE_CONTROL)) {
+                headers.set(HttpHeaders.CACHE_CONTROL, "no-store");
+                headers.set(HttpHeaders.PRAGMA, "no-cache");
+            }
+            return Mono.empty();
+        });
         return chain.filter(exchange);
     }
 }
@@ -10,4 +10,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class UserPath {
     private String users;
     private String usersById;
+    private String usersBulk;
+    private String usersLookup;
+    private String usersSearch;
 }
@@ -14,9 +14,11 @@ public class UpdateUserDTO
 {
     private String name;
     private String lastName;
-    private String document;
+    private Long document;
     private String email;
     private Long salary;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy")
     private LocalDate birthDate;
+    // The version last read; when sent, the update is rejected if the user has changed since
+    private Long version;
 }
@@ -20,4 +20,5 @@ public class UserDTO
     private Long salary;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy")
     private LocalDate birthDate;
+    private Long version;
 }
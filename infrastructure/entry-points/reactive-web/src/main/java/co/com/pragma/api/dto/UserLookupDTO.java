@@ -0,0 +1,15 @@
+package co.com.pragma.api.dto;
+
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UserLookupDTO
+{
+    private Long document;
+    private boolean found;
+    private UserDTO user;
+}
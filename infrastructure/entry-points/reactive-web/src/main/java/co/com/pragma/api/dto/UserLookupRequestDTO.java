@@ -0,0 +1,15 @@
+package co.com.pragma.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UserLookupRequestDTO
+{
+    private List<Long> documents;
+}
@@ -0,0 +1,16 @@
+package co.com.pragma.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UserPageDTO
+{
+    private List<UserDTO> users;
+    private String next;
+}
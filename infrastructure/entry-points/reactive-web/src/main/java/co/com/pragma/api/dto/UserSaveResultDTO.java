@@ -0,0 +1,16 @@
+package co.com.pragma.api.dto;
+
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UserSaveResultDTO
+{
+    private long index;
+    private Long document;
+    private String status;
+    private String message;
+}
@@ -0,0 +1,28 @@
+package co.com.pragma.api.mapper;
+
+import co.com.pragma.api.dto.SaveUserDTO;
+import co.com.pragma.api.dto.UpdateUserDTO;
+import co.com.pragma.model.user.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Implemented at compile time by MapStruct: plain getter/builder calls, no reflection.
+ * A target property left unmapped fails the build, so a field added to one side only
+ * can not be dropped silently; the ones without a counterpart are ignored by name.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface GeneratedUserDTOMapper extends UserDTOMapper {
+
+    // A new user has no version yet and the database sets updatedAt
+    @Override
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    User toUser(SaveUserDTO dto);
+
+    // Clients send the version they read; updatedAt is the database's
+    @Override
+    @Mapping(target = "updatedAt", ignore = true)
+    User toUser(UpdateUserDTO dto);
+}
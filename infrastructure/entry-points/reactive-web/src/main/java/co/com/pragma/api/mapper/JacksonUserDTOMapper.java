@@ -0,0 +1,47 @@
+package co.com.pragma.api.mapper;
+
+import co.com.pragma.api.dto.SaveUserDTO;
+import co.com.pragma.api.dto.UpdateUserDTO;
+import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.dto.UserLookupDTO;
+import co.com.pragma.api.dto.UserSaveResultDTO;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserLookupResult;
+import co.com.pragma.model.user.UserSaveResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Mapping through Jackson's {@code convertValue}, a token buffer round trip per object.
+ * Kept to A/B the generated mappers against.
+ */
+@RequiredArgsConstructor
+public class JacksonUserDTOMapper implements UserDTOMapper {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public User toUser(SaveUserDTO dto) {
+        return objectMapper.convertValue(dto, User.class);
+    }
+
+    @Override
+    public User toUser(UpdateUserDTO dto) {
+        return objectMapper.convertValue(dto, User.class);
+    }
+
+    @Override
+    public UserDTO toDTO(User user) {
+        return objectMapper.convertValue(user, UserDTO.class);
+    }
+
+    @Override
+    public UserSaveResultDTO toDTO(UserSaveResult result) {
+        return objectMapper.convertValue(result, UserSaveResultDTO.class);
+    }
+
+    @Override
+    public UserLookupDTO toDTO(UserLookupResult result) {
+        return objectMapper.convertValue(result, UserLookupDTO.class);
+    }
+}
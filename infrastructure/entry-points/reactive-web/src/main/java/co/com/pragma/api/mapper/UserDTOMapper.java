@@ -0,0 +1,26 @@
+package co.com.pragma.api.mapper;
+
+import co.com.pragma.api.dto.SaveUserDTO;
+import co.com.pragma.api.dto.UpdateUserDTO;
+import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.dto.UserLookupDTO;
+import co.com.pragma.api.dto.UserSaveResultDTO;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserLookupResult;
+import co.com.pragma.model.user.UserSaveResult;
+
+/**
+ * Maps the web DTOs to and from the domain. The implementation is selected with {@code mapping.strategy}.
+ */
+public interface UserDTOMapper {
+
+    User toUser(SaveUserDTO dto);
+
+    User toUser(UpdateUserDTO dto);
+
+    UserDTO toDTO(User user);
+
+    UserSaveResultDTO toDTO(UserSaveResult result);
+
+    UserLookupDTO toDTO(UserLookupResult result);
+}
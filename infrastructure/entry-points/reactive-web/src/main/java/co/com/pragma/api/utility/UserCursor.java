@@ -0,0 +1,40 @@
+package co.com.pragma.api.utility;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position of a users page as an opaque, URL safe token,
+ * so clients never build cursors from raw documents.
+ */
+@UtilityClass
+public class UserCursor {
+
+    private final String PREFIX = "doc:";
+
+    public String encode(Long document) {
+        if (document == null) {
+            return null;
+        }
+        byte[] raw = (PREFIX + document).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public Long decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 decoding errors are both IllegalArgumentException
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package co.com.pragma.api.utility;
+import co.com.pragma.api.Handler;
+import co.com.pragma.api.config.CodecConfig;
+import co.com.pragma.api.config.JacksonConfig;
 import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.dto.UserLookupDTO;
+import co.com.pragma.api.dto.UserLookupRequestDTO;
+import co.com.pragma.api.dto.UserPageDTO;
+import co.com.pragma.api.dto.UserSaveResultDTO;
 import co.com.pragma.api.dto.SaveUserDTO;
 import co.com.pragma.api.dto.UpdateUserDTO;
+import co.com.pragma.usecase.user.UserUseCase;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import lombok.experimental.UtilityClass;
 import org.springdoc.core.fn.builders.operation.Builder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.web.ErrorResponse;
 
 import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder;
+import static org.springdoc.core.fn.builders.arrayschema.Builder.arraySchemaBuilder;
 import static org.springdoc.core.fn.builders.content.Builder.contentBuilder;
 import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
 import static org.springdoc.core.fn.builders.requestbody.Builder.requestBodyBuilder;
@@ -24,6 +34,8 @@ public class UserUtility {
     private final String CREATED_CODE = String.valueOf(HttpStatus.CREATED.value());
     private final String BAD_REQUEST = HttpStatus.BAD_REQUEST.getReasonPhrase();
     private final String BAD_REQUEST_CODE = String.valueOf(HttpStatus.BAD_REQUEST.value());
+    private final String NOT_FOUND_CODE = String.valueOf(HttpStatus.NOT_FOUND.value());
+    private final String CONFLICT_CODE = String.valueOf(HttpStatus.CONFLICT.value());
     private final String INTERNAL_ERROR = HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase();
     private final String INTERNAL_ERROR_CODE = String.valueOf(HttpStatus.INTERNAL_SERVER_ERROR.value());
 
@@ -32,6 +44,12 @@ public class UserUtility {
                 .operationId("saveUser")
                 .description("Create a new User")
                 .tag("User")
+                .parameter(parameterBuilder()
+                        .name(Handler.IDEMPOTENCY_KEY_HEADER)
+                        .description("Client chosen key; retries sending it get the first outcome back")
+                        .in(ParameterIn.HEADER)
+                        .required(false)
+                        .schema(schemaBuilder().implementation(String.class).maxLength(UserUseCase.MAX_IDEMPOTENCY_KEY_LENGTH)))
                 .requestBody(requestBodyBuilder()
                         .required(true)
                         .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
@@ -42,6 +60,58 @@ public class UserUtility {
                 .response(responseBuilder().responseCode(BAD_REQUEST_CODE).description(BAD_REQUEST)
                         .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
                                 .schema(schemaBuilder().implementation(ErrorResponse.class))))
+                .response(responseBuilder().responseCode(CONFLICT_CODE)
+                        .description("The document or the email belongs to a different user; the detail says which")
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ProblemDetail.class))))
+                .response(responseBuilder().responseCode(String.valueOf(HttpStatus.UNPROCESSABLE_ENTITY.value()))
+                        .description("The idempotency key was already used for a different request"))
+                .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))));
+    }
+
+    public Builder bulkSaveUsers(Builder builder) {
+        return builder
+                .operationId("bulkSaveUsers")
+                .description("Create users in bulk from a JSON array or an NDJSON stream, reporting the result of every row")
+                .tag("User")
+                .requestBody(requestBodyBuilder()
+                        .required(true)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .array(arraySchemaBuilder().schema(schemaBuilder().implementation(SaveUserDTO.class))))
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_NDJSON_VALUE)
+                                .schema(schemaBuilder().implementation(SaveUserDTO.class))))
+                .response(responseBuilder().responseCode(SUCCESS_CODE).description("Per-row results, in submission order")
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .array(arraySchemaBuilder().schema(schemaBuilder().implementation(UserSaveResultDTO.class))))
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_NDJSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserSaveResultDTO.class))))
+                .response(responseBuilder().responseCode(BAD_REQUEST_CODE).description(BAD_REQUEST)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))))
+                .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))));
+    }
+
+    public Builder lookupUsers(Builder builder) {
+        return builder
+                .operationId("lookupUsers")
+                .description("Get many users by document in one call. Found users stream first, then one entry per missing document")
+                .tag("User")
+                .requestBody(requestBodyBuilder()
+                        .required(true)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserLookupRequestDTO.class))))
+                .response(responseBuilder().responseCode(SUCCESS_CODE).description("One entry per distinct document")
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .array(arraySchemaBuilder().schema(schemaBuilder().implementation(UserLookupDTO.class))))
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_NDJSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserLookupDTO.class))))
+                .response(responseBuilder().responseCode(BAD_REQUEST_CODE).description("No documents or more than 1000")
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))))
                 .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
                         .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
                                 .schema(schemaBuilder().implementation(ErrorResponse.class))));
@@ -50,10 +120,92 @@ public class UserUtility {
     public Builder getAllUsers(Builder builder) {
         return builder
                 .operationId("getAllUsers")
-                .description("Get all recorded users")
+                .description("Get a keyset page of recorded users")
+                .tag("User")
+                .parameter(parameterBuilder()
+                        .name("after")
+                        .description("Cursor returned as 'next' by the previous page")
+                        .in(ParameterIn.QUERY)
+                        .required(false)
+                        .schema(schemaBuilder().implementation(String.class)))
+                .parameter(parameterBuilder()
+                        .name("limit")
+                        .description("Page size, between 1 and 500 (default 50)")
+                        .in(ParameterIn.QUERY)
+                        .required(false)
+                        .schema(schemaBuilder().implementation(Integer.class)))
+                .parameter(parameterBuilder()
+                        .name("sort")
+                        .description("Document order, ASC or DESC (default ASC)")
+                        .in(ParameterIn.QUERY)
+                        .required(false)
+                        .schema(schemaBuilder().implementation(String.class)))
+                .response(responseBuilder().responseCode(SUCCESS_CODE).description(SUCCESS)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserPageDTO.class)))
+                        .content(contentBuilder().mediaType(CodecConfig.APPLICATION_SMILE.toString())
+                                .schema(schemaBuilder().implementation(UserPageDTO.class))))
+                .response(responseBuilder().responseCode(BAD_REQUEST_CODE).description(BAD_REQUEST)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))))
+                .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))));
+    }
+
+    public Builder searchUsers(Builder builder) {
+        return builder
+                .operationId("searchUsers")
+                .description("Search users by the filters given, all of which must match. Results come in "
+                        + "document order as a keyset page, or all of them as newline delimited JSON")
+                .tag("User")
+                .parameter(queryParameter("email", "Exact email", String.class))
+                .parameter(queryParameter("lastName", "Start of the last name, ignoring case", String.class))
+                .parameter(queryParameter("name", "Part of the name, ignoring case; at least 3 characters", String.class))
+                .parameter(queryParameter("minSalary", "Lowest salary, inclusive", Long.class))
+                .parameter(queryParameter("maxSalary", "Highest salary, inclusive", Long.class))
+                .parameter(queryParameter("bornFrom",
+                        "Earliest birth date (" + JacksonConfig.DATE_FORMAT + "), inclusive", String.class))
+                .parameter(queryParameter("bornTo",
+                        "Latest birth date (" + JacksonConfig.DATE_FORMAT + "), inclusive", String.class))
+                .parameter(queryParameter("after", "Cursor returned as 'next' by the previous page", String.class))
+                .parameter(queryParameter("limit", "Page size, between 1 and 500 (default 50)", Integer.class))
+                .response(responseBuilder().responseCode(SUCCESS_CODE).description(SUCCESS)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserPageDTO.class)))
+                        .content(contentBuilder().mediaType(CodecConfig.APPLICATION_SMILE.toString())
+                                .schema(schemaBuilder().implementation(UserPageDTO.class)))
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_NDJSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserDTO.class))))
+                .response(responseBuilder().responseCode(BAD_REQUEST_CODE)
+                        .description("A malformed filter, an empty range or a name shorter than 3 characters")
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))))
+                .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))));
+    }
+
+    public Builder streamUsers(Builder builder) {
+        return builder
+                .operationId("streamUsers")
+                .description("Stream every recorded user as newline delimited JSON")
                 .tag("User")
                 .response(responseBuilder().responseCode(SUCCESS_CODE).description(SUCCESS)
+                        .content(contentBuilder().mediaType(MediaType.APPLICATION_NDJSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserDTO.class))))
+                .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
                         .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))));
+    }
+
+    public Builder streamUserEvents(Builder builder) {
+        return builder
+                .operationId("streamUserEvents")
+                .description("Stream every recorded user as server-sent events")
+                .tag("User")
+                .response(responseBuilder().responseCode(SUCCESS_CODE).description(SUCCESS)
+                        .content(contentBuilder().mediaType(MediaType.TEXT_EVENT_STREAM_VALUE)
                                 .schema(schemaBuilder().implementation(UserDTO.class))))
                 .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
                         .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
@@ -75,6 +227,39 @@ public class UserUtility {
                 .response(responseBuilder().responseCode(BAD_REQUEST_CODE).description(BAD_REQUEST)
                         .content(contentBuilder().mediaType(APPLICATION_JSON_VALUE)
                                 .schema(schemaBuilder().implementation(ErrorResponse.class))))
+                .response(responseBuilder().responseCode(NOT_FOUND_CODE).description("User not found"))
+                .response(responseBuilder().responseCode(CONFLICT_CODE)
+                        .description("The version sent is stale: the user changed since it was read"))
+                .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
+                        .content(contentBuilder().mediaType(APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))));
+    }
+
+    public Builder patchUser(Builder builder) {
+        return builder
+                .operationId("patchUser")
+                .description("Change only the fields sent; with a version, only if the user is still at it")
+                .tag("User")
+                .parameter(parameterBuilder()
+                        .name("id")
+                        .description("User document")
+                        .in(ParameterIn.PATH)
+                        .required(true)
+                        .schema(schemaBuilder().implementation(Long.class))
+                        .example("1020304050"))
+                .requestBody(requestBodyBuilder()
+                        .required(true)
+                        .content(contentBuilder().mediaType(APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(UpdateUserDTO.class))))
+                .response(responseBuilder().responseCode(SUCCESS_CODE).description("User updated")
+                        .content(contentBuilder().mediaType(APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(UserDTO.class))))
+                .response(responseBuilder().responseCode(BAD_REQUEST_CODE).description(BAD_REQUEST)
+                        .content(contentBuilder().mediaType(APPLICATION_JSON_VALUE)
+                                .schema(schemaBuilder().implementation(ErrorResponse.class))))
+                .response(responseBuilder().responseCode(NOT_FOUND_CODE).description("User not found"))
+                .response(responseBuilder().responseCode(CONFLICT_CODE)
+                        .description("The version sent is stale: the user changed since it was read"))
                 .response(responseBuilder().responseCode(INTERNAL_ERROR_CODE).description(INTERNAL_ERROR)
                         .content(contentBuilder().mediaType(APPLICATION_JSON_VALUE)
                                 .schema(schemaBuilder().implementation(ErrorResponse.class))));
@@ -83,15 +268,15 @@ public class UserUtility {
     public Builder deleteUser(Builder builder) {
         return builder
                 .operationId("deleteUser")
-                .description("Delete a user by cocument")
+                .description("Delete a user by document")
                 .tag("User")
                 .parameter(parameterBuilder()
                         .name("id")
-                        .description("user ID")
+                        .description("User document")
                         .in(ParameterIn.PATH)
                         .required(true)
-                        .schema(schemaBuilder().implementation(String.class))
-                        .example("ff06f58b-a067-4f17-bd8a-e4946b27b153"))
+                        .schema(schemaBuilder().implementation(Long.class))
+                        .example("1020304050"))
                 .response(responseBuilder().responseCode(String.valueOf(HttpStatus.NO_CONTENT.value()))
                         .description("User deleted"))
                 .response(responseBuilder().responseCode(BAD_REQUEST_CODE).description(BAD_REQUEST)
@@ -102,4 +287,13 @@ public class UserUtility {
                                 .schema(schemaBuilder().implementation(ErrorResponse.class))));
     }
 
-}
\ No newline at end of file
+    private org.springdoc.core.fn.builders.parameter.Builder queryParameter(String name, String description,
+                                                                           Class<?> type) {
+        return parameterBuilder()
+                .name(name)
+                .description(description)
+                .in(ParameterIn.QUERY)
+                .required(false)
+                .schema(schemaBuilder().implementation(type));
+    }
+}
@@ -0,0 +1,62 @@
+package co.com.pragma.api.utility;
+
+import co.com.pragma.model.user.UserVersion;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Validators for conditional requests on a user: a strong ETag and a Last-Modified date,
+ * both derived from the stored version rather than from the rendered body, so checking
+ * them never needs the body.
+ */
+@UtilityClass
+public class UserValidators {
+
+    private final String ANY = "*";
+    private final String WEAK_PREFIX = "W/";
+
+    /**
+     * The version changes with every write; the modification time tells apart a user that
+     * was deleted and created again, whose version restarts at 0. Null when either is unknown.
+     */
+    public String etagOf(UserVersion version) {
+        if (version.getVersion() == null || version.getUpdatedAt() == null) {
+            return null;
+        }
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, version.getUpdatedAt());
+        return "\"" + version.getVersion() + "-" + Long.toString(micros, Character.MAX_RADIX) + "\"";
+    }
+
+    public boolean isConditional(ServerRequest request) {
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    /**
+     * As RFC 9110 specifies, If-None-Match takes precedence over If-Modified-Since and is
+     * compared weakly; Last-Modified only has second precision.
+     */
+    public boolean isNotModified(ServerRequest request, UserVersion version) {
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        String etag = etagOf(version);
+        if (etag == null) {
+            return false;
+        }
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return ifNoneMatch.stream().anyMatch(tag -> ANY.equals(tag) || etag.equals(strong(tag)));
+        }
+        long ifModifiedSince = headers.getIfModifiedSince();
+        return ifModifiedSince >= 0
+                && version.getUpdatedAt().getEpochSecond() <= Instant.ofEpochMilli(ifModifiedSince).getEpochSecond();
+    }
+
+    private String strong(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -1,60 +1,89 @@
 package co.com.pragma.api;
 
+import co.com.pragma.api.config.MapperConfig;
+import co.com.pragma.api.config.UserPath;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.usecase.user.UserUseCase;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
 
-@ContextConfiguration(classes = {RouterRest.class, Handler.class})
-@WebFluxTest
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ContextConfiguration(classes = {RouterRest.class, Handler.class, MapperConfig.class, UserPath.class})
+@WebFluxTest(properties = {
+        "routes.paths.users=/api/users",
+        "routes.paths.users-by-id=/api/users/{id}",
+        "routes.paths.users-bulk=/api/users/bulk",
+        "routes.paths.users-lookup=/api/users/lookup",
+        "routes.paths.users-search=/api/users/search"
+})
 class RouterRestTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @MockitoBean
+    private UserUseCase userUseCase;
+
     @Test
-    void testListenGETUseCase() {
+    void testListenGETUsers() {
+        when(userUseCase.getUsersPage(any())).thenReturn(Mono.just(UserPage.builder().users(List.of(user())).build()));
+
         webTestClient.get()
-                .uri("/api/usecase/path")
+                .uri("/api/users")
                 .accept(MediaType.APPLICATION_JSON)
                 .exchange()
                 .expectStatus().isOk()
                 .expectBody(String.class)
-                .value(userResponse -> {
-                            Assertions.assertThat(userResponse).isEmpty();
-                        }
-                );
+                .value(userResponse -> Assertions.assertThat(userResponse).contains("\"document\":7"));
     }
 
     @Test
-    void testListenGETOtherUseCase() {
+    void testListenGETUserByDocument() {
+        when(userUseCase.getUserById(7L)).thenReturn(Mono.just(user()));
+
         webTestClient.get()
-                .uri("/api/otherusercase/path")
+                .uri("/api/users/7")
                 .accept(MediaType.APPLICATION_JSON)
                 .exchange()
                 .expectStatus().isOk()
                 .expectBody(String.class)
-                .value(userResponse -> {
-                            Assertions.assertThat(userResponse).isEmpty();
-                        }
-                );
+                .value(userResponse -> Assertions.assertThat(userResponse).contains("\"email\":\"ana@example.com\""));
+        webTestClient.get()
+                .uri("/api/users/seven")
+                .exchange()
+                .expectStatus().isBadRequest();
     }
 
     @Test
-    void testListenPOSTUseCase() {
-        webTestClient.post()
-                .uri("/api/usecase/otherpath")
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue("")
+    void testListenDELETEUser() {
+        when(userUseCase.deleteUser(7L)).thenReturn(Mono.empty());
+
+        webTestClient.delete()
+                .uri("/api/users/7")
                 .exchange()
-                .expectStatus().isOk()
-                .expectBody(String.class)
-                .value(userResponse -> {
-                            Assertions.assertThat(userResponse).isEmpty();
-                        }
-                );
+                .expectStatus().isNoContent();
+        verify(userUseCase).deleteUser(7L);
+    }
+
+    private static User user() {
+        return User.builder()
+                .document(7L)
+                .name("Ana")
+                .lastName("Gomez")
+                .email("ana@example.com")
+                .build();
     }
 }
@@ -0,0 +1,146 @@
+package co.com.pragma.api;
+
+import co.com.pragma.api.config.CodecConfig;
+import co.com.pragma.api.config.JacksonConfig;
+import co.com.pragma.api.config.MapperConfig;
+import co.com.pragma.api.config.UserPath;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.usecase.user.UserUseCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Smile pages and response compression, with the codecs of {@link CodecConfig} and a Netty
+ * server compressing as {@code server.compression} in application.yaml asks.
+ */
+class UserPayloadEncodingTest {
+
+    private UserUseCase userUseCase;
+    private RouterFunction<ServerResponse> routes;
+    private HandlerStrategies strategies;
+    private WebServer server;
+
+    @BeforeEach
+    void setUp() {
+        userUseCase = Mockito.mock(UserUseCase.class);
+        UserPath userPath = new UserPath();
+        userPath.setUsers("/api/users");
+        userPath.setUsersById("/api/users/{id}");
+        userPath.setUsersBulk("/api/users/bulk");
+        userPath.setUsersLookup("/api/users/lookup");
+        userPath.setUsersSearch("/api/users/search");
+        Handler handler = new Handler(userUseCase, new MapperConfig().generatedUserDTOMapper());
+        routes = new RouterRest(userPath, handler).routerFunction();
+
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        strategies = HandlerStrategies.builder()
+                .codecs(new CodecConfig().smileCodecCustomizer(builder)::customize)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void mustAnswerSmileWithTheJsonDateFormatWhenAskedForByName() throws IOException {
+        when(userUseCase.getUsersPage(any())).thenReturn(Mono.just(page(1)));
+        WebTestClient client = WebTestClient.bindToRouterFunction(routes).handlerStrategies(strategies).build();
+
+        byte[] body = client.get().uri("/api/users")
+                .accept(CodecConfig.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(CodecConfig.APPLICATION_SMILE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        JsonNode page = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(1L, page.at("/users/0/document").asLong());
+        assertEquals("01-02-1990", page.at("/users/0/birthDate").asText());
+    }
+
+    @Test
+    void mustCompressPagesAboveTheThresholdOnly() {
+        WebTestClient client = startServer();
+
+        when(userUseCase.getUsersPage(any())).thenReturn(Mono.just(page(100)));
+        client.get().uri("/api/users")
+                .header("Accept-Encoding", "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Content-Encoding", "gzip");
+        client.get().uri("/api/users")
+                .header("Accept-Encoding", "gzip")
+                .accept(CodecConfig.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Content-Encoding", "gzip");
+
+        when(userUseCase.getUsersPage(any())).thenReturn(Mono.just(page(1)));
+        client.get().uri("/api/users")
+                .header("Accept-Encoding", "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("Content-Encoding");
+    }
+
+    private WebTestClient startServer() {
+        Compression compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMimeTypes(new String[]{"application/json", "application/x-ndjson", "application/x-jackson-smile"});
+        compression.setMinResponseSize(DataSize.ofKilobytes(2));
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(0);
+        factory.setCompression(compression);
+        server = factory.getWebServer(RouterFunctions.toHttpHandler(routes, strategies));
+        server.start();
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + server.getPort()).build();
+    }
+
+    private static UserPage page(int size) {
+        List<User> users = LongStream.rangeClosed(1, size)
+                .mapToObj(document -> User.builder()
+                        .document(document)
+                        .name("Ana")
+                        .lastName("Gomez")
+                        .email("ana" + document + "@example.com")
+                        .salary(1_000_000L)
+                        .birthDate(LocalDate.of(1990, 2, 1))
+                        .build())
+                .toList();
+        return UserPage.builder().users(users).build();
+    }
+}
@@ -0,0 +1,341 @@
+package co.com.pragma.api;
+
+import co.com.pragma.api.config.MapperConfig;
+import co.com.pragma.api.config.UserPath;
+import co.com.pragma.api.dto.UserDTO;
+import co.com.pragma.api.utility.UserCursor;
+import co.com.pragma.model.user.IdempotencyKeyReusedException;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserAlreadyExistsException;
+import co.com.pragma.model.user.UserLookupResult;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.usecase.user.UserUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The user routes over a mocked use case: status mapping and query parsing, no database.
+ */
+class UserRoutesTest {
+
+    private UserUseCase userUseCase;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        userUseCase = Mockito.mock(UserUseCase.class);
+        UserPath userPath = new UserPath();
+        userPath.setUsers("/api/users");
+        userPath.setUsersById("/api/users/{id}");
+        userPath.setUsersBulk("/api/users/bulk");
+        userPath.setUsersLookup("/api/users/lookup");
+        userPath.setUsersSearch("/api/users/search");
+        Handler handler = new Handler(userUseCase, new MapperConfig().generatedUserDTOMapper());
+        client = WebTestClient.bindToRouterFunction(new RouterRest(userPath, handler).routerFunction()).build();
+    }
+
+    @Test
+    void mustPageFromTheDecodedCursor() {
+        when(userUseCase.getUsersPage(any())).thenReturn(Mono.just(UserPage.builder()
+                .users(List.of(user(51L)))
+                .nextDocument(51L)
+                .build()));
+
+        client.get().uri("/api/users?after={after}&limit=1", UserCursor.encode(50L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.users[0].document").isEqualTo(51)
+                .jsonPath("$.next").isEqualTo(UserCursor.encode(51L));
+        verify(userUseCase).getUsersPage(argThat(request -> request.getAfterDocument() == 50L
+                && request.getLimit() == 1));
+    }
+
+    @Test
+    void mustRejectAMalformedPageQuery() {
+        client.get().uri("/api/users?after=tampered").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/users?limit=ten").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/users?sort=sideways").exchange().expectStatus().isBadRequest();
+        verify(userUseCase, never()).getUsersPage(any());
+    }
+
+    @Test
+    void mustNotBlameTheClientForAFailingGateway() {
+        when(userUseCase.getUsersPage(any()))
+                .thenReturn(Mono.error(new IllegalArgumentException("Unsupported parameter type")));
+
+        client.get().uri("/api/users").exchange().expectStatus().is5xxServerError();
+    }
+
+    @Test
+    void mustExportEveryUserAsNdjsonWhenAskedForByName() {
+        when(userUseCase.getUsers()).thenReturn(Flux.just(user(1L), user(2L), user(3L)));
+
+        client.get().uri("/api/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Map.class).hasSize(3);
+        verify(userUseCase, never()).getUsersPage(any());
+    }
+
+    @Test
+    void mustExportEveryUserAsEventsEndingWithComplete() {
+        when(userUseCase.getUsers()).thenReturn(Flux.just(user(1L), user(2L)));
+
+        String events = client.get().uri("/api/users")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(events);
+        assertTrue(events.contains("id:1\nevent:user\ndata:"));
+        assertTrue(events.contains("id:2\nevent:user\ndata:"));
+        assertTrue(events.endsWith("event:complete\n\n"));
+    }
+
+    @Test
+    void mustAnswerAPageToWildcardAndMixedAcceptHeaders() {
+        when(userUseCase.getUsersPage(any())).thenReturn(Mono.just(UserPage.builder().users(List.of(user(1L))).build()));
+
+        client.get().uri("/api/users")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+        client.get().uri("/api/users")
+                .header("Accept", "application/*")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+        verify(userUseCase, never()).getUsers();
+    }
+
+    @Test
+    void mustPullTheExportOnlyAsFastAsTheClientReads() {
+        AtomicLong emitted = new AtomicLong();
+        AtomicBoolean unbounded = new AtomicBoolean();
+        when(userUseCase.getUsers()).thenReturn(Flux.range(1, 1_000_000)
+                .doOnRequest(requested -> {
+                    if (requested == Long.MAX_VALUE) {
+                        unbounded.set(true);
+                    }
+                })
+                .map(document -> user(document.longValue()))
+                .doOnNext(user -> emitted.incrementAndGet()));
+
+        Flux<UserDTO> export = client.get().uri("/api/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserDTO.class)
+                .getResponseBody();
+        StepVerifier.create(export, 3)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+
+        assertFalse(unbounded.get());
+        assertTrue(emitted.get() < 10_000, "emitted " + emitted.get());
+    }
+
+    @Test
+    void mustStreamLookupResultsForTheRequestedDocuments() {
+        when(userUseCase.getUsersByDocuments(List.of(1L, 2L))).thenReturn(Flux.just(
+                UserLookupResult.builder().document(1L).found(true).user(user(1L)).build(),
+                UserLookupResult.builder().document(2L).found(false).build()));
+
+        client.post().uri("/api/users/lookup")
+                .bodyValue(Map.of("documents", List.of(1L, 2L)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].found").isEqualTo(true)
+                .jsonPath("$[0].user.document").isEqualTo(1)
+                .jsonPath("$[1].document").isEqualTo(2)
+                .jsonPath("$[1].found").isEqualTo(false);
+    }
+
+    @Test
+    void mustRejectALookupTheUseCaseRefuses() {
+        when(userUseCase.getUsersByDocuments(any()))
+                .thenThrow(new IllegalArgumentException("At least one document is required"));
+
+        client.post().uri("/api/users/lookup")
+                .bodyValue(Map.of("documents", List.of()))
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.post().uri("/api/users/lookup")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void mustNameTheKeyThatCollided() {
+        when(userUseCase.saveUser(any(), any())).thenReturn(
+                Mono.error(new UserAlreadyExistsException(7L, UserAlreadyExistsException.Key.EMAIL)));
+
+        client.post().uri("/api/users")
+                .bodyValue(Map.of("document", 7L, "name", "Ana", "email", "ana@example.com"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("The email of user 7 is already registered to a different user");
+    }
+
+    @Test
+    void mustRejectAKeyReusedForADifferentRequest() {
+        when(userUseCase.saveUser(any(), any())).thenReturn(Mono.error(new IdempotencyKeyReusedException("key")));
+
+        client.post().uri("/api/users")
+                .header(Handler.IDEMPOTENCY_KEY_HEADER, "key")
+                .bodyValue(Map.of("document", 7L, "name", "Ana"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void mustRejectACreationTheUseCaseRefuses() {
+        when(userUseCase.saveUser(any(), any()))
+                .thenThrow(new IllegalArgumentException("An idempotency key must have 1 to 255 characters"));
+
+        client.post().uri("/api/users")
+                .header(Handler.IDEMPOTENCY_KEY_HEADER, " ")
+                .bodyValue(Map.of("document", 7L, "name", "Ana"))
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.post().uri("/api/users")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void mustNotBlameTheClientForAFailingSave() {
+        when(userUseCase.saveUser(any(), any()))
+                .thenReturn(Mono.error(new IllegalArgumentException("Unsupported parameter type")));
+
+        client.post().uri("/api/users")
+                .bodyValue(Map.of("document", 7L, "name", "Ana"))
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    void mustRejectAPatchMovingTheUser() {
+        client.patch().uri("/api/users/7")
+                .bodyValue(Map.of("document", 8L, "name", "Ana"))
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.patch().uri("/api/users/7")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(userUseCase, never()).editUser(any());
+    }
+
+    @Test
+    void mustPatchTheUserNamedByThePath() {
+        when(userUseCase.editUser(any())).thenReturn(Mono.just(user(7L)));
+
+        client.patch().uri("/api/users/7")
+                .bodyValue(Map.of("name", "Ana"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.document").isEqualTo(7);
+        verify(userUseCase).editUser(argThat(user -> user.getDocument() == 7L && "Ana".equals(user.getName())));
+    }
+
+    @Test
+    void mustNotBlameTheClientForAFailingEdit() {
+        when(userUseCase.editUser(any()))
+                .thenReturn(Mono.error(new IllegalArgumentException("Unsupported parameter type")));
+
+        client.put().uri("/api/users")
+                .bodyValue(Map.of("document", 7L, "name", "Ana"))
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    void mustReadSearchDatesInTheJsonDateFormat() {
+        when(userUseCase.searchUsers(any())).thenReturn(Mono.just(UserPage.builder().users(List.of(user(1L))).build()));
+
+        client.get().uri("/api/users/search?bornFrom=01-02-1990&bornTo=31-12-1999&minSalary=1000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.users[0].document").isEqualTo(1);
+        verify(userUseCase).searchUsers(argThat(criteria -> LocalDate.of(1990, 2, 1).equals(criteria.getBornFrom())
+                && LocalDate.of(1999, 12, 31).equals(criteria.getBornTo())
+                && criteria.getMinSalary() == 1000L));
+    }
+
+    @Test
+    void mustRejectAMalformedSearchQuery() {
+        client.get().uri("/api/users/search?bornFrom=1990-02-01").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/users/search?maxSalary=lots").exchange().expectStatus().isBadRequest();
+        verify(userUseCase, never()).searchUsers(any());
+    }
+
+    @Test
+    void mustRejectASearchTheUseCaseRefuses() {
+        when(userUseCase.searchUsers(any())).thenThrow(new IllegalArgumentException("The salary range is empty"));
+        when(userUseCase.streamSearch(any())).thenThrow(new IllegalArgumentException("The salary range is empty"));
+
+        client.get().uri("/api/users/search?minSalary=2&maxSalary=1").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/users/search?minSalary=2&maxSalary=1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void mustStreamEveryMatchWhenAskedForNdjson() {
+        when(userUseCase.streamSearch(any())).thenReturn(Flux.just(user(1L), user(2L)));
+
+        client.get().uri("/api/users/search?lastName=Gom")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Map.class).hasSize(2);
+        verify(userUseCase, never()).searchUsers(any());
+    }
+
+    private static User user(long document) {
+        return User.builder()
+                .document(document)
+                .name("Ana")
+                .lastName("Gomez")
+                .email("ana" + document + "@example.com")
+                .build();
+    }
+}
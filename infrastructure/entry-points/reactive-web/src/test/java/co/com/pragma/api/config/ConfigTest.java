@@ -2,25 +2,46 @@ package co.com.pragma.api.config;
 
 import co.com.pragma.api.Handler;
 import co.com.pragma.api.RouterRest;
+import co.com.pragma.model.user.UserPage;
+import co.com.pragma.usecase.user.UserUseCase;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
 
-@ContextConfiguration(classes = {RouterRest.class, Handler.class})
-@WebFluxTest
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ContextConfiguration(classes = {RouterRest.class, Handler.class, MapperConfig.class, UserPath.class})
+@WebFluxTest(properties = {
+        "routes.paths.users=/api/users",
+        "routes.paths.users-by-id=/api/users/{id}",
+        "routes.paths.users-bulk=/api/users/bulk",
+        "routes.paths.users-lookup=/api/users/lookup",
+        "routes.paths.users-search=/api/users/search",
+        "cors.allowed-origins=http://localhost:4200"
+})
 @Import({CorsConfig.class, SecurityHeadersConfig.class})
 class ConfigTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @MockitoBean
+    private UserUseCase userUseCase;
+
     @Test
     void corsConfigurationShouldAllowOrigins() {
+        when(userUseCase.getUsersPage(any())).thenReturn(Mono.just(UserPage.builder().users(List.of()).build()));
+
         webTestClient.get()
-                .uri("/api/usecase/path")
+                .uri("/api/users")
                 .exchange()
                 .expectStatus().isOk()
                 .expectHeader().valueEquals("Content-Security-Policy",
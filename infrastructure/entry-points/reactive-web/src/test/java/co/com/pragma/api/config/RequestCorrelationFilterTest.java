@@ -0,0 +1,59 @@
+package co.com.pragma.api.config;
+
+import co.com.pragma.model.common.LogContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class RequestCorrelationFilterTest {
+
+    private final RequestCorrelationFilter filter = new RequestCorrelationFilter();
+
+    @Test
+    void shouldPropagateIncomingRequestId() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users")
+                .header(RequestCorrelationFilter.REQUEST_ID_HEADER, "abc-123"));
+        AtomicReference<String> contextRequestId = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(contextRequestId)))
+                .verifyComplete();
+
+        assertEquals("abc-123", contextRequestId.get());
+        assertEquals("abc-123", exchange.getResponse().getHeaders().getFirst(RequestCorrelationFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    void shouldGenerateRequestIdWhenMissingOrInvalid() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users")
+                .header(RequestCorrelationFilter.REQUEST_ID_HEADER, "bad\r\nvalue"));
+        AtomicReference<String> contextRequestId = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(contextRequestId)))
+                .verifyComplete();
+
+        String requestId = exchange.getResponse().getHeaders().getFirst(RequestCorrelationFilter.REQUEST_ID_HEADER);
+        assertNotNull(requestId);
+        assertNotEquals("bad\r\nvalue", requestId);
+        assertEquals(requestId, contextRequestId.get());
+        UUID uuid = UUID.fromString(requestId);
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    private static WebFilterChain capturing(AtomicReference<String> requestId) {
+        return exchange -> Mono.deferContextual(context -> {
+            requestId.set(context.get(LogContext.REQUEST_ID));
+            return Mono.empty();
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package co.com.pragma.api.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserCursorTest {
+
+    @Test
+    void mustDecodeWhatItEncodes() {
+        String cursor = UserCursor.encode(1020304050L);
+
+        assertFalse(cursor.contains("1020304050"));
+        assertEquals(1020304050L, UserCursor.decode(cursor));
+        assertEquals(-5L, UserCursor.decode(UserCursor.encode(-5L)));
+    }
+
+    @Test
+    void mustTreatAMissingCursorAsTheFirstPage() {
+        assertNull(UserCursor.encode(null));
+        assertNull(UserCursor.decode(null));
+        assertNull(UserCursor.decode(" "));
+    }
+
+    @Test
+    void mustRejectTamperedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(token("id:50")));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(token("doc:fifty")));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(token("doc:")));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
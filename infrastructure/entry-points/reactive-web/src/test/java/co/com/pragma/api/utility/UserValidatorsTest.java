@@ -0,0 +1,57 @@
+package co.com.pragma.api.utility;
+
+import co.com.pragma.model.user.UserVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserValidatorsTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-05-01T10:15:30.123456Z");
+    private static final UserVersion VERSION = new UserVersion(1L, 3L, UPDATED_AT);
+
+    @Test
+    void mustChangeTheEtagWithTheVersionAndWithARecreatedUser() {
+        String etag = UserValidators.etagOf(VERSION);
+
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertNotEquals(etag, UserValidators.etagOf(new UserVersion(1L, 4L, UPDATED_AT)));
+        assertNotEquals(etag, UserValidators.etagOf(new UserVersion(1L, 3L, UPDATED_AT.plusMillis(1))));
+        assertNull(UserValidators.etagOf(new UserVersion(1L, null, UPDATED_AT)));
+    }
+
+    @Test
+    void mustMatchIfNoneMatchWeaklyAndWildcards() {
+        String etag = UserValidators.etagOf(VERSION);
+
+        assertTrue(UserValidators.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag), VERSION));
+        assertTrue(UserValidators.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "W/" + etag), VERSION));
+        assertTrue(UserValidators.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "*"), VERSION));
+        assertFalse(UserValidators.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "\"other\""), VERSION));
+    }
+
+    @Test
+    void mustCompareIfModifiedSinceToTheSecond() {
+        assertTrue(UserValidators.isNotModified(request(HttpHeaders.IF_MODIFIED_SINCE, httpDate(UPDATED_AT)), VERSION));
+        assertFalse(UserValidators.isNotModified(
+                request(HttpHeaders.IF_MODIFIED_SINCE, httpDate(UPDATED_AT.minusSeconds(1))), VERSION));
+        assertFalse(UserValidators.isConditional(MockServerRequest.builder().build()));
+    }
+
+    private static MockServerRequest request(String header, String value) {
+        return MockServerRequest.builder().header(header, value).build();
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atZone(ZoneOffset.UTC));
+    }
+}
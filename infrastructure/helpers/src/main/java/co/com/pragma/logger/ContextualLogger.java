@@ -0,0 +1,309 @@
+package co.com.pragma.logger;
+
+import co.com.pragma.model.common.Logger;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Logger view that adds key-value pairs to every event through the SLF4J fluent API, so request
+ * scoped values travel with the event instead of through the MDC. The level is checked on the
+ * underlying adapter first: disabled calls build nothing.
+ */
+public class ContextualLogger implements Logger {
+    
+    private final Slf4jLoggerAdapter adapter;
+    private final String[] keys;
+    private final Object[] values;
+    
+    ContextualLogger(Slf4jLoggerAdapter adapter, String[] keys, Object[] values) {
+        this.adapter = adapter;
+        this.keys = keys;
+        this.values = values;
+    }
+    
+    private LoggingEventBuilder withPairs(LoggingEventBuilder builder) {
+        for (int i = 0; i < keys.length; i++) {
+            builder.addKeyValue(keys[i], values[i]);
+        }
+        return builder;
+    }
+    
+    @Override
+    public void trace(String message) {
+        if (adapter.isTraceEnabled()) {
+            withPairs(adapter.slf4jLogger().atTrace()).log(message);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg) {
+        if (adapter.isTraceEnabled()) {
+            withPairs(adapter.slf4jLogger().atTrace()).log(message, arg);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg1, Object arg2) {
+        if (adapter.isTraceEnabled()) {
+            withPairs(adapter.slf4jLogger().atTrace()).log(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        if (adapter.isTraceEnabled()) {
+            withPairs(adapter.slf4jLogger().atTrace()).log(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object... args) {
+        if (adapter.isTraceEnabled()) {
+            withPairs(adapter.slf4jLogger().atTrace()).log(message, args);
+        }
+    }
+    
+    @Override
+    public void trace(Supplier<String> messageSupplier) {
+        if (adapter.isTraceEnabled()) {
+            withPairs(adapter.slf4jLogger().atTrace()).log(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void debug(String message) {
+        if (adapter.isDebugEnabled()) {
+            withPairs(adapter.slf4jLogger().atDebug()).log(message);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg) {
+        if (adapter.isDebugEnabled()) {
+            withPairs(adapter.slf4jLogger().atDebug()).log(message, arg);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        if (adapter.isDebugEnabled()) {
+            withPairs(adapter.slf4jLogger().atDebug()).log(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (adapter.isDebugEnabled()) {
+            withPairs(adapter.slf4jLogger().atDebug()).log(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object... args) {
+        if (adapter.isDebugEnabled()) {
+            withPairs(adapter.slf4jLogger().atDebug()).log(message, args);
+        }
+    }
+    
+    @Override
+    public void debug(Supplier<String> messageSupplier) {
+        if (adapter.isDebugEnabled()) {
+            withPairs(adapter.slf4jLogger().atDebug()).log(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void info(String message) {
+        if (adapter.isInfoEnabled()) {
+            withPairs(adapter.slf4jLogger().atInfo()).log(message);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg) {
+        if (adapter.isInfoEnabled()) {
+            withPairs(adapter.slf4jLogger().atInfo()).log(message, arg);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        if (adapter.isInfoEnabled()) {
+            withPairs(adapter.slf4jLogger().atInfo()).log(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (adapter.isInfoEnabled()) {
+            withPairs(adapter.slf4jLogger().atInfo()).log(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object... args) {
+        if (adapter.isInfoEnabled()) {
+            withPairs(adapter.slf4jLogger().atInfo()).log(message, args);
+        }
+    }
+    
+    @Override
+    public void info(Supplier<String> messageSupplier) {
+        if (adapter.isInfoEnabled()) {
+            withPairs(adapter.slf4jLogger().atInfo()).log(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void warn(String message) {
+        if (adapter.isWarnEnabled()) {
+            withPairs(adapter.slf4jLogger().atWarn()).log(message);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg) {
+        if (adapter.isWarnEnabled()) {
+            withPairs(adapter.slf4jLogger().atWarn()).log(message, arg);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        if (adapter.isWarnEnabled()) {
+            withPairs(adapter.slf4jLogger().atWarn()).log(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (adapter.isWarnEnabled()) {
+            withPairs(adapter.slf4jLogger().atWarn()).log(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object... args) {
+        if (adapter.isWarnEnabled()) {
+            withPairs(adapter.slf4jLogger().atWarn()).log(message, args);
+        }
+    }
+    
+    @Override
+    public void warn(Supplier<String> messageSupplier) {
+        if (adapter.isWarnEnabled()) {
+            withPairs(adapter.slf4jLogger().atWarn()).log(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Throwable throwable) {
+        if (adapter.isWarnEnabled()) {
+            withPairs(adapter.slf4jLogger().atWarn()).setCause(throwable).log(message);
+        }
+    }
+    
+    @Override
+    public void error(String message) {
+        if (adapter.isErrorEnabled()) {
+            withPairs(adapter.slf4jLogger().atError()).log(message);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg) {
+        if (adapter.isErrorEnabled()) {
+            withPairs(adapter.slf4jLogger().atError()).log(message, arg);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg1, Object arg2) {
+        if (adapter.isErrorEnabled()) {
+            withPairs(adapter.slf4jLogger().atError()).log(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        if (adapter.isErrorEnabled()) {
+            withPairs(adapter.slf4jLogger().atError()).log(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object... args) {
+        if (adapter.isErrorEnabled()) {
+            withPairs(adapter.slf4jLogger().atError()).log(message, args);
+        }
+    }
+    
+    @Override
+    public void error(Supplier<String> messageSupplier) {
+        if (adapter.isErrorEnabled()) {
+            withPairs(adapter.slf4jLogger().atError()).log(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void error(String message, Throwable throwable) {
+        if (adapter.isErrorEnabled()) {
+            withPairs(adapter.slf4jLogger().atError()).setCause(throwable).log(message);
+        }
+    }
+    
+    @Override
+    public boolean isTraceEnabled() {
+        return adapter.isTraceEnabled();
+    }
+    
+    @Override
+    public boolean isDebugEnabled() {
+        return adapter.isDebugEnabled();
+    }
+    
+    @Override
+    public boolean isInfoEnabled() {
+        return adapter.isInfoEnabled();
+    }
+    
+    @Override
+    public boolean isWarnEnabled() {
+        return adapter.isWarnEnabled();
+    }
+    
+    @Override
+    public boolean isErrorEnabled() {
+        return adapter.isErrorEnabled();
+    }
+    
+    @Override
+    public Logger sampled(int n) {
+        // Gate on the shared adapter so the rate holds across requests, then tag
+        return withPairsOf(adapter.sampled(n));
+    }
+    
+    @Override
+    public Logger rateLimited(int messagesPerSecond) {
+        return withPairsOf(adapter.rateLimited(messagesPerSecond));
+    }
+    
+    @Override
+    public Logger withContext(String key, Object value) {
+        String[] nextKeys = Arrays.copyOf(keys, keys.length + 1);
+        Object[] nextValues = Arrays.copyOf(values, values.length + 1);
+        nextKeys[keys.length] = key;
+        nextValues[values.length] = value;
+        return new ContextualLogger(adapter, nextKeys, nextValues);
+    }
+    
+    private Logger withPairsOf(Logger logger) {
+        Logger tagged = logger;
+        for (int i = 0; i < keys.length; i++) {
+            tagged = tagged.withContext(keys[i], values[i]);
+        }
+        return tagged;
+    }
+}
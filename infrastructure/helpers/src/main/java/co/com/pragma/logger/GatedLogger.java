@@ -0,0 +1,313 @@
+package co.com.pragma.logger;
+
+import co.com.pragma.model.common.Logger;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Logger view that passes enabled calls through a {@link LogGate} (sampling or rate limiting).
+ * The level is checked first, so disabled calls never touch the gate. Messages the gate rejects
+ * are counted and reported by {@link LoggerManager} at a fixed interval.
+ */
+public class GatedLogger implements Logger {
+    
+    private final Logger delegate;
+    private final LogGate gate;
+    private final LoggerManager loggerManager;
+    private final LongAdder suppressed;
+    
+    GatedLogger(Logger delegate, LogGate gate, LoggerManager loggerManager) {
+        this(delegate, gate, loggerManager, new LongAdder());
+    }
+    
+    private GatedLogger(Logger delegate, LogGate gate, LoggerManager loggerManager, LongAdder suppressed) {
+        this.delegate = delegate;
+        this.gate = gate;
+        this.loggerManager = loggerManager;
+        this.suppressed = suppressed;
+    }
+    
+    /**
+     * Report and reset the number of messages suppressed since the last report
+     */
+    void reportSuppressed() {
+        long count = suppressed.sumThenReset();
+        if (count > 0) {
+            delegate.info("Suppressed {} log messages ({})", count, gate.describe());
+        }
+    }
+    
+    private boolean pass() {
+        if (gate.tryPass()) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+    
+    @Override
+    public void trace(String message) {
+        if (delegate.isTraceEnabled() && pass()) {
+            delegate.trace(message);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg) {
+        if (delegate.isTraceEnabled() && pass()) {
+            delegate.trace(message, arg);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg1, Object arg2) {
+        if (delegate.isTraceEnabled() && pass()) {
+            delegate.trace(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isTraceEnabled() && pass()) {
+            delegate.trace(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object... args) {
+        if (delegate.isTraceEnabled() && pass()) {
+            delegate.trace(message, args);
+        }
+    }
+    
+    @Override
+    public void trace(Supplier<String> messageSupplier) {
+        if (delegate.isTraceEnabled() && pass()) {
+            delegate.trace(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void debug(String message) {
+        if (delegate.isDebugEnabled() && pass()) {
+            delegate.debug(message);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg) {
+        if (delegate.isDebugEnabled() && pass()) {
+            delegate.debug(message, arg);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        if (delegate.isDebugEnabled() && pass()) {
+            delegate.debug(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isDebugEnabled() && pass()) {
+            delegate.debug(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object... args) {
+        if (delegate.isDebugEnabled() && pass()) {
+            delegate.debug(message, args);
+        }
+    }
+    
+    @Override
+    public void debug(Supplier<String> messageSupplier) {
+        if (delegate.isDebugEnabled() && pass()) {
+            delegate.debug(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void info(String message) {
+        if (delegate.isInfoEnabled() && pass()) {
+            delegate.info(message);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg) {
+        if (delegate.isInfoEnabled() && pass()) {
+            delegate.info(message, arg);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        if (delegate.isInfoEnabled() && pass()) {
+            delegate.info(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isInfoEnabled() && pass()) {
+            delegate.info(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object... args) {
+        if (delegate.isInfoEnabled() && pass()) {
+            delegate.info(message, args);
+        }
+    }
+    
+    @Override
+    public void info(Supplier<String> messageSupplier) {
+        if (delegate.isInfoEnabled() && pass()) {
+            delegate.info(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void warn(String message) {
+        if (delegate.isWarnEnabled() && pass()) {
+            delegate.warn(message);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg) {
+        if (delegate.isWarnEnabled() && pass()) {
+            delegate.warn(message, arg);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        if (delegate.isWarnEnabled() && pass()) {
+            delegate.warn(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isWarnEnabled() && pass()) {
+            delegate.warn(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object... args) {
+        if (delegate.isWarnEnabled() && pass()) {
+            delegate.warn(message, args);
+        }
+    }
+    
+    @Override
+    public void warn(Supplier<String> messageSupplier) {
+        if (delegate.isWarnEnabled() && pass()) {
+            delegate.warn(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Throwable throwable) {
+        if (delegate.isWarnEnabled() && pass()) {
+            delegate.warn(message, throwable);
+        }
+    }
+    
+    @Override
+    public void error(String message) {
+        if (delegate.isErrorEnabled() && pass()) {
+            delegate.error(message);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg) {
+        if (delegate.isErrorEnabled() && pass()) {
+            delegate.error(message, arg);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg1, Object arg2) {
+        if (delegate.isErrorEnabled() && pass()) {
+            delegate.error(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isErrorEnabled() && pass()) {
+            delegate.error(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object... args) {
+        if (delegate.isErrorEnabled() && pass()) {
+            delegate.error(message, args);
+        }
+    }
+    
+    @Override
+    public void error(Supplier<String> messageSupplier) {
+        if (delegate.isErrorEnabled() && pass()) {
+            delegate.error(messageSupplier);
+        }
+    }
+    
+    @Override
+    public void error(String message, Throwable throwable) {
+        if (delegate.isErrorEnabled() && pass()) {
+            delegate.error(message, throwable);
+        }
+    }
+    
+    @Override
+    public boolean isTraceEnabled() {
+        return delegate.isTraceEnabled();
+    }
+    
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+    
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+    
+    @Override
+    public boolean isWarnEnabled() {
+        return delegate.isWarnEnabled();
+    }
+    
+    @Override
+    public boolean isErrorEnabled() {
+        return delegate.isErrorEnabled();
+    }
+    
+    @Override
+    public Logger sampled(int n) {
+        return loggerManager.getGatedLogger(this, LogGate.sampling(n));
+    }
+    
+    @Override
+    public Logger rateLimited(int messagesPerSecond) {
+        return loggerManager.getGatedLogger(this, LogGate.tokenBucket(messagesPerSecond));
+    }
+    
+    @Override
+    public Logger withContext(String key, Object value) {
+        // Shares the gate and the suppressed count with this logger, which is the one reported
+        return new GatedLogger(delegate.withContext(key, value), gate, loggerManager, suppressed);
+    }
+}
@@ -0,0 +1,14 @@
+package co.com.pragma.logger;
+
+import co.com.pragma.model.common.LogLevel;
+
+import java.time.Instant;
+
+/**
+ * Minimum log level forced on a logger name or package prefix
+ * @param name Logger name or package prefix the override applies to
+ * @param level Minimum log level for the matching loggers
+ * @param expiresAt When the override is removed, or null if it never expires
+ */
+public record LevelOverride(String name, LogLevel level, Instant expiresAt) {
+}
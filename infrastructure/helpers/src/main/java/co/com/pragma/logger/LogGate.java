@@ -0,0 +1,108 @@
+package co.com.pragma.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether an enabled log call is written, for {@link GatedLogger}.
+ * Gates are compared by kind and rate so {@link LoggerManager} can cache the gated loggers.
+ */
+abstract class LogGate {
+    
+    /**
+     * Try to let a message through
+     * @return true if the message should be written
+     */
+    abstract boolean tryPass();
+    
+    /**
+     * Short description used as cache key and in the suppressed messages report
+     * @return Description of the gate
+     */
+    abstract String describe();
+    
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof LogGate gate && describe().equals(gate.describe());
+    }
+    
+    @Override
+    public int hashCode() {
+        return describe().hashCode();
+    }
+    
+    static LogGate sampling(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Sampling rate must be at least 1");
+        }
+        return new SamplingGate(n);
+    }
+    
+    static LogGate tokenBucket(int messagesPerSecond) {
+        if (messagesPerSecond < 1) {
+            throw new IllegalArgumentException("Rate limit must be at least 1 message per second");
+        }
+        return new TokenBucketGate(messagesPerSecond);
+    }
+    
+    /**
+     * Lets through the first message and then one in every {@code n}
+     */
+    private static final class SamplingGate extends LogGate {
+        
+        private final int n;
+        private final AtomicLong counter = new AtomicLong();
+        
+        private SamplingGate(int n) {
+            this.n = n;
+        }
+        
+        @Override
+        boolean tryPass() {
+            return n == 1 || counter.getAndIncrement() % n == 0;
+        }
+        
+        @Override
+        String describe() {
+            return "sampled 1/" + n;
+        }
+    }
+    
+    /**
+     * Token bucket in its virtual scheduling form (GCRA): a single timestamp holds the time at
+     * which the bucket is full again, so a pass is one CAS and no refill thread is needed.
+     */
+    private static final class TokenBucketGate extends LogGate {
+        
+        private final int messagesPerSecond;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+        
+        private TokenBucketGate(int messagesPerSecond) {
+            this.messagesPerSecond = messagesPerSecond;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+            this.burstNanos = TimeUnit.SECONDS.toNanos(1);
+        }
+        
+        @Override
+        boolean tryPass() {
+            while (true) {
+                long now = System.nanoTime();
+                long arrival = theoreticalArrival.get();
+                long next = Math.max(arrival, now) + intervalNanos;
+                if (next - now > burstNanos) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return true;
+                }
+            }
+        }
+        
+        @Override
+        String describe() {
+            return "rate limited " + messagesPerSecond + "/s";
+        }
+    }
+}
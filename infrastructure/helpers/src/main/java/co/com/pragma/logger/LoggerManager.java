@@ -1,26 +1,64 @@
 package co.com.pragma.logger;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
 import co.com.pragma.model.common.Logger;
 import co.com.pragma.model.common.LogLevel;
+import org.slf4j.ILoggerFactory;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Singleton Logger Manager that provides logger instances for different classes.
  * This implementation uses SLF4J as the underlying logging framework.
  * Thread-safe implementation using double-checked locking pattern.
+ * <p>
+ * Level changes are pushed to the adapters instead of being read on every call: changing the
+ * minimum level updates the application logger in logback, and any logback level change
+ * (configuration reload, actuator, this manager) recomputes the level mask of every adapter.
+ * <p>
+ * Level overrides narrow a level change to a logger name or package prefix, optionally for a
+ * limited time. They are resolved when the masks are recomputed, never on the logging call.
  */
 public class LoggerManager {
     
+    /**
+     * Logback logger kept in sync with the minimum log level
+     */
+    public static final String APPLICATION_LOGGER_NAME = "co.com.pragma";
+    
     private static volatile LoggerManager instance;
-    private final ConcurrentMap<String, Logger> loggers;
+    private final ConcurrentMap<String, Slf4jLoggerAdapter> loggers;
+    /**
+     * How often sampled and rate limited loggers report what they suppressed
+     */
+    public static final Duration SUPPRESSED_REPORT_INTERVAL = Duration.ofSeconds(10);
+    
+    private final ConcurrentMap<GatedLoggerKey, GatedLogger> gatedLoggers;
+    private final ConcurrentMap<String, ActiveOverride> overrides;
     private volatile LogLevel minimumLogLevel;
+    private ScheduledExecutorService scheduler;
+    private boolean suppressedReportsStarted;
     
     private LoggerManager() {
+        this.gatedLoggers = new ConcurrentHashMap<>();
+        this.overrides = new ConcurrentHashMap<>();
         this.loggers = new ConcurrentHashMap<>();
         this.minimumLogLevel = LogLevel.INFO; // Default log level
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.addListener(new LevelChangeListener());
+        }
     }
     
     /**
@@ -56,12 +94,40 @@ public class LoggerManager {
         return loggers.computeIfAbsent(name, this::createLogger);
     }
     
+    /**
+     * Get a sampled or rate limited view of a logger, see {@link Logger#sampled(int)}
+     * and {@link Logger#rateLimited(int)}
+     * @param delegate The logger to gate
+     * @param gate The gate applied to enabled calls
+     * @return Gated logger, cached per logger and gate
+     */
+    GatedLogger getGatedLogger(Logger delegate, LogGate gate) {
+        return gatedLoggers.computeIfAbsent(new GatedLoggerKey(delegate, gate), key -> {
+            startSuppressedReports();
+            return new GatedLogger(delegate, gate, this);
+        });
+    }
+    
+    /**
+     * Report the messages suppressed by every gated logger since the last report
+     */
+    public void reportSuppressed() {
+        gatedLoggers.values().forEach(GatedLogger::reportSuppressed);
+    }
+    
     /**
      * Set the minimum log level for all loggers
      * @param level The minimum log level
      */
     public void setMinimumLogLevel(LogLevel level) {
         this.minimumLogLevel = level;
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (loggerFactory instanceof LoggerContext context) {
+            // Fires the level change listener, which refreshes the adapters
+            context.getLogger(APPLICATION_LOGGER_NAME).setLevel(Level.toLevel(level.getName()));
+        } else {
+            refreshLevels();
+        }
     }
     
     /**
@@ -77,14 +143,192 @@ public class LoggerManager {
      * @param name The logger name
      * @return New logger instance
      */
-    private Logger createLogger(String name) {
+    private Slf4jLoggerAdapter createLogger(String name) {
         return new Slf4jLoggerAdapter(LoggerFactory.getLogger(name), this);
     }
     
+    /**
+     * Get the minimum log level applied to a logger, taking overrides into account.
+     * The most specific override wins: the exact name first, then the closest package.
+     * @param loggerName The logger name
+     * @return Effective minimum log level
+     */
+    public LogLevel getEffectiveLogLevel(String loggerName) {
+        String candidate = loggerName;
+        while (true) {
+            ActiveOverride active = overrides.get(candidate);
+            if (active != null) {
+                return active.override().level();
+            }
+            int lastDot = candidate.lastIndexOf('.');
+            if (lastDot < 0) {
+                return minimumLogLevel;
+            }
+            candidate = candidate.substring(0, lastDot);
+        }
+    }
+    
+    /**
+     * Get the effective minimum log level of every cached logger
+     * @return Logger names mapped to their effective level, sorted by name
+     */
+    public Map<String, LogLevel> getEffectiveLogLevels() {
+        Map<String, LogLevel> levels = new TreeMap<>();
+        loggers.keySet().forEach(name -> levels.put(name, getEffectiveLogLevel(name)));
+        return levels;
+    }
+    
+    /**
+     * Override the minimum log level of a logger or package prefix
+     * @param name Logger name or package prefix
+     * @param level Minimum log level for the matching loggers
+     * @param ttl How long the override lasts, or null to keep it until cleared
+     * @return The override applied
+     */
+    public synchronized LevelOverride setLevelOverride(String name, LogLevel level, Duration ttl) {
+        if (name == null || name.isBlank() || level == null) {
+            throw new IllegalArgumentException("Override requires a logger name and a level");
+        }
+        if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+            throw new IllegalArgumentException("Override TTL must be positive");
+        }
+        Instant expiresAt = ttl != null ? Instant.now().plus(ttl) : null;
+        LevelOverride override = new LevelOverride(name, level, expiresAt);
+        
+        ActiveOverride previous = overrides.get(name);
+        if (previous != null && previous.expiry() != null) {
+            previous.expiry().cancel(false);
+        }
+        // Keep the logback level from before the first override so clearing restores it
+        Level logbackLevel = previous != null ? previous.previousLogbackLevel() : currentLogbackLevel(name);
+        ScheduledFuture<?> expiry = ttl != null
+                ? scheduler().schedule(() -> expire(override), ttl.toMillis(), TimeUnit.MILLISECONDS)
+                : null;
+        overrides.put(name, new ActiveOverride(override, logbackLevel, expiry));
+        
+        applyLogbackLevel(name, Level.toLevel(level.getName()));
+        refreshLevels();
+        return override;
+    }
+    
+    /**
+     * Remove the override of a logger or package prefix
+     * @param name Logger name or package prefix
+     * @return true if there was an override to remove
+     */
+    public synchronized boolean clearLevelOverride(String name) {
+        ActiveOverride removed = overrides.remove(name);
+        if (removed == null) {
+            return false;
+        }
+        if (removed.expiry() != null) {
+            removed.expiry().cancel(false);
+        }
+        applyLogbackLevel(name, removed.previousLogbackLevel());
+        refreshLevels();
+        return true;
+    }
+    
+    /**
+     * Get the active level overrides
+     * @return Override names mapped to their override, sorted by name
+     */
+    public Map<String, LevelOverride> getLevelOverrides() {
+        Map<String, LevelOverride> active = new TreeMap<>();
+        overrides.forEach((name, override) -> active.put(name, override.override()));
+        return active;
+    }
+    
+    /**
+     * Recompute the enabled levels of every cached logger
+     */
+    public void refreshLevels() {
+        loggers.values().forEach(logger -> logger.refreshLevel(getEffectiveLogLevel(logger.getName())));
+    }
+    
+    private synchronized void expire(LevelOverride override) {
+        ActiveOverride active = overrides.get(override.name());
+        // A newer override for the same name has its own expiry
+        if (active != null && active.override() == override) {
+            clearLevelOverride(override.name());
+        }
+    }
+    
+    private Level currentLogbackLevel(String name) {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            return context.getLogger(name).getLevel();
+        }
+        return null;
+    }
+    
+    private void applyLogbackLevel(String name, Level level) {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getLogger(name).setLevel(level);
+        }
+    }
+    
+    private synchronized void startSuppressedReports() {
+        if (!suppressedReportsStarted) {
+            long interval = SUPPRESSED_REPORT_INTERVAL.toMillis();
+            scheduler().scheduleAtFixedRate(this::reportSuppressed, interval, interval, TimeUnit.MILLISECONDS);
+            suppressedReportsStarted = true;
+        }
+    }
+    
+    private synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "logger-manager");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+    
     /**
      * Clear all cached loggers (useful for testing)
      */
     public void clearLoggers() {
         loggers.clear();
+        gatedLoggers.clear();
+    }
+    
+    // Loggers compare by identity, gates by kind and rate
+    private record GatedLoggerKey(Logger delegate, LogGate gate) {
+    }
+    
+    private record ActiveOverride(LevelOverride override, Level previousLogbackLevel, ScheduledFuture<?> expiry) {
+    }
+    
+    /**
+     * Refreshes the adapters whenever logback levels change, including after a reconfiguration
+     */
+    private class LevelChangeListener implements LoggerContextListener {
+        
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+        
+        @Override
+        public void onStart(LoggerContext context) {
+            refreshLevels();
+        }
+        
+        @Override
+        public void onReset(LoggerContext context) {
+            refreshLevels();
+        }
+        
+        @Override
+        public void onStop(LoggerContext context) {
+            // Nothing to release
+        }
+        
+        @Override
+        public void onLevelChange(ch.qos.logback.classic.Logger logger, Level level) {
+            refreshLevels();
+        }
     }
 }
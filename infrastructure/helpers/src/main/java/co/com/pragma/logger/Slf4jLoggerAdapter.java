@@ -3,18 +3,94 @@ package co.com.pragma.logger;
 import co.com.pragma.model.common.Logger;
 import co.com.pragma.model.common.LogLevel;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Supplier;
+
 /**
  * SLF4J adapter implementation of the Logger interface.
  * This class adapts SLF4J logger to our domain Logger interface.
+ * <p>
+ * The enabled levels are precomputed into a bitmask that {@link LoggerManager} pushes whenever the
+ * minimum level or the underlying logback level changes, so the per-call check is a single field read.
  */
 public class Slf4jLoggerAdapter implements Logger {
     
+    private static final int TRACE_BIT = bit(LogLevel.TRACE);
+    private static final int DEBUG_BIT = bit(LogLevel.DEBUG);
+    private static final int INFO_BIT = bit(LogLevel.INFO);
+    private static final int WARN_BIT = bit(LogLevel.WARN);
+    private static final int ERROR_BIT = bit(LogLevel.ERROR);
+    private static final VarHandle ENABLED_MASK;
+    
+    static {
+        try {
+            ENABLED_MASK = MethodHandles.lookup().findVarHandle(Slf4jLoggerAdapter.class, "enabledMask", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
     private final org.slf4j.Logger slf4jLogger;
     private final LoggerManager loggerManager;
     
+    // Read and written with opaque access: a refresh is seen by every thread eventually and the JIT
+    // can not hoist the read out of a loop, while the read stays a plain load with no fence. Nothing
+    // else is published with the mask, so the ordering volatile would add is not needed.
+    private int enabledMask;
+    
     public Slf4jLoggerAdapter(org.slf4j.Logger slf4jLogger, LoggerManager loggerManager) {
         this.slf4jLogger = slf4jLogger;
         this.loggerManager = loggerManager;
+        this.enabledMask = computeMask(loggerManager.getEffectiveLogLevel(slf4jLogger.getName()));
+    }
+    
+    /**
+     * Name of the underlying SLF4J logger
+     * @return The logger name
+     */
+    public String getName() {
+        return slf4jLogger.getName();
+    }
+    
+    org.slf4j.Logger slf4jLogger() {
+        return slf4jLogger;
+    }
+    
+    /**
+     * Recompute the enabled levels from the minimum level and the SLF4J levels
+     * @param minimumLevel The minimum log level
+     */
+    void refreshLevel(LogLevel minimumLevel) {
+        ENABLED_MASK.setOpaque(this, computeMask(minimumLevel));
+    }
+    
+    private int enabledMask() {
+        return (int) ENABLED_MASK.getOpaque(this);
+    }
+    
+    private int computeMask(LogLevel minimumLevel) {
+        int mask = 0;
+        if (LogLevel.TRACE.isEnabled(minimumLevel) && slf4jLogger.isTraceEnabled()) {
+            mask |= TRACE_BIT;
+        }
+        if (LogLevel.DEBUG.isEnabled(minimumLevel) && slf4jLogger.isDebugEnabled()) {
+            mask |= DEBUG_BIT;
+        }
+        if (LogLevel.INFO.isEnabled(minimumLevel) && slf4jLogger.isInfoEnabled()) {
+            mask |= INFO_BIT;
+        }
+        if (LogLevel.WARN.isEnabled(minimumLevel) && slf4jLogger.isWarnEnabled()) {
+            mask |= WARN_BIT;
+        }
+        if (LogLevel.ERROR.isEnabled(minimumLevel) && slf4jLogger.isErrorEnabled()) {
+            mask |= ERROR_BIT;
+        }
+        return mask;
+    }
+    
+    private static int bit(LogLevel level) {
+        return 1 << level.getLevel();
     }
     
     @Override
@@ -31,6 +107,34 @@ public class Slf4jLoggerAdapter implements Logger {
         }
     }
     
+    @Override
+    public void trace(String message, Object arg) {
+        if (isTraceEnabled()) {
+            slf4jLogger.trace(message, arg);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg1, Object arg2) {
+        if (isTraceEnabled()) {
+            slf4jLogger.trace(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        if (isTraceEnabled()) {
+            slf4jLogger.trace(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void trace(Supplier<String> messageSupplier) {
+        if (isTraceEnabled()) {
+            slf4jLogger.trace(messageSupplier.get());
+        }
+    }
+    
     @Override
     public void debug(String message) {
         if (isDebugEnabled()) {
@@ -45,6 +149,34 @@ public class Slf4jLoggerAdapter implements Logger {
         }
     }
     
+    @Override
+    public void debug(String message, Object arg) {
+        if (isDebugEnabled()) {
+            slf4jLogger.debug(message, arg);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isDebugEnabled()) {
+            slf4jLogger.debug(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled()) {
+            slf4jLogger.debug(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void debug(Supplier<String> messageSupplier) {
+        if (isDebugEnabled()) {
+            slf4jLogger.debug(messageSupplier.get());
+        }
+    }
+    
     @Override
     public void info(String message) {
         if (isInfoEnabled()) {
@@ -59,6 +191,34 @@ public class Slf4jLoggerAdapter implements Logger {
         }
     }
     
+    @Override
+    public void info(String message, Object arg) {
+        if (isInfoEnabled()) {
+            slf4jLogger.info(message, arg);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        if (isInfoEnabled()) {
+            slf4jLogger.info(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (isInfoEnabled()) {
+            slf4jLogger.info(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void info(Supplier<String> messageSupplier) {
+        if (isInfoEnabled()) {
+            slf4jLogger.info(messageSupplier.get());
+        }
+    }
+    
     @Override
     public void warn(String message) {
         if (isWarnEnabled()) {
@@ -73,6 +233,34 @@ public class Slf4jLoggerAdapter implements Logger {
         }
     }
     
+    @Override
+    public void warn(String message, Object arg) {
+        if (isWarnEnabled()) {
+            slf4jLogger.warn(message, arg);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        if (isWarnEnabled()) {
+            slf4jLogger.warn(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (isWarnEnabled()) {
+            slf4jLogger.warn(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void warn(Supplier<String> messageSupplier) {
+        if (isWarnEnabled()) {
+            slf4jLogger.warn(messageSupplier.get());
+        }
+    }
+    
     @Override
     public void warn(String message, Throwable throwable) {
         if (isWarnEnabled()) {
@@ -94,6 +282,34 @@ public class Slf4jLoggerAdapter implements Logger {
         }
     }
     
+    @Override
+    public void error(String message, Object arg) {
+        if (isErrorEnabled()) {
+            slf4jLogger.error(message, arg);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg1, Object arg2) {
+        if (isErrorEnabled()) {
+            slf4jLogger.error(message, arg1, arg2);
+        }
+    }
+    
+    @Override
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        if (isErrorEnabled()) {
+            slf4jLogger.error(message, arg1, arg2, arg3);
+        }
+    }
+    
+    @Override
+    public void error(Supplier<String> messageSupplier) {
+        if (isErrorEnabled()) {
+            slf4jLogger.error(messageSupplier.get());
+        }
+    }
+    
     @Override
     public void error(String message, Throwable throwable) {
         if (isErrorEnabled()) {
@@ -103,26 +319,41 @@ public class Slf4jLoggerAdapter implements Logger {
     
     @Override
     public boolean isTraceEnabled() {
-        return LogLevel.TRACE.isEnabled(loggerManager.getMinimumLogLevel()) && slf4jLogger.isTraceEnabled();
+        return (enabledMask() & TRACE_BIT) != 0;
     }
     
     @Override
     public boolean isDebugEnabled() {
-        return LogLevel.DEBUG.isEnabled(loggerManager.getMinimumLogLevel()) && slf4jLogger.isDebugEnabled();
+        return (enabledMask() & DEBUG_BIT) != 0;
     }
     
     @Override
     public boolean isInfoEnabled() {
-        return LogLevel.INFO.isEnabled(loggerManager.getMinimumLogLevel()) && slf4jLogger.isInfoEnabled();
+        return (enabledMask() & INFO_BIT) != 0;
     }
     
     @Override
     public boolean isWarnEnabled() {
-        return LogLevel.WARN.isEnabled(loggerManager.getMinimumLogLevel()) && slf4jLogger.isWarnEnabled();
+        return (enabledMask() & WARN_BIT) != 0;
     }
     
     @Override
     public boolean isErrorEnabled() {
-        return LogLevel.ERROR.isEnabled(loggerManager.getMinimumLogLevel()) && slf4jLogger.isErrorEnabled();
+        return (enabledMask() & ERROR_BIT) != 0;
+    }
+    
+    @Override
+    public Logger sampled(int n) {
+        return loggerManager.getGatedLogger(this, LogGate.sampling(n));
+    }
+    
+    @Override
+    public Logger rateLimited(int messagesPerSecond) {
+        return loggerManager.getGatedLogger(this, LogGate.tokenBucket(messagesPerSecond));
+    }
+    
+    @Override
+    public Logger withContext(String key, Object value) {
+        return new ContextualLogger(this, new String[]{key}, new Object[]{value});
     }
 }
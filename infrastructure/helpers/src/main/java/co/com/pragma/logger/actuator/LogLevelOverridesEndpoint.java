@@ -0,0 +1,59 @@
+package co.com.pragma.logger.actuator;
+
+import co.com.pragma.logger.LevelOverride;
+import co.com.pragma.logger.LoggerManager;
+import co.com.pragma.model.common.LogLevel;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Actuator endpoint to override the domain log level of a logger or package for a limited time.
+ * <ul>
+ *     <li>{@code GET /actuator/logoverrides}: active overrides and effective levels</li>
+ *     <li>{@code POST /actuator/logoverrides/{name}} with {@code {"level": "DEBUG", "ttl": "5m"}}</li>
+ *     <li>{@code DELETE /actuator/logoverrides/{name}}</li>
+ * </ul>
+ */
+@Endpoint(id = "logoverrides")
+public class LogLevelOverridesEndpoint {
+
+    private final LoggerManager loggerManager;
+    private final Duration defaultTtl;
+
+    public LogLevelOverridesEndpoint(LoggerManager loggerManager, Duration defaultTtl) {
+        this.loggerManager = loggerManager;
+        this.defaultTtl = defaultTtl;
+    }
+
+    @ReadOperation
+    public OverridesDescriptor overrides() {
+        return new OverridesDescriptor(loggerManager.getMinimumLogLevel(),
+                loggerManager.getLevelOverrides(), loggerManager.getEffectiveLogLevels());
+    }
+
+    @ReadOperation
+    public LogLevel effectiveLevel(@Selector String name) {
+        return loggerManager.getEffectiveLogLevel(name);
+    }
+
+    @WriteOperation
+    public LevelOverride override(@Selector String name, LogLevel level, @Nullable Duration ttl) {
+        return loggerManager.setLevelOverride(name, level, ttl != null ? ttl : defaultTtl);
+    }
+
+    @DeleteOperation
+    public void clear(@Selector String name) {
+        loggerManager.clearLevelOverride(name);
+    }
+
+    public record OverridesDescriptor(LogLevel minimumLevel, Map<String, LevelOverride> overrides,
+                                      Map<String, LogLevel> effectiveLevels) {
+    }
+}
@@ -0,0 +1,103 @@
+package co.com.pragma.logger.appender;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends records to a file through a {@link FileChannel}, gathering them in a direct buffer so a
+ * whole batch costs one write call. Rolls over by size to a fixed window: {@code file.1} is the
+ * most recent and {@code file.<maxHistory>} the oldest kept.
+ */
+final class BatchedFileWriter implements Closeable {
+
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    private long fileSize;
+
+    BatchedFileWriter(Path file, long maxFileSize, int maxHistory, int bufferSize) throws IOException {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    void write(ByteBuffer record) throws IOException {
+        long pending = fileSize + buffer.position();
+        if (pending > 0 && pending + record.remaining() > maxFileSize) {
+            flush();
+            rollover();
+        }
+        if (record.remaining() > buffer.remaining()) {
+            flush();
+            if (record.remaining() > buffer.capacity()) {
+                writeFully(record);
+                return;
+            }
+        }
+        buffer.put(record);
+    }
+
+    void flush() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            fileSize += channel.write(source);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void rollover() throws IOException {
+        channel.close();
+        if (maxHistory > 0) {
+            Files.deleteIfExists(archive(maxHistory));
+            for (int i = maxHistory - 1; i >= 1; i--) {
+                Path archived = archive(i);
+                if (Files.exists(archived)) {
+                    Files.move(archived, archive(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, archive(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private Path archive(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
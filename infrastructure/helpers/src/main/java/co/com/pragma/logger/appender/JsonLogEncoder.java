@@ -0,0 +1,140 @@
+package co.com.pragma.logger.appender;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import org.slf4j.event.KeyValuePair;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Encodes log events as one JSON object per line into buffers that are reused between calls.
+ * Not thread-safe: {@link RingBufferAppender} owns one instance per consumer thread.
+ */
+public final class JsonLogEncoder {
+
+    private static final DateTimeFormatter SECONDS_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder builder = new StringBuilder(512);
+    private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private char[] chars = new char[512];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private ByteBuffer bytes = ByteBuffer.allocate(1024);
+
+    // Formatting the date once per second keeps the per-event timestamp allocation free
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondText;
+
+    /**
+     * Encode an event. The returned buffer is only valid until the next call.
+     * @return Buffer ready to be read, holding the JSON line terminated by a newline
+     */
+    public ByteBuffer encode(long timestamp, String level, String loggerName, String threadName,
+                             String message, IThrowableProxy throwable, List<KeyValuePair> keyValuePairs) {
+        builder.setLength(0);
+        builder.append("{\"@timestamp\":\"");
+        appendTimestamp(timestamp);
+        builder.append("\",\"level\":\"").append(level);
+        builder.append("\",\"logger\":");
+        appendString(loggerName);
+        builder.append(",\"thread\":");
+        appendString(threadName);
+        builder.append(",\"message\":");
+        appendString(message);
+        if (keyValuePairs != null) {
+            for (int i = 0; i < keyValuePairs.size(); i++) {
+                KeyValuePair pair = keyValuePairs.get(i);
+                builder.append(',');
+                appendString(pair.key);
+                builder.append(':');
+                appendString(pair.value == null ? null : pair.value.toString());
+            }
+        }
+        if (throwable != null) {
+            builder.append(",\"stack_trace\":");
+            appendString(ThrowableProxyUtil.asString(throwable));
+        }
+        builder.append("}\n");
+        return toBytes();
+    }
+
+    ByteBuffer encode(LogSlot slot) {
+        return encode(slot.timestamp, slot.level.levelStr, slot.loggerName, slot.threadName,
+                slot.message, slot.throwable, slot.keyValuePairs);
+    }
+
+    private void appendTimestamp(long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000L);
+        if (second != cachedSecond) {
+            cachedSecondText = SECONDS_FORMAT.format(Instant.ofEpochSecond(second));
+            cachedSecond = second;
+        }
+        int millis = (int) Math.floorMod(timestamp, 1000L);
+        builder.append(cachedSecondText).append('.')
+                .append((char) ('0' + millis / 100))
+                .append((char) ('0' + millis / 10 % 10))
+                .append((char) ('0' + millis % 10))
+                .append('Z');
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        builder.append('"');
+    }
+
+    private ByteBuffer toBytes() {
+        int length = builder.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        builder.getChars(0, length, chars, 0);
+        while (true) {
+            charBuffer.clear().limit(length);
+            bytes.clear();
+            utf8.reset();
+            CoderResult result = utf8.encode(charBuffer, bytes, true);
+            if (!result.isOverflow()) {
+                result = utf8.flush(bytes);
+            }
+            if (!result.isOverflow()) {
+                bytes.flip();
+                return bytes;
+            }
+            bytes = ByteBuffer.allocate(bytes.capacity() * 2);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package co.com.pragma.logger.appender;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+/**
+ * Preallocated ring buffer entry. The producer copies what it needs from the event, which
+ * logback may reuse or compute lazily from the calling thread, and then publishes the sequence.
+ */
+final class LogSlot {
+
+    volatile long sequence = -1;
+
+    long timestamp;
+    Level level;
+    String loggerName;
+    String threadName;
+    String message;
+    IThrowableProxy throwable;
+    List<KeyValuePair> keyValuePairs;
+
+    void publish(ILoggingEvent event, long sequence) {
+        this.timestamp = event.getTimeStamp();
+        this.level = event.getLevel();
+        this.loggerName = event.getLoggerName();
+        this.threadName = event.getThreadName();
+        this.message = event.getFormattedMessage();
+        this.throwable = event.getThrowableProxy();
+        this.keyValuePairs = event.getKeyValuePairs();
+        this.sequence = sequence;
+    }
+
+    void clear() {
+        level = null;
+        loggerName = null;
+        threadName = null;
+        message = null;
+        throwable = null;
+        keyValuePairs = null;
+    }
+}
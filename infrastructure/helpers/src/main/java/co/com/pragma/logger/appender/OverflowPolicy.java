@@ -0,0 +1,20 @@
+package co.com.pragma.logger.appender;
+
+/**
+ * What {@link RingBufferAppender} does with an event when the consumer falls behind.
+ */
+public enum OverflowPolicy {
+    /**
+     * Drop the event when the buffer is full. Never blocks the logging thread.
+     */
+    DROP,
+    /**
+     * Above the high water mark keep only one in {@code sampleRate} events below WARN,
+     * drop when the buffer is full. Never blocks the logging thread.
+     */
+    SAMPLE,
+    /**
+     * Wait for free space. Loses nothing but stalls the logging thread, do not use on event loops.
+     */
+    BLOCK
+}
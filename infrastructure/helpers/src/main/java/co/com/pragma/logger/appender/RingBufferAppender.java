@@ -0,0 +1,285 @@
+package co.com.pragma.logger.appender;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.util.FileSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous JSON file appender for event loop threads.
+ * <p>
+ * Logging threads claim a slot in a preallocated ring buffer with a CAS, copy the event fields into
+ * it and publish it; no lock and no allocation on the caller. A single consumer thread drains the
+ * slots in batches, encodes them with {@link JsonLogEncoder} and writes them through
+ * {@link BatchedFileWriter}. When the consumer falls behind the {@link OverflowPolicy} decides
+ * between dropping, sampling or blocking, and dropped events are reported in the file itself.
+ * <pre>
+ * &lt;appender name="JSON_FILE" class="co.com.pragma.logger.appender.RingBufferAppender"&gt;
+ *     &lt;file&gt;logs/app.json&lt;/file&gt;
+ *     &lt;capacity&gt;8192&lt;/capacity&gt;
+ *     &lt;overflowPolicy&gt;SAMPLE&lt;/overflowPolicy&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long CLOSE_GRACE_MILLIS = 100;
+
+    private String file;
+    private int capacity = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private int sampleRate = 10;
+    private int highWaterMarkPercent = 75;
+    private int batchSize = 256;
+    private FileSize bufferSize = new FileSize(64 * FileSize.KB_COEFFICIENT);
+    private FileSize maxFileSize = new FileSize(10 * FileSize.MB_COEFFICIENT);
+    private int maxHistory = 10;
+    private long maxFlushTime = 1000;
+
+    private LogSlot[] slots;
+    private int mask;
+    private long highWaterMark;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private JsonLogEncoder encoder;
+    private BatchedFileWriter writer;
+    private Thread consumer;
+    private volatile boolean running;
+    private volatile long stopDeadline;
+
+    @Override
+    public void start() {
+        if (file == null) {
+            addError("No file set for the appender named [" + name + "]");
+            return;
+        }
+        if (capacity < 2 || batchSize < 1 || sampleRate < 1) {
+            addError("capacity must be at least 2, batchSize and sampleRate at least 1");
+            return;
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        slots = new LogSlot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LogSlot();
+        }
+        mask = size - 1;
+        highWaterMark = (long) size * highWaterMarkPercent / 100;
+        claimed.set(0);
+        consumed.set(0);
+
+        try {
+            writer = new BatchedFileWriter(Path.of(file), maxFileSize.getSize(), maxHistory, (int) bufferSize.getSize());
+        } catch (IOException e) {
+            addError("Could not open log file [" + file + "]", e);
+            return;
+        }
+        encoder = new JsonLogEncoder();
+        running = true;
+        consumer = new Thread(this::drain, "log-ring-" + name);
+        consumer.setDaemon(true);
+        consumer.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        stopDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxFlushTime);
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(maxFlushTime + CLOSE_GRACE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (consumer.isAlive()) {
+            addWarn("Log consumer did not finish within " + maxFlushTime + " ms, pending events may be lost");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        long sequence = claim(event.getLevel());
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        slots[(int) (sequence & mask)].publish(event, sequence);
+    }
+
+    /**
+     * Events dropped since the appender started, including those not reported yet
+     * @return Dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private long claim(Level level) {
+        while (true) {
+            long sequence = claimed.get();
+            long used = sequence - consumed.get();
+            if (used >= slots.length) {
+                if (overflowPolicy != OverflowPolicy.BLOCK || !running) {
+                    return -1;
+                }
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                continue;
+            }
+            if (overflowPolicy == OverflowPolicy.SAMPLE && used >= highWaterMark
+                    && !level.isGreaterOrEqual(Level.WARN)
+                    && sampleCounter.getAndIncrement() % sampleRate != 0) {
+                return -1;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    private void drain() {
+        long next = consumed.get();
+        long reportedDrops = 0;
+        long lastDropReport = System.nanoTime();
+        while (running || next < claimed.get()) {
+            int drained = 0;
+            while (drained < batchSize) {
+                LogSlot slot = slots[(int) (next & mask)];
+                if (slot.sequence != next) {
+                    break;
+                }
+                write(slot);
+                slot.clear();
+                consumed.lazySet(++next);
+                drained++;
+            }
+            if (System.nanoTime() - lastDropReport >= DROP_REPORT_INTERVAL_NANOS) {
+                reportedDrops = reportDrops(reportedDrops);
+                lastDropReport = System.nanoTime();
+            }
+            if (drained < batchSize) {
+                flush();
+                if (drained == 0) {
+                    // A claimed slot may never be published if its producer died, so the wait after stop is bounded
+                    if (!running && System.nanoTime() - stopDeadline >= 0) {
+                        long abandoned = claimed.get() - next;
+                        dropped.add(abandoned);
+                        addWarn("Abandoned " + abandoned + " unpublished log events on stop");
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+        reportDrops(reportedDrops);
+        try {
+            writer.close();
+        } catch (IOException e) {
+            addError("Could not close log file [" + file + "]", e);
+        }
+    }
+
+    private void write(LogSlot slot) {
+        try {
+            writer.write(encoder.encode(slot));
+        } catch (IOException | RuntimeException e) {
+            addError("Could not write log event", e);
+        }
+    }
+
+    private void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            addError("Could not flush log file [" + file + "]", e);
+        }
+    }
+
+    private long reportDrops(long reportedDrops) {
+        long total = dropped.sum();
+        if (total > reportedDrops) {
+            try {
+                writer.write(encoder.encode(System.currentTimeMillis(), Level.WARN.levelStr, RingBufferAppender.class.getName(),
+                        Thread.currentThread().getName(), "Dropped " + (total - reportedDrops) + " log events", null, null));
+            } catch (IOException e) {
+                addError("Could not write log event", e);
+            }
+        }
+        return total;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Number of slots, rounded up to a power of two
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * With {@link OverflowPolicy#SAMPLE}, one in this many events below WARN is kept above the high water mark
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Buffer usage, in percent, above which {@link OverflowPolicy#SAMPLE} starts sampling
+     */
+    public void setHighWaterMarkPercent(int highWaterMarkPercent) {
+        this.highWaterMarkPercent = highWaterMarkPercent;
+    }
+
+    /**
+     * Maximum events drained before the write buffer is flushed
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setBufferSize(FileSize bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setMaxFileSize(FileSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public void setMaxHistory(int maxHistory) {
+        this.maxHistory = maxHistory;
+    }
+
+    /**
+     * Milliseconds to wait on stop for pending events to be written
+     */
+    public void setMaxFlushTime(long maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+}
@@ -0,0 +1,84 @@
+package co.com.pragma.logger;
+
+import co.com.pragma.model.common.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for sampled and rate limited loggers
+ */
+class GatedLoggerTest {
+    
+    private Logger delegate;
+    private LoggerManager loggerManager;
+    
+    @BeforeEach
+    void setUp() {
+        delegate = mock(Logger.class);
+        loggerManager = LoggerManager.getInstance();
+        when(delegate.isDebugEnabled()).thenReturn(true);
+        when(delegate.isInfoEnabled()).thenReturn(true);
+    }
+    
+    @Test
+    @DisplayName("Should let one in every n messages through and report the rest")
+    void testSampling() {
+        GatedLogger sampled = new GatedLogger(delegate, LogGate.sampling(5), loggerManager);
+        
+        for (int i = 0; i < 10; i++) {
+            sampled.debug("Retrieved user with document: {}", (long) i);
+        }
+        
+        verify(delegate, times(2)).debug(anyString(), any(Object.class));
+        
+        sampled.reportSuppressed();
+        verify(delegate).info("Suppressed {} log messages ({})", 8L, "sampled 1/5");
+        
+        sampled.reportSuppressed();
+        verify(delegate, times(1)).info(anyString(), any(Object.class), any(Object.class));
+    }
+    
+    @Test
+    @DisplayName("Should cap the number of messages per second")
+    void testRateLimiting() {
+        GatedLogger limited = new GatedLogger(delegate, LogGate.tokenBucket(10), loggerManager);
+        
+        for (int i = 0; i < 1_000; i++) {
+            limited.debug("Retrieved user with document: {}", (long) i);
+        }
+        
+        // The burst allows one second worth of messages, plus what refilled while looping
+        verify(delegate, atMost(12)).debug(anyString(), any(Object.class));
+        verify(delegate, atLeast(10)).debug(anyString(), any(Object.class));
+    }
+    
+    @Test
+    @DisplayName("Should not consume the gate for disabled levels")
+    void testDisabledLevelSkipsGate() {
+        GatedLogger sampled = new GatedLogger(delegate, LogGate.sampling(2), loggerManager);
+        
+        sampled.trace("Not enabled");
+        sampled.debug("First enabled message");
+        
+        verify(delegate, never()).trace(anyString());
+        verify(delegate).debug("First enabled message");
+    }
+    
+    @Test
+    @DisplayName("Should cache gated loggers per logger and rate")
+    void testGatedLoggersAreCached() {
+        Logger logger = LoggerFactory.getLogger("co.com.pragma.gated.Test");
+        
+        assertSame(logger.sampled(10), logger.sampled(10));
+        assertSame(logger.rateLimited(100), logger.rateLimited(100));
+        assertNotSame(logger.sampled(10), logger.sampled(20));
+        assertThrows(IllegalArgumentException.class, () -> logger.sampled(0));
+        assertThrows(IllegalArgumentException.class, () -> logger.rateLimited(0));
+    }
+}
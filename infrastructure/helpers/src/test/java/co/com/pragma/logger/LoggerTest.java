@@ -1,10 +1,19 @@
 package co.com.pragma.logger;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import co.com.pragma.model.common.LogContext;
 import co.com.pragma.model.common.Logger;
 import co.com.pragma.model.common.LogLevel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -104,4 +113,132 @@ class LoggerTest {
             logger.warn("Warning with exception", testException);
         }, "Exception logging should not throw exceptions");
     }
+    
+    @Test
+    @DisplayName("Should handle fixed-arity parameterized messages")
+    void testFixedArityMessages() {
+        assertDoesNotThrow(() -> {
+            logger.info("One parameter: {}", 1L);
+            logger.info("Two parameters: {} and {}", "param1", "param2");
+            logger.info("Three parameters: {}, {} and {}", "param1", "param2", "param3");
+            logger.error("Error with parameter: {}", 1L, new RuntimeException("Test exception"));
+        }, "Fixed-arity logging should not throw exceptions");
+    }
+    
+    @Test
+    @DisplayName("Should not build supplied messages for disabled levels")
+    void testSupplierNotEvaluatedWhenDisabled() {
+        AtomicInteger evaluations = new AtomicInteger();
+        LoggerFactory.setMinimumLogLevel(LogLevel.WARN);
+        
+        logger.debug(() -> "debug " + evaluations.incrementAndGet());
+        logger.info(() -> "info " + evaluations.incrementAndGet());
+        
+        assertEquals(0, evaluations.get(), "Suppliers below the minimum level should not be evaluated");
+        
+        logger.error(() -> "error " + evaluations.incrementAndGet());
+        assertEquals(logger.isErrorEnabled() ? 1 : 0, evaluations.get());
+        
+        // Reset to INFO for other tests
+        LoggerFactory.setMinimumLogLevel(LogLevel.INFO);
+    }
+    
+    @Test
+    @DisplayName("Should keep logback in sync with the minimum log level")
+    void testMinimumLevelPropagatesToLogback() {
+        LoggerContext context = (LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
+        
+        LoggerFactory.setMinimumLogLevel(LogLevel.DEBUG);
+        assertEquals(Level.DEBUG, context.getLogger(LoggerManager.APPLICATION_LOGGER_NAME).getLevel());
+        assertTrue(LoggerFactory.getLogger("co.com.pragma.sync.Test").isDebugEnabled());
+        
+        LoggerFactory.setMinimumLogLevel(LogLevel.INFO);
+        assertEquals(Level.INFO, context.getLogger(LoggerManager.APPLICATION_LOGGER_NAME).getLevel());
+        assertFalse(LoggerFactory.getLogger("co.com.pragma.sync.Test").isDebugEnabled());
+    }
+    
+    @Test
+    @DisplayName("Should refresh cached loggers when logback levels change")
+    void testLogbackLevelChangeRefreshesLoggers() {
+        LoggerContext context = (LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger logbackLogger = context.getLogger("co.com.pragma.listener.Test");
+        Logger listenerLogger = LoggerFactory.getLogger("co.com.pragma.listener.Test");
+        assertTrue(listenerLogger.isInfoEnabled());
+        
+        logbackLogger.setLevel(Level.ERROR);
+        assertFalse(listenerLogger.isInfoEnabled(), "INFO should follow the logback level");
+        assertTrue(listenerLogger.isErrorEnabled());
+        
+        logbackLogger.setLevel(null);
+        assertTrue(listenerLogger.isInfoEnabled());
+    }
+    
+    @Test
+    @DisplayName("Should apply level overrides to the matching loggers only")
+    void testLevelOverrideByPrefix() {
+        Logger target = LoggerFactory.getLogger("co.com.pragma.override.target.Service");
+        Logger sibling = LoggerFactory.getLogger("co.com.pragma.override.other.Service");
+        
+        loggerManager.setLevelOverride("co.com.pragma.override.target", LogLevel.DEBUG, null);
+        try {
+            assertTrue(target.isDebugEnabled(), "Override should enable DEBUG under the prefix");
+            assertFalse(sibling.isDebugEnabled(), "Override should not leak to other packages");
+            assertEquals(LogLevel.DEBUG, loggerManager.getEffectiveLogLevel("co.com.pragma.override.target.Service"));
+            assertEquals(LogLevel.INFO, loggerManager.getEffectiveLogLevel("co.com.pragma.override.targetX"));
+        } finally {
+            assertTrue(loggerManager.clearLevelOverride("co.com.pragma.override.target"));
+        }
+        
+        assertFalse(target.isDebugEnabled(), "Clearing the override should restore the minimum level");
+    }
+    
+    @Test
+    @DisplayName("Should expire level overrides after their TTL")
+    void testLevelOverrideExpires() throws InterruptedException {
+        Logger target = LoggerFactory.getLogger("co.com.pragma.override.expiring.Service");
+        
+        loggerManager.setLevelOverride("co.com.pragma.override.expiring.Service", LogLevel.DEBUG, Duration.ofMillis(100));
+        assertTrue(target.isDebugEnabled());
+        
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (target.isDebugEnabled() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        
+        assertFalse(target.isDebugEnabled(), "Override should be removed once expired");
+        assertTrue(loggerManager.getLevelOverrides().isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Should reject invalid level overrides")
+    void testInvalidLevelOverride() {
+        assertThrows(IllegalArgumentException.class, () -> loggerManager.setLevelOverride(" ", LogLevel.DEBUG, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> loggerManager.setLevelOverride("co.com.pragma", LogLevel.DEBUG, Duration.ZERO));
+    }
+    
+    @Test
+    @DisplayName("Should attach context values as key-value pairs")
+    void testContextualLogger() {
+        LoggerContext context = (LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger logbackLogger = context.getLogger("co.com.pragma.context.Test");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logbackLogger.addAppender(appender);
+        try {
+            Logger base = LoggerFactory.getLogger("co.com.pragma.context.Test");
+            Logger tagged = LogContext.from(base, Context.of(LogContext.REQUEST_ID, "abc-123"));
+            
+            tagged.info("Processing user: {}", 1L);
+            
+            assertSame(base, LogContext.from(base, Context.empty()), "No request id should keep the logger");
+            assertEquals(1, appender.list.size());
+            ILoggingEvent event = appender.list.get(0);
+            assertEquals("Processing user: 1", event.getFormattedMessage());
+            assertEquals(LogContext.REQUEST_ID, event.getKeyValuePairs().get(0).key);
+            assertEquals("abc-123", event.getKeyValuePairs().get(0).value);
+        } finally {
+            logbackLogger.detachAppender(appender);
+        }
+    }
 }
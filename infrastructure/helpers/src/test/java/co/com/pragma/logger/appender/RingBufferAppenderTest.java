@@ -0,0 +1,133 @@
+package co.com.pragma.logger.appender;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.util.FileSize;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the ring buffer JSON appender
+ */
+class RingBufferAppenderTest {
+    
+    @TempDir
+    Path directory;
+    
+    private LoggerContext context;
+    private ch.qos.logback.classic.Logger logger;
+    private RingBufferAppender appender;
+    
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        logger = context.getLogger("co.com.pragma.appender.Test");
+        logger.setLevel(Level.DEBUG);
+        appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("test-ring");
+        appender.setFile(directory.resolve("app.json").toString());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+        context.stop();
+    }
+    
+    @Test
+    @DisplayName("Should write every event as one JSON line")
+    void testWritesJsonLines() throws IOException {
+        appender.setOverflowPolicy(OverflowPolicy.BLOCK);
+        appender.setCapacity(16);
+        appender.start();
+        logger.addAppender(appender);
+        
+        for (int i = 0; i < 100; i++) {
+            logger.info("Event {} with \"quotes\"\nand a new line", i);
+        }
+        logger.error("Failure", new IllegalStateException("Test exception"));
+        appender.stop();
+        
+        List<String> lines = Files.readAllLines(directory.resolve("app.json"));
+        assertEquals(101, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"@timestamp\":\""));
+        assertTrue(lines.get(0).contains("\"level\":\"INFO\""));
+        assertTrue(lines.get(0).contains("\"message\":\"Event 0 with \\\"quotes\\\"\\nand a new line\""));
+        assertTrue(lines.get(99).contains("\"message\":\"Event 99"));
+        assertTrue(lines.get(100).contains("\"stack_trace\":\"java.lang.IllegalStateException: Test exception"));
+        assertEquals(0, appender.getDroppedCount());
+    }
+    
+    @Test
+    @DisplayName("Should roll the file over when it reaches the maximum size")
+    void testRollover() throws IOException {
+        appender.setOverflowPolicy(OverflowPolicy.BLOCK);
+        appender.setMaxFileSize(new FileSize(2 * FileSize.KB_COEFFICIENT));
+        appender.setMaxHistory(2);
+        appender.start();
+        logger.addAppender(appender);
+        
+        for (int i = 0; i < 200; i++) {
+            logger.info("Rollover event {}", i);
+        }
+        appender.stop();
+        
+        assertTrue(Files.exists(directory.resolve("app.json.1")));
+        assertTrue(Files.exists(directory.resolve("app.json.2")));
+        assertFalse(Files.exists(directory.resolve("app.json.3")));
+        assertTrue(Files.size(directory.resolve("app.json")) <= 2 * FileSize.KB_COEFFICIENT);
+    }
+    
+    @Test
+    @DisplayName("Should stop within the flush time when a claimed slot is never published")
+    void testAbandonsUnpublishedSlotOnStop() throws IOException {
+        appender.setMaxFlushTime(200);
+        appender.start();
+        logger.addAppender(appender);
+        
+        logger.info("Before the failure");
+        // The producer claims a slot and dies before publishing it
+        appender.doAppend(new LoggingEvent(RingBufferAppenderTest.class.getName(), logger, Level.INFO, "Lost", null, null) {
+            @Override
+            public String getFormattedMessage() {
+                throw new IllegalStateException("Test exception");
+            }
+        });
+        long start = System.nanoTime();
+        appender.stop();
+        
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, appender.getDroppedCount());
+        List<String> lines = Files.readAllLines(directory.resolve("app.json"));
+        assertTrue(lines.get(0).contains("\"message\":\"Before the failure\""));
+        assertTrue(lines.get(lines.size() - 1).contains("\"message\":\"Dropped 1 log events\""));
+    }
+    
+    @Test
+    @DisplayName("Should encode key value pairs and escape control characters")
+    void testEncoder() {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        
+        ByteBuffer encoded = encoder.encode(0L, "WARN", "logger", "thread", "tab\there \u0001",
+                null, List.of(new org.slf4j.event.KeyValuePair("requestId", "abc-123")));
+        String json = StandardCharsets.UTF_8.decode(encoded).toString();
+        
+        assertEquals("{\"@timestamp\":\"1970-01-01T00:00:00.000Z\",\"level\":\"WARN\",\"logger\":\"logger\","
+                + "\"thread\":\"thread\",\"message\":\"tab\\there \\u0001\",\"requestId\":\"abc-123\"}\n", json);
+    }
+}